@@ -7,6 +7,7 @@
 
 plugins {
     application
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -16,6 +17,7 @@ repositories {
 dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation("org.openjdk.jol:jol-core:0.17")
     implementation("com.google.guava:guava:32.1.3-jre")
 }
 
@@ -37,3 +39,12 @@ tasks.named<Test>("test") {
 tasks.register<CreateStartScripts>("generateStartScripts") {
     mainClass.set("RunEditor")
 }
+
+// Benchmarks live in src/jmh/java and run with ./gradlew jmh; the results are written as JSON
+// so that they can be compared between builds. -Pjmh.includes=<regex> runs only some of them.
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,95 @@
+import bench.EditorDriver;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * This class lets the benchmarks in the package bench drive a MyTextEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditorBenchmarkDriver implements EditorDriver {
+
+    private MyTextEditor editor;
+    private SearchIndex search;
+
+    @Override
+    public void open(String[] lines) {
+        editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(lines);
+        if(!editor.isEmpty()){
+            editor.moveCursorToLine(0);
+        }
+    }
+
+    @Override
+    public void moveCursorToLine(int line) {
+        editor.moveCursorToLine(line);
+    }
+
+    @Override
+    public void insertAfterCursor(String line) {
+        editor.insertAfterCursor(line);
+    }
+
+    @Override
+    public void replaceAtCursor(String line) {
+        editor.replaceAtCursor(line);
+    }
+
+    @Override
+    public void removeAtCursor() {
+        editor.removeAtCursor();
+    }
+
+    @Override
+    public int size() {
+        return editor.size();
+    }
+
+    @Override
+    public String text() {
+        return editor.toString();
+    }
+
+    @Override
+    public String line(int index) {
+        return editor.getLine(index);
+    }
+
+    @Override
+    public void writeTo(Appendable out) throws IOException {
+        editor.writeTo(out);
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel out) throws IOException {
+        return editor.writeTo(out);
+    }
+
+    @Override
+    public void insertAt(int column, String text) {
+        editor.insertAt(column, text);
+    }
+
+    @Override
+    public void deleteRange(int column, int length) {
+        editor.deleteRange(column, length);
+    }
+
+    @Override
+    public String lineAtCursor() {
+        return editor.getAtCursor();
+    }
+
+    @Override
+    public void enableSearch() {
+        search = editor.enableSearch();
+    }
+
+    @Override
+    public int[] findAll(String text) {
+        return search.findAll(text);
+    }
+}
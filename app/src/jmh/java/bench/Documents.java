@@ -0,0 +1,27 @@
+package bench;
+
+/**
+ * This class creates the synthetic documents the benchmarks work on
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+final class Documents {
+
+    private Documents(){
+    }
+
+    /**
+     * It creates a document of the given number of lines of varying length, always the same for the same size
+     *
+     * @param count The number of lines
+     * @return The lines of the document
+     */
+    static String[] lines(int count){
+        String[] lines = new String[count];
+        for(int i = 0; i < count; i++){
+            lines[i] = "line " + i + " " + "x".repeat(i % 60);
+        }
+        return lines;
+    }
+}
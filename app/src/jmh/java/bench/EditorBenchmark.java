@@ -0,0 +1,78 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures editing a MyTextEditor around a cursor at the start, the middle or the
+ * end of documents of 1k to 10M lines, and joining the whole document into a String
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class EditorBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"start", "middle", "end"})
+    public String location;
+
+    private String[] lines;
+    private EditorDriver editor;
+    private int line;
+
+    @Setup(Level.Trial)
+    public void createLines() {
+        lines = Documents.lines(size);
+    }
+
+    @Setup(Level.Iteration)
+    public void open() {
+        editor = EditorDriver.load(lines);
+        line = switch (location) {
+            case "start" -> 0;
+            case "middle" -> size / 2;
+            default -> size - 1;
+        };
+    }
+
+    /**
+     * Inserts a line after the cursor and removes it again, leaving the document unchanged
+     */
+    @Benchmark
+    public void insertRemove() {
+        editor.moveCursorToLine(line);
+        editor.insertAfterCursor("typed");
+        editor.removeAtCursor();
+    }
+
+    @Benchmark
+    public void replace() {
+        editor.moveCursorToLine(line);
+        editor.replaceAtCursor("replaced");
+    }
+
+    @Benchmark
+    public String text() {
+        return editor.text();
+    }
+}
@@ -0,0 +1,144 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * This interface is how the benchmarks drive a MyTextEditor. The editor lives in the default
+ * package, which classes in a named package cannot refer to, while JMH only accepts benchmarks
+ * in a named package, so the benchmarks reach the editor through this interface.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public interface EditorDriver {
+
+    /**
+     * The name of the default package class implementing this interface
+     */
+    String IMPLEMENTATION = "EditorBenchmarkDriver";
+
+    /**
+     * It creates a driver for a new editor holding the given lines, with the cursor on the first one
+     *
+     * @param lines The lines of the document
+     * @return The driver of the new editor
+     */
+    static EditorDriver load(String[] lines){
+        try{
+            EditorDriver driver = (EditorDriver) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+            driver.open(lines);
+            return driver;
+        } catch (ReflectiveOperationException e){
+            throw new IllegalStateException("The editor driver " + IMPLEMENTATION + " is missing", e);
+        }
+    }
+
+    /**
+     * It replaces the document of the editor with the given lines
+     *
+     * @param lines The lines of the document
+     */
+    void open(String[] lines);
+
+    /**
+     * It moves the cursor to the given line
+     *
+     * @param line The index of the line
+     */
+    void moveCursorToLine(int line);
+
+    /**
+     * It inserts a line after the cursor and moves the cursor to it
+     *
+     * @param line The line to insert
+     */
+    void insertAfterCursor(String line);
+
+    /**
+     * It replaces the line at the cursor
+     *
+     * @param line The new text of the line
+     */
+    void replaceAtCursor(String line);
+
+    /**
+     * It removes the line at the cursor
+     */
+    void removeAtCursor();
+
+    /**
+     * It returns the number of lines of the document
+     *
+     * @return The number of lines
+     */
+    int size();
+
+    /**
+     * It returns the document as a single String
+     *
+     * @return The lines joined by line breaks
+     */
+    String text();
+
+    /**
+     * It returns a line of the document
+     *
+     * @param index The index of the line
+     * @return The text of the line
+     */
+    String line(int index);
+
+    /**
+     * It streams the document to an Appendable
+     *
+     * @param out The Appendable to write to
+     * @throws IOException If the Appendable could not be written
+     */
+    void writeTo(Appendable out) throws IOException;
+
+    /**
+     * It streams the document to a channel as UTF-8
+     *
+     * @param out The channel to write to
+     * @return The number of bytes written
+     * @throws IOException If the channel could not be written
+     */
+    long writeTo(WritableByteChannel out) throws IOException;
+
+    /**
+     * It inserts text into the line at the cursor
+     *
+     * @param column The column of the first inserted character
+     * @param text The text to insert
+     */
+    void insertAt(int column, String text);
+
+    /**
+     * It deletes characters from the line at the cursor
+     *
+     * @param column The column of the first character to delete
+     * @param length The number of characters to delete
+     */
+    void deleteRange(int column, int length);
+
+    /**
+     * It returns the line at the cursor
+     *
+     * @return The text of the line
+     */
+    String lineAtCursor();
+
+    /**
+     * It starts indexing the lines of the document for searching
+     */
+    void enableSearch();
+
+    /**
+     * It returns the lines containing the given text, found through the search index
+     *
+     * @param text The text to look for
+     * @return The indices of the lines, in increasing order
+     */
+    int[] findAll(String text);
+}
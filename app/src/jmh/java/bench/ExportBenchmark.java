@@ -0,0 +1,82 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures exporting the text of a MyTextEditor of 100k and 1M lines: as a String from
+ * a builder growing from its default capacity, as toString does it with its builder presized from
+ * the cached length, and streamed through writeTo to a Writer and to a channel
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private EditorDriver editor;
+    private Writer writer;
+    private WritableByteChannel channel;
+
+    @Setup(Level.Trial)
+    public void open() {
+        editor = EditorDriver.load(Documents.lines(size));
+        writer = Writer.nullWriter();
+        channel = Channels.newChannel(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Builds the text the way toString used to, in a builder that starts at its default capacity
+     */
+    @Benchmark
+    public String unsizedBuilder() {
+        StringBuilder str = new StringBuilder();
+        for (int index = 0; index < editor.size(); index++) {
+            str.append(editor.line(index));
+            if (index < editor.size() - 1) {
+                str.append("\n");
+            }
+        }
+        return str.toString();
+    }
+
+    @Benchmark
+    public String presizedToString() {
+        return editor.text();
+    }
+
+    @Benchmark
+    public void writeToWriter() throws IOException {
+        editor.writeTo(writer);
+    }
+
+    @Benchmark
+    public long writeToChannel() throws IOException {
+        return editor.writeTo(channel);
+    }
+}
@@ -0,0 +1,73 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures typing a word into the middle of a line of 80 characters to 64k, one
+ * character at a time, then deleting it again: by replacing the whole line on every keystroke,
+ * and with insertAt and deleteRange, which edit the line in a buffer and turn it into a String
+ * once, when it is read at the end
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeystrokeBenchmark {
+
+    private static final String WORD = "keystroke";
+
+    @Param({"80", "4096", "65536"})
+    public int length;
+
+    private EditorDriver editor;
+
+    @Setup(Level.Iteration)
+    public void open() {
+        editor = EditorDriver.load(new String[]{"x".repeat(length)});
+    }
+
+    @Benchmark
+    public String replaceLine() {
+        int column = length / 2;
+        String line = editor.lineAtCursor();
+        for (int i = 0; i < WORD.length(); i++) {
+            line = line.substring(0, column + i) + WORD.charAt(i) + line.substring(column + i);
+            editor.replaceAtCursor(line);
+        }
+        for (int i = WORD.length() - 1; i >= 0; i--) {
+            line = line.substring(0, column + i) + line.substring(column + i + 1);
+            editor.replaceAtCursor(line);
+        }
+        return editor.lineAtCursor();
+    }
+
+    @Benchmark
+    public String editInBuffer() {
+        int column = length / 2;
+        for (int i = 0; i < WORD.length(); i++) {
+            editor.insertAt(column + i, WORD.substring(i, i + 1));
+        }
+        for (int i = WORD.length() - 1; i >= 0; i--) {
+            editor.deleteRange(column + i, 1);
+        }
+        return editor.lineAtCursor();
+    }
+}
@@ -0,0 +1,104 @@
+package bench;
+
+import list.ArrayBackedList;
+import list.ArraySequence;
+import list.FlatArraySequence;
+import list.GapBufferList;
+import list.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the index based operations of the lists in the package list on lists of
+ * 1k to 10M elements
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ListBenchmark {
+
+    /**
+     * The number of random edits made by a single invocation of the random edit benchmark
+     */
+    private static final int EDITS = 100;
+
+    @Param({"ArrayBackedList", "ArraySequence", "FlatArraySequence", "GapBufferList"})
+    public String implementation;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private String[] lines;
+    private List<String> list;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void createLines() {
+        lines = Documents.lines(size);
+    }
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        list = create();
+        for (String line : lines) {
+            list.add(list.size(), line);
+        }
+        random = new SplittableRandom(size);
+    }
+
+    private List<String> create() {
+        return switch (implementation) {
+            case "ArraySequence" -> new ArraySequence<>();
+            case "FlatArraySequence" -> new FlatArraySequence<>();
+            case "GapBufferList" -> new GapBufferList<>();
+            default -> new ArrayBackedList<>();
+        };
+    }
+
+    @Benchmark
+    public List<String> sequentialAppend() {
+        List<String> appended = create();
+        for (String line : lines) {
+            appended.add(appended.size(), line);
+        }
+        return appended;
+    }
+
+    /**
+     * Inserts and then removes elements at random indices, leaving the size unchanged
+     */
+    @Benchmark
+    @OperationsPerInvocation(2 * EDITS)
+    public void randomInsertRemove() {
+        for (int i = 0; i < EDITS; i++) {
+            list.add(random.nextInt(list.size() + 1), "inserted");
+            list.remove(random.nextInt(list.size()));
+        }
+    }
+
+    @Benchmark
+    public void randomGet(Blackhole blackhole) {
+        blackhole.consume(list.get(random.nextInt(size)));
+    }
+}
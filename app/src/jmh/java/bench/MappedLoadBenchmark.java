@@ -0,0 +1,70 @@
+package bench;
+
+import list.List;
+import list.MappedLineStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares loading a file of 200k to 2M lines with Files.readAllLines, which creates a
+ * String per line, with mapping it into a MappedLineStore that decodes its lines lazily or at
+ * once. Run with -prof gc, the heap allocated by a load is reported as gc.alloc.rate.norm.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MappedLoadBenchmark {
+
+    @Param({"200000", "2000000"})
+    public int size;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void write() throws IOException {
+        file = Files.createTempFile("mapped", ".txt");
+        Files.write(file, java.util.List.of(Documents.lines(size)));
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public java.util.List<String> readAllLines() throws IOException {
+        return Files.readAllLines(file);
+    }
+
+    @Benchmark
+    public List<String> mappedLazy() throws IOException {
+        return MappedLineStore.map(file, true);
+    }
+
+    @Benchmark
+    public List<String> mappedEager() throws IOException {
+        return MappedLineStore.map(file, false);
+    }
+}
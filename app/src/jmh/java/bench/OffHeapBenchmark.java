@@ -0,0 +1,90 @@
+package bench;
+
+import list.FlatArraySequence;
+import list.List;
+import list.OffHeapLineStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares a document of 1M to 10M lines kept as Strings on the heap with the same
+ * document kept in an OffHeapLineStore: how long a full garbage collection pauses with the
+ * document resident, and how fast random lines are edited and read
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class OffHeapBenchmark {
+
+    /**
+     * The number of random edits and reads made by a single invocation of the edit benchmark
+     */
+    private static final int EDITS = 1000;
+
+    @Param({"FlatArraySequence", "OffHeapLineStore"})
+    public String store;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private List<String> lines;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void load() {
+        String[] document = Documents.lines(size);
+        lines = store.equals("OffHeapLineStore") ? new OffHeapLineStore(size) : new FlatArraySequence<>(size);
+        lines.addAll(0, document);
+        random = new SplittableRandom(size);
+        System.gc();
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        if (lines instanceof OffHeapLineStore) {
+            ((OffHeapLineStore) lines).close();
+        }
+    }
+
+    /**
+     * Measures the pause of a full collection, which has to trace every String of a document on
+     * the heap and only the array of addresses of a document off the heap
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public void fullCollection() {
+        System.gc();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void randomEdits(Blackhole blackhole) {
+        for (int i = 0; i < EDITS; i++) {
+            int index = random.nextInt(lines.size());
+            blackhole.consume(lines.set(index, "edited line " + i));
+            blackhole.consume(lines.get(random.nextInt(lines.size())));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures finding the one line of a generated document that contains a word: by
+ * reading every line, and through the trigram index of SearchIndex, which only reads the lines
+ * containing every trigram of the word
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String WORD = "needle";
+
+    @Param({"10000", "1000000"})
+    public int lines;
+
+    private EditorDriver editor;
+
+    @Setup(Level.Trial)
+    public void open() {
+        String[] document = new String[lines];
+        for (int i = 0; i < lines; i++) {
+            document[i] = "line number " + i + " of the generated document";
+        }
+        document[lines - 10] = "the " + WORD + " is here";
+        editor = EditorDriver.load(document);
+        editor.enableSearch();
+    }
+
+    @Benchmark
+    public int scan() {
+        int found = -1;
+        for (int i = 0; i < editor.size(); i++) {
+            if (editor.line(i).contains(WORD)) {
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int[] indexed() {
+        return editor.findAll(WORD);
+    }
+}
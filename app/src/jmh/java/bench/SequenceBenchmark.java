@@ -0,0 +1,70 @@
+package bench;
+
+import list.ArraySequence;
+import list.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the positional operations of ArraySequence on sequences of 1k to 10M elements
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SequenceBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private ArraySequence<String> sequence;
+    private Position<String> middle;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        sequence = new ArraySequence<>();
+        sequence.addAll(0, Documents.lines(size));
+        middle = sequence.atIndex(size / 2);
+    }
+
+    @Benchmark
+    public void traverseWithAfter(Blackhole blackhole) {
+        for (Position<String> position = sequence.first(); position != null; position = sequence.after(position)) {
+            blackhole.consume(position.getElement());
+        }
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return sequence.indexOf(middle);
+    }
+
+    /**
+     * Looks up the index of a position right after an insertion in front of it shifted it
+     */
+    @Benchmark
+    public int indexOfAfterShift() {
+        sequence.add(0, "shift");
+        int index = sequence.indexOf(middle);
+        sequence.remove(0);
+        return index;
+    }
+}
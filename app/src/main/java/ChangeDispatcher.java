@@ -0,0 +1,156 @@
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This class hands the changes made to the lines of a MyTextEditor to a DocumentListener on an
+ * Executor. Changes made while a delivery is waiting to run are merged into it, so a burst of
+ * edits reaches the listener as one call however slow the listener is, and the editing thread
+ * never waits for it. While the editor coalesces changes nothing is delivered, so all the
+ * changes of the batch go out together at its end.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+class ChangeDispatcher {
+
+    /**
+     * It receives the changes
+     */
+    private final DocumentListener listener;
+    /**
+     * It runs the deliveries
+     */
+    private final Executor executor;
+    /**
+     * It stores the changes not yet delivered, and is the lock guarding them
+     */
+    private final ArrayList<DocumentChange> pending = new ArrayList<>();
+    /**
+     * It tells whether a delivery was handed to the executor and did not take the changes yet
+     */
+    private boolean scheduled;
+    /**
+     * It counts the batches of changes the editor is in
+     */
+    private int held;
+
+    /**
+     * It creates an instance of the class ChangeDispatcher
+     *
+     * @param listener The listener to notify
+     * @param executor The executor running the notifications
+     */
+    ChangeDispatcher(DocumentListener listener, Executor executor){
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    /**
+     * It returns the listener notified by this dispatcher
+     *
+     * @return The listener
+     */
+    DocumentListener listener(){
+        return listener;
+    }
+
+    /**
+     * It stops delivering the changes until the matching call to release
+     */
+    void hold(){
+        synchronized(pending){
+            held++;
+        }
+    }
+
+    /**
+     * It ends a batch of changes, delivering them if it was the outermost one
+     */
+    void release(){
+        synchronized(pending){
+            held--;
+        }
+        schedule();
+    }
+
+    /**
+     * It queues a change, merging it into the last one queued if possible, and schedules its delivery
+     *
+     * @param change The change made to the document
+     */
+    void changed(DocumentChange change){
+        synchronized(pending){
+            int last = pending.size() - 1;
+            DocumentChange merged = last < 0 ? null : pending.get(last).followedBy(change);
+            if(merged != null){
+                pending.set(last, merged);
+            } else {
+                pending.add(change);
+            }
+        }
+        schedule();
+    }
+
+    /**
+     * It hands a delivery to the executor, unless one is already waiting there or running, or
+     * the editor is in a batch of changes
+     */
+    private void schedule(){
+        synchronized(pending){
+            if(scheduled || held > 0 || pending.isEmpty()){
+                return;
+            }
+            scheduled = true;
+        }
+        try{
+            executor.execute(this::deliver);
+        } catch (RejectedExecutionException e){
+            synchronized(pending){
+                scheduled = false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * It gives the queued changes to the listener, again and again while more are queued
+     * meanwhile, so that the listener is never called by two threads at once and the changes
+     * made while it runs are merged into its next call
+     */
+    private void deliver(){
+        DocumentChange[] changes = take();
+        while(changes != null){
+            boolean delivered = false;
+            try{
+                listener.documentChanged(changes);
+                delivered = true;
+            } finally {
+                if(!delivered){
+                    synchronized(pending){
+                        scheduled = false;
+                    }
+                }
+            }
+            changes = take();
+        }
+    }
+
+    /**
+     * It takes the queued changes, or ends the delivery if there are none or the editor is in a
+     * batch of changes
+     *
+     * @return The changes to deliver, or null if the delivery is over
+     */
+    private DocumentChange[] take(){
+        synchronized(pending){
+            if(pending.isEmpty() || held > 0){
+                scheduled = false;
+                return null;
+            }
+            DocumentChange[] changes = pending.toArray(new DocumentChange[0]);
+            pending.clear();
+            return changes;
+        }
+    }
+}
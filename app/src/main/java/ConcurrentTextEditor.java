@@ -0,0 +1,225 @@
+import list.FlatArraySequence;
+import list.List;
+import list.MappedLineStore;
+import list.OffHeapLineStore;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class implements the interface SimpleTextEditor so that it can be shared between threads.
+ * It guards a MyTextEditor with a StampedLock: writers take the write lock one at a time, while
+ * readers first read without locking and only take the read lock if a write happened meanwhile,
+ * so reads neither block each other nor, as long as no write is going on, take any lock at all.
+ *
+ * Every call is atomic on its own. Edits made of several calls, such as moving the cursor and
+ * then replacing the line, have to go through edit to be atomic as a whole.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class ConcurrentTextEditor implements SimpleTextEditor {
+
+    /**
+     * It serializes the writers and validates the readers
+     */
+    private final StampedLock lock = new StampedLock();
+    /**
+     * It stores the lines and the cursor, and is only used under the lock
+     */
+    private final MyTextEditor editor;
+
+    /**
+     * It creates an empty editor that can be shared between threads
+     */
+    public ConcurrentTextEditor(){
+        this(new FlatArraySequence<>());
+    }
+
+    /**
+     * It creates an editor that can be shared between threads and keeps its lines in the given
+     * list, which must not be used by anything else afterwards. Since reads run concurrently,
+     * and while a write is going on, the list must not change when it is read. A
+     * MappedLineStore does, as it keeps the lines it decodes, and so does an OffHeapLineStore,
+     * which may free the memory a reader is decoding a line from, so both are refused.
+     *
+     * @param lineStore The list used to store the lines of the document
+     * @throws IllegalArgumentException If the list cannot be read while it is written
+     */
+    public ConcurrentTextEditor(List<String> lineStore) throws IllegalArgumentException {
+        if(lineStore instanceof MappedLineStore || lineStore instanceof OffHeapLineStore){
+            throw new IllegalArgumentException(lineStore.getClass().getSimpleName() + " cannot be read concurrently");
+        }
+        editor = new MyTextEditor(lineStore);
+        // The characters are counted before any thread reads, since the first count is a write
+        editor.length();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return read(editor::isEmpty);
+    }
+
+    @Override
+    public int size() {
+        return read(editor::size);
+    }
+
+    @Override
+    public boolean isCursorAtLastLine() {
+        return read(editor::isCursorAtLastLine);
+    }
+
+    @Override
+    public void cursorDown() throws IndexOutOfBoundsException {
+        write(SimpleTextEditor::cursorDown);
+    }
+
+    @Override
+    public void cursorUp() throws IndexOutOfBoundsException {
+        write(SimpleTextEditor::cursorUp);
+    }
+
+    @Override
+    public void moveCursorToLine(int line) throws IndexOutOfBoundsException {
+        write(editor -> editor.moveCursorToLine(line));
+    }
+
+    @Override
+    public int cursorLineNum() {
+        return read(editor::cursorLineNum);
+    }
+
+    @Override
+    public void insertAfterCursor(String insertion) {
+        write(editor -> editor.insertAfterCursor(insertion));
+    }
+
+    @Override
+    public void insertBeforeCursor(String insertion) {
+        write(editor -> editor.insertBeforeCursor(insertion));
+    }
+
+    @Override
+    public String getAtCursor() {
+        return read(editor::getAtCursor);
+    }
+
+    @Override
+    public void replaceAtCursor(String replacement) {
+        write(editor -> editor.replaceAtCursor(replacement));
+    }
+
+    @Override
+    public void removeAtCursor() {
+        write(SimpleTextEditor::removeAtCursor);
+    }
+
+    /**
+     * It returns the line at the given index, wherever the cursor is
+     *
+     * @param index The index of the line
+     * @return The text of the line
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    public String getLine(int index) throws IndexOutOfBoundsException {
+        return read(() -> editor.getLine(index));
+    }
+
+    /**
+     * It copies every line of the document as it is at a single point in time
+     *
+     * @return The lines of the document
+     */
+    public String[] snapshot(){
+        return read(() -> {
+            String[] lines = new String[editor.size()];
+            for(int index = 0; index < lines.length; index++){
+                lines[index] = editor.getLine(index);
+            }
+            return lines;
+        });
+    }
+
+    /**
+     * It applies several edits atomically: no other thread sees the document or the cursor
+     * until all of them are done, and its change listeners are told of all of them in a single
+     * call, made once the lock is released. A line edited character by character is written
+     * back before the lock is released, so that the observers, such as a journal, are told of
+     * it with the rest of the edits.
+     *
+     * @param edits The edits to apply to the editor, which must not be kept afterwards
+     */
+    public void edit(Consumer<? super MyTextEditor> edits){
+        write(editor -> {
+            edits.accept(editor);
+            editor.freezeLine();
+        });
+    }
+
+    /**
+     * It converts all the lines to a single String, as they are at a single point in time
+     *
+     * @return The lines joined by line breaks
+     */
+    public String toString(){
+        return read(editor::toString);
+    }
+
+    /**
+     * It reads from the editor, first without locking and then, if a write happened during the
+     * read, again under the read lock. An exception thrown by a read that a write interfered
+     * with is ignored, since the read is done again.
+     *
+     * @param reader The read to make
+     * @param <T> The type of the value read
+     * @return The value read
+     */
+    private <T> T read(Supplier<T> reader){
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0){
+            try{
+                T value = reader.get();
+                if(lock.validate(stamp)){
+                    return value;
+                }
+            } catch (RuntimeException e){
+                if(lock.validate(stamp)){
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try{
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * It changes the editor under the write lock, as one batch of changes. The change listeners
+     * are told of it once the lock is released, so that they can read the document, which they
+     * could not do while this thread holds the lock, since it is not reentrant.
+     *
+     * @param writer The change to make
+     */
+    private void write(Consumer<? super MyTextEditor> writer){
+        ChangeDispatcher[] release;
+        long stamp = lock.writeLock();
+        try{
+            editor.holdChanges();
+            try{
+                writer.accept(editor);
+            } finally {
+                release = editor.endHold();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for(ChangeDispatcher dispatcher : release){
+            dispatcher.release();
+        }
+    }
+}
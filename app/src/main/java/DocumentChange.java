@@ -0,0 +1,148 @@
+/**
+ * This class describes a change made to the lines of a MyTextEditor without holding their text:
+ * the lines in [line, line + oldLineCount) were replaced by newLineCount lines, and the number of
+ * characters of the range, line breaks excluded, went from oldLength to newLength. An insertion
+ * replaces no lines and a removal replaces lines by none.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public final class DocumentChange {
+
+    /**
+     * The kinds of change
+     */
+    public enum Kind {
+        INSERT, REMOVE, REPLACE
+    }
+
+    /**
+     * The index of the first line of the range
+     */
+    private final int line;
+    /**
+     * The number of lines of the range before the change
+     */
+    private final int oldLineCount;
+    /**
+     * The number of lines of the range after the change
+     */
+    private final int newLineCount;
+    /**
+     * The number of characters of the range before the change
+     */
+    private final long oldLength;
+    /**
+     * The number of characters of the range after the change
+     */
+    private final long newLength;
+
+    /**
+     * It creates an instance of the class DocumentChange
+     *
+     * @param line The index of the first line of the range
+     * @param oldLineCount The number of lines of the range before the change
+     * @param newLineCount The number of lines of the range after the change
+     * @param oldLength The number of characters of the range before the change
+     * @param newLength The number of characters of the range after the change
+     */
+    DocumentChange(int line, int oldLineCount, int newLineCount, long oldLength, long newLength){
+        this.line = line;
+        this.oldLineCount = oldLineCount;
+        this.newLineCount = newLineCount;
+        this.oldLength = oldLength;
+        this.newLength = newLength;
+    }
+
+    /**
+     * It returns the kind of the change
+     *
+     * @return INSERT if no line was replaced, REMOVE if no line replaced them and REPLACE otherwise
+     */
+    public Kind kind(){
+        if(oldLineCount == 0){
+            return Kind.INSERT;
+        }
+        return newLineCount == 0 ? Kind.REMOVE : Kind.REPLACE;
+    }
+
+    /**
+     * It returns the index of the first line of the range
+     *
+     * @return The first line changed
+     */
+    public int line(){
+        return line;
+    }
+
+    /**
+     * It returns the number of lines of the range before the change
+     *
+     * @return The number of lines replaced
+     */
+    public int oldLineCount(){
+        return oldLineCount;
+    }
+
+    /**
+     * It returns the number of lines of the range after the change
+     *
+     * @return The number of lines that replaced them
+     */
+    public int newLineCount(){
+        return newLineCount;
+    }
+
+    /**
+     * It returns the number of characters of the range before the change, line breaks excluded
+     *
+     * @return The length of the lines replaced
+     */
+    public long oldLength(){
+        return oldLength;
+    }
+
+    /**
+     * It returns the number of characters of the range after the change, line breaks excluded
+     *
+     * @return The length of the lines that replaced them
+     */
+    public long newLength(){
+        return newLength;
+    }
+
+    /**
+     * It merges this change with the one that followed it into a single change, if the second
+     * one only touches the lines this one produced or the lines right next to them
+     *
+     * @param next The change made right after this one
+     * @return The change equivalent to both, or null if they cannot be described by one
+     */
+    DocumentChange followedBy(DocumentChange next){
+        if(next.line == line && next.oldLineCount == newLineCount){
+            // The same lines changed again, such as a line typed into twice
+            return new DocumentChange(line, oldLineCount, next.newLineCount, oldLength, next.newLength);
+        }
+        if(next.oldLineCount == 0 && next.line == line + newLineCount){
+            // Lines inserted right after the ones this change produced
+            return new DocumentChange(line, oldLineCount, newLineCount + next.newLineCount,
+                    oldLength, newLength + next.newLength);
+        }
+        if(newLineCount == 0 && next.newLineCount == 0 && (next.line == line || next.line + next.oldLineCount == line)){
+            // Lines removed where lines were just removed, or right before them
+            return new DocumentChange(Math.min(line, next.line), oldLineCount + next.oldLineCount, 0,
+                    oldLength + next.oldLength, 0);
+        }
+        return null;
+    }
+
+    /**
+     * It describes the change
+     *
+     * @return The kind, the range and the lengths of the change
+     */
+    public String toString(){
+        return kind() + " [" + line + ", " + (line + oldLineCount) + ") -> " + newLineCount
+                + " lines, " + oldLength + " -> " + newLength + " characters";
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * This interface is implemented by the components that follow the changes made to the text of a
+ * MyTextEditor, such as indexes, caches or renderers, so that they do not have to read the
+ * whole document again. They are registered with MyTextEditor.addChangeListener.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+@FunctionalInterface
+public interface DocumentListener {
+
+    /**
+     * It is called with the changes made since the previous call, in the order they were made,
+     * adjacent ones merged. The lines of every change are numbered as the document was after the
+     * changes before it.
+     *
+     * @param changes The changes, at least one
+     */
+    void documentChanged(DocumentChange[] changes);
+}
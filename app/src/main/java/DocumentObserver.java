@@ -0,0 +1,47 @@
+/**
+ * This interface is implemented by the parts of the editor that have to follow every change
+ * made to the lines of a MyTextEditor, such as the tracking of unsaved changes.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+interface DocumentObserver {
+
+    /**
+     * It is called after lines were inserted
+     *
+     * @param index The index of the first inserted line
+     * @param lines The inserted lines
+     */
+    void linesInserted(int index, String[] lines);
+
+    /**
+     * It is called after lines were removed
+     *
+     * @param index The index the first removed line had
+     * @param lines The removed lines
+     */
+    void linesRemoved(int index, String[] lines);
+
+    /**
+     * It is called after a line was replaced
+     *
+     * @param index The index of the line
+     * @param previous The line before the change
+     * @param replacement The line after the change
+     */
+    void lineReplaced(int index, String previous, String replacement);
+
+    /**
+     * It is called after a range of lines was replaced by other lines in one step. By default
+     * it is handled as a removal followed by an insertion.
+     *
+     * @param index The index of the first line of the range
+     * @param previous The lines of the range before the change
+     * @param replacement The lines of the range after the change
+     */
+    default void linesReplaced(int index, String[] previous, String[] replacement){
+        linesRemoved(index, previous);
+        linesInserted(index, replacement);
+    }
+}
@@ -0,0 +1,341 @@
+import list.List;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+/**
+ * This class writes the lines of a MyTextEditor to disk as UTF-8, in the same format as
+ * MyTextEditor.toString, and follows the changes made since the last save so that the next
+ * save can skip the part of the file that is still up to date.
+ *
+ * A full save streams every line through a FileChannel into a temporary file that then
+ * replaces the target. An incremental save to the same file either patches the changed lines
+ * in place, when only lines were replaced and their encoded length did not change, or copies
+ * the unchanged head of the old file and streams the lines from the first changed one on.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class DocumentSaver implements DocumentObserver {
+
+    /**
+     * The size of the buffer encoded lines are collected in before they are written
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The lines of the document
+     */
+    private final List<String> lines;
+    /**
+     * The file the document was last saved to, or null if it was never saved
+     */
+    private Path savedTo;
+    /**
+     * The byte offset of every line in the saved file, followed by the file length
+     */
+    private long[] offsets;
+    /**
+     * The time the saved file was last modified, as the last save left it
+     */
+    private FileTime savedTime;
+    /**
+     * The first line changed since the last save, or Integer.MAX_VALUE if there is none
+     */
+    private int firstDirty = Integer.MAX_VALUE;
+    /**
+     * Whether lines were inserted or removed since the last save
+     */
+    private boolean structureChanged;
+    /**
+     * The lines replaced since the last save, only meaningful while the structure is unchanged
+     */
+    private final BitSet dirtyLines = new BitSet();
+
+    /**
+     * It creates a saver for the given lines
+     *
+     * @param lines The lines of the document
+     */
+    public DocumentSaver(List<String> lines){
+        this.lines = lines;
+    }
+
+    @Override
+    public void linesInserted(int index, String[] inserted) {
+        firstDirty = Math.min(firstDirty, index);
+        structureChanged = true;
+    }
+
+    @Override
+    public void linesRemoved(int index, String[] removed) {
+        firstDirty = Math.min(firstDirty, index);
+        structureChanged = true;
+    }
+
+    @Override
+    public void lineReplaced(int index, String previous, String replacement) {
+        firstDirty = Math.min(firstDirty, index);
+        dirtyLines.set(index);
+    }
+
+    /**
+     * It tells whether the document changed since it was last saved
+     *
+     * @return true if there are unsaved changes and false otherwise
+     */
+    public boolean isModified(){
+        return savedTo == null || firstDirty != Integer.MAX_VALUE;
+    }
+
+    /**
+     * It writes the whole document to the target, atomically replacing any existing file
+     *
+     * @param target The file to write
+     * @throws IOException If the file could not be written
+     */
+    public void save(Path target) throws IOException {
+        rewrite(target, 0);
+    }
+
+    /**
+     * It brings the target up to date with the document. If the target is the file of the last
+     * save and it was not changed on disk since, only the changed part of it is rewritten;
+     * otherwise the whole document is saved.
+     *
+     * @param target The file to write
+     * @throws IOException If the file could not be written
+     */
+    public void saveIncremental(Path target) throws IOException {
+        if(!isSavedFile(target)){
+            rewrite(target, 0);
+        } else if(firstDirty == Integer.MAX_VALUE){
+            return;
+        } else if(structureChanged || !patchInPlace(target)){
+            rewrite(target, Math.min(firstDirty, lines.size()));
+        }
+    }
+
+    /**
+     * It checks whether the target is still the file written by the last save, which it is not
+     * if anything else wrote to it since, even without changing its size
+     *
+     * @param target The file to write
+     * @return true if the saved offsets describe the target and false otherwise
+     * @throws IOException If the file could not be inspected
+     */
+    private boolean isSavedFile(Path target) throws IOException {
+        return savedTo != null && Files.exists(target) && Files.isSameFile(savedTo, target)
+                && Files.size(target) == offsets[offsets.length - 1]
+                && Files.getLastModifiedTime(target).equals(savedTime);
+    }
+
+    /**
+     * It overwrites the replaced lines in the file itself, provided none of them changed its
+     * encoded length. The file is left untouched otherwise.
+     *
+     * @param target The file of the last save
+     * @return true if the lines were patched and false otherwise
+     * @throws IOException If the file could not be written
+     */
+    private boolean patchInPlace(Path target) throws IOException {
+        int count = dirtyLines.cardinality();
+        int[] indices = new int[count];
+        byte[][] encoded = new byte[count][];
+        int next = 0;
+        for(int index = dirtyLines.nextSetBit(0); index >= 0; index = dirtyLines.nextSetBit(index + 1)){
+            byte[] bytes = lines.get(index).getBytes(StandardCharsets.UTF_8);
+            if(bytes.length != savedLength(index)){
+                return false;
+            }
+            indices[next] = index;
+            encoded[next++] = bytes;
+        }
+
+        try(FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)){
+            for(int i = 0; i < count; i++){
+                ByteBuffer buffer = ByteBuffer.wrap(encoded[i]);
+                long position = offsets[indices[i]];
+                while(buffer.hasRemaining()){
+                    position += channel.write(buffer, position);
+                }
+            }
+            channel.force(false);
+        }
+        markSaved(target, offsets);
+        return true;
+    }
+
+    /**
+     * It writes a new version of the target into a temporary file, copying the bytes of the
+     * lines before the given one from the current target, and then moves it over the target.
+     * The temporary file is only readable by its owner, so it is first given the permissions of
+     * the target, if there is one.
+     *
+     * @param target The file to write
+     * @param from The first line that has to be encoded again
+     * @throws IOException If the file could not be written
+     */
+    private void rewrite(Path target, int from) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        long[] newOffsets = new long[lines.size() + 1];
+        try{
+            PosixFileAttributeView permissions = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if(permissions != null && Files.exists(target)){
+                Files.setPosixFilePermissions(temporary, permissions.readAttributes().permissions());
+            }
+            try(FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE)){
+                long head = 0;
+                if(from > 0){
+                    // Copy the unchanged lines, without the line break after the last of them
+                    head = (from < offsets.length - 1) ? offsets[from] - 1 : offsets[from];
+                    System.arraycopy(offsets, 0, newOffsets, 0, from);
+                    try(FileChannel in = FileChannel.open(target, StandardOpenOption.READ)){
+                        long copied = 0;
+                        while(copied < head){
+                            copied += in.transferTo(copied, head - copied, out);
+                        }
+                    }
+                    if(from < lines.size()){
+                        out.write(ByteBuffer.wrap(new byte[]{'\n'}), head);
+                        head++;
+                    }
+                }
+                out.position(head);
+                writeLines(out, lines::get, from, head, newOffsets);
+                out.force(false);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        markSaved(target, newOffsets);
+    }
+
+    /**
+     * It encodes every line into the channel as UTF-8, separated by line breaks, in the same
+     * format as a saved file, taking the text of the lines from the given function rather than
+     * from the store, e.g. so that the editor can hand the line it buffers without writing it back
+     *
+     * @param out The channel to write to
+     * @param source The text of the line at every index
+     * @return The number of bytes written
+     * @throws IOException If the channel could not be written
+     */
+    long writeTo(WritableByteChannel out, IntFunction<String> source) throws IOException {
+        return writeLines(out, source, 0, 0, null);
+    }
+
+    /**
+     * It encodes the lines from the given one on into the channel, separated by line breaks,
+     * and records the offset of every line
+     *
+     * @param out The channel to write to, positioned at the given offset
+     * @param source The text of the line at every index
+     * @param from The first line to write
+     * @param offset The offset in the file of the first line
+     * @param lineOffsets The array receiving the offset of every line and the final length, or
+     *                    null if they are not needed
+     * @return The offset after the last line
+     * @throws IOException If the channel could not be written
+     */
+    private long writeLines(WritableByteChannel out, IntFunction<String> source, int from, long offset, long[] lineOffsets) throws IOException {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long written = offset;
+        int size = lines.size();
+
+        for(int index = from; index < size; index++){
+            if(lineOffsets != null){
+                lineOffsets[index] = written + buffer.position();
+            }
+            CharBuffer line = CharBuffer.wrap(source.apply(index));
+            CoderResult result;
+            do {
+                result = encoder.encode(line, buffer, true);
+                if(result.isOverflow()){
+                    written += drain(out, buffer);
+                }
+            } while(result.isOverflow());
+            while(encoder.flush(buffer).isOverflow()){
+                written += drain(out, buffer);
+            }
+            encoder.reset();
+
+            if(index < size - 1){
+                if(!buffer.hasRemaining()){
+                    written += drain(out, buffer);
+                }
+                buffer.put((byte) '\n');
+            }
+        }
+        written += drain(out, buffer);
+        if(lineOffsets != null){
+            lineOffsets[size] = written;
+        }
+        return written;
+    }
+
+    /**
+     * It writes everything collected in the buffer to the channel and clears the buffer
+     *
+     * @param out The channel to write to
+     * @param buffer The buffer holding the encoded bytes
+     * @return The number of bytes written
+     * @throws IOException If the channel could not be written
+     */
+    private static int drain(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        int count = buffer.remaining();
+        while(buffer.hasRemaining()){
+            out.write(buffer);
+        }
+        buffer.clear();
+        return count;
+    }
+
+    /**
+     * It returns the number of bytes the given line takes in the saved file, without its line break
+     *
+     * @param index The index of the line
+     * @return The encoded length of the line
+     */
+    private long savedLength(int index){
+        long length = offsets[index + 1] - offsets[index];
+        return (index < offsets.length - 2) ? length - 1 : length;
+    }
+
+    /**
+     * It records a completed save
+     *
+     * @param target The file that was written
+     * @param lineOffsets The offset of every line in it, followed by its length
+     * @throws IOException If the time the file was modified could not be read
+     */
+    private void markSaved(Path target, long[] lineOffsets) throws IOException {
+        savedTime = Files.getLastModifiedTime(target);
+        savedTo = target;
+        offsets = lineOffsets;
+        firstDirty = Integer.MAX_VALUE;
+        structureChanged = false;
+        dirtyLines.clear();
+    }
+}
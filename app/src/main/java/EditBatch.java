@@ -0,0 +1,242 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class queues insertions, replacements and removals of lines of a MyTextEditor and
+ * applies them together. The lines of every edit are numbered as the document was when the
+ * batch was committed, so the edits do not have to account for each other.
+ *
+ * On commit the edits are sorted by line and merged into the new text of the part of the
+ * document between the first and the last edited line, which then replaces that part with a
+ * single shift of the following lines, instead of one shift per edit. The observers and the
+ * listeners are only told of the runs of consecutive lines the edits changed, not of the
+ * unchanged lines between them. If any edit refers to a line that does not exist, nothing is
+ * changed.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditBatch {
+
+    /**
+     * The kinds of edit that can be queued
+     */
+    private enum Kind { INSERT, REPLACE, REMOVE }
+
+    /**
+     * A queued edit
+     */
+    private static final class Edit {
+
+        private final Kind kind;
+        /**
+         * The line the edit applies to, or the line the insertion goes before
+         */
+        private final int line;
+        /**
+         * The position of the edit in the queue
+         */
+        private final int order;
+        /**
+         * The inserted lines, or the new text of a replaced line
+         */
+        private final String[] lines;
+
+        /**
+         * It is used to create a queued edit
+         *
+         * @param kind The kind of edit
+         * @param line The line the edit applies to
+         * @param order The position of the edit in the queue
+         * @param lines The inserted lines or the replacement
+         */
+        Edit(Kind kind, int line, int order, String[] lines){
+            this.kind = kind;
+            this.line = line;
+            this.order = order;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * The editor the batch is applied to
+     */
+    private final MyTextEditor editor;
+    /**
+     * The queued edits, in the order they were made
+     */
+    private final ArrayList<Edit> edits = new ArrayList<>();
+
+    /**
+     * It creates an empty batch for the given editor
+     *
+     * @param editor The editor the batch is applied to
+     */
+    EditBatch(MyTextEditor editor){
+        this.editor = editor;
+    }
+
+    /**
+     * It queues the insertion of lines before the given line. Lines inserted before the same
+     * line end up in the order they were queued; size() inserts after the last line.
+     *
+     * @param line The line the new lines go before
+     * @param lines The lines to insert
+     * @return This batch
+     */
+    public EditBatch insert(int line, String... lines){
+        edits.add(new Edit(Kind.INSERT, line, edits.size(), lines.clone()));
+        return this;
+    }
+
+    /**
+     * It queues the replacement of a line. If the line is replaced more than once, the last
+     * replacement is kept; if it is also removed, the removal wins.
+     *
+     * @param line The line to replace
+     * @param replacement The new text of the line
+     * @return This batch
+     */
+    public EditBatch replace(int line, String replacement){
+        edits.add(new Edit(Kind.REPLACE, line, edits.size(), new String[]{replacement}));
+        return this;
+    }
+
+    /**
+     * It queues the removal of a line
+     *
+     * @param line The line to remove
+     * @return This batch
+     */
+    public EditBatch remove(int line){
+        edits.add(new Edit(Kind.REMOVE, line, edits.size(), null));
+        return this;
+    }
+
+    /**
+     * It queues the removal of the lines in [from, to)
+     *
+     * @param from The first line to remove
+     * @param to The line after the last line to remove
+     * @return This batch
+     */
+    public EditBatch remove(int from, int to){
+        for(int line = from; line < to; line++){
+            remove(line);
+        }
+        return this;
+    }
+
+    /**
+     * It returns the number of queued edits
+     *
+     * @return The number of edits
+     */
+    public int size(){
+        return edits.size();
+    }
+
+    /**
+     * It discards every queued edit without changing the document
+     */
+    public void rollback(){
+        edits.clear();
+    }
+
+    /**
+     * It applies every queued edit to the document in one step and empties the batch. The
+     * cursor stays on its line if that line is kept, and otherwise moves to the line that
+     * followed it.
+     *
+     * @throws IndexOutOfBoundsException If an edit refers to a line that does not exist, in
+     *                                   which case neither the document nor the batch is changed
+     */
+    public void commit() throws IndexOutOfBoundsException {
+        if(edits.isEmpty()){
+            return;
+        }
+        int size = editor.size();
+        int from = size;
+        int to = 0;
+        for(Edit edit : edits){
+            int last = (edit.kind == Kind.INSERT) ? size : size - 1;
+            if(edit.line < 0 || edit.line > last){
+                throw new IndexOutOfBoundsException("Line does not exist: " + edit.line);
+            }
+            from = Math.min(from, edit.line);
+            to = Math.max(to, (edit.kind == Kind.INSERT) ? edit.line : edit.line + 1);
+        }
+        to = Math.max(to, from);
+
+        Edit[] sorted = edits.toArray(new Edit[0]);
+        Arrays.sort(sorted, Comparator.comparingInt((Edit edit) -> edit.line)
+                .thenComparingInt(edit -> edit.order));
+
+        int cursor = editor.cursorLineNum();
+        int newCursor = cursor;
+        ArrayList<String> window = new ArrayList<>();
+        // The first line, old line count and new line count of every run of changed lines
+        int[] runs = new int[3 * 4];
+        int count = 0;
+        int run = -1;
+        int next = 0;
+        for(int line = from; line <= to; line++){
+            // The insertions go before the line, then the line itself is kept, replaced or removed
+            String text = (line < to) ? editor.getLine(line) : null;
+            boolean replaced = false;
+            boolean removed = false;
+            int inserted = 0;
+            for(; next < sorted.length && sorted[next].line == line; next++){
+                Edit edit = sorted[next];
+                switch(edit.kind){
+                    case INSERT -> {
+                        for(String insertion : edit.lines){
+                            window.add(insertion);
+                        }
+                        inserted += edit.lines.length;
+                    }
+                    case REPLACE -> {
+                        text = edit.lines[0];
+                        replaced = true;
+                    }
+                    case REMOVE -> removed = true;
+                }
+            }
+            if(line == cursor){
+                newCursor = from + window.size();
+            }
+            if(line < to && !removed){
+                window.add(text);
+            }
+
+            boolean changed = line < to && (replaced || removed);
+            if((inserted > 0 || changed) && run < 0){
+                if(count == runs.length){
+                    runs = Arrays.copyOf(runs, 2 * count);
+                }
+                run = count;
+                runs[count++] = line;
+                runs[count++] = 0;
+                runs[count++] = 0;
+            }
+            if(run >= 0){
+                runs[run + 2] += inserted;
+                if(changed){
+                    runs[run + 1]++;
+                    runs[run + 2] += removed ? 0 : 1;
+                } else if(line < to){
+                    // The line is kept as it is, which ends the run before it
+                    run = -1;
+                }
+            }
+        }
+        if(cursor > to){
+            newCursor = cursor + window.size() - (to - from);
+        }
+
+        editor.replaceRuns(from, to, window.toArray(new String[0]), Arrays.copyOf(runs, count));
+        editor.setCursor(newCursor);
+        edits.clear();
+    }
+}
@@ -0,0 +1,854 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * This class makes the changes made to a MyTextEditor survive a crash without saving the whole
+ * document after every change. It keeps two files in a directory: a checkpoint, which holds the
+ * whole document as it was at some point, and a journal, to which every change made since is
+ * appended as a small binary record. Recovering the document reads the checkpoint and replays
+ * the journal, so it takes time in proportion to the changes made since the checkpoint rather
+ * than to every change ever made.
+ *
+ * Records are collected in a buffer and written through a FileChannel. They are forced to disk
+ * together by a background thread at a fixed interval, so that a burst of edits shares one
+ * fsync (group commit), or after every change if the interval is 0. Once the journal grows past
+ * a given size a new checkpoint is written and the journal starts over. The checkpoint is
+ * written by the background thread from a copy of the lines the editor hands over once the
+ * change is recorded, so the editing thread never waits for it and keeps journaling meanwhile.
+ *
+ * Every record carries a CRC32, so a record torn by a crash is detected and dropped on recovery
+ * along with anything after it. Both files are replaced atomically when a checkpoint is taken.
+ * The journal is tagged with the generation of its checkpoint, and a checkpoint tells which
+ * journal it was copied from and up to which record, so a crash between writing the checkpoint
+ * and starting the journal over loses nothing, and a journal left over from an older checkpoint
+ * is never replayed over a newer one.
+ *
+ * Writing the journal never throws while the editor notifies its observers, which would keep
+ * the observers after the journal from seeing the change. An error stops the journal instead,
+ * and is reported by sync and close.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditJournal implements DocumentObserver, Closeable {
+
+    /**
+     * The interval at which the journal is forced to disk unless another one is given
+     */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 20;
+    /**
+     * The size the journal may reach before a checkpoint is taken unless another one is given
+     */
+    public static final long DEFAULT_CHECKPOINT_BYTES = 16 << 20;
+    /**
+     * The name of the checkpoint file in the directory of the journal
+     */
+    static final String CHECKPOINT = "checkpoint";
+    /**
+     * The name of the journal file in the directory of the journal
+     */
+    static final String JOURNAL = "journal";
+    /**
+     * The first bytes of a checkpoint, "TECP"
+     */
+    private static final int CHECKPOINT_MAGIC = 0x54454350;
+    /**
+     * The first bytes of a journal, "TEJL"
+     */
+    private static final int JOURNAL_MAGIC = 0x54454a4c;
+    /**
+     * The version of the format of both files
+     */
+    private static final int VERSION = 2;
+    /**
+     * The length of the header of a journal: magic, version and generation
+     */
+    private static final int HEADER = 16;
+    /**
+     * The size of the buffers records are collected in before they are written
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The kinds of record
+     */
+    private static final byte INSERT = 1, REMOVE = 2, REPLACE = 3;
+
+    /**
+     * The editor whose changes are recorded
+     */
+    private final MyTextEditor editor;
+    /**
+     * The directory holding the checkpoint and the journal
+     */
+    private final Path directory;
+    /**
+     * The size the journal may reach before a checkpoint is taken
+     */
+    private final long checkpointBytes;
+    /**
+     * It is held while the journal file is written, forced or replaced
+     */
+    private final Object channelLock = new Object();
+    /**
+     * It is held while a checkpoint is taken, so that only one is taken at a time
+     */
+    private final Object checkpointLock = new Object();
+    /**
+     * The journal file, guarded by channelLock
+     */
+    private FileChannel channel;
+    /**
+     * Whether bytes were written to the journal since it was last forced, guarded by channelLock
+     */
+    private boolean unforced;
+    /**
+     * The records not yet written, guarded by this
+     */
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    /**
+     * The buffer written while the other one collects records, guarded by channelLock
+     */
+    private ByteBuffer writing = ByteBuffer.allocate(BUFFER_SIZE);
+    /**
+     * The record being encoded, only used on the editing thread
+     */
+    private ByteBuffer record = ByteBuffer.allocate(256);
+    /**
+     * It computes the checksums of the records, only used on the editing thread
+     */
+    private final CRC32 crc = new CRC32();
+    /**
+     * The generation of the checkpoint the journal follows, guarded by channelLock
+     */
+    private long generation;
+    /**
+     * The size of the journal, records not yet written included, guarded by this
+     */
+    private long journalBytes = HEADER;
+    /**
+     * Whether every change is forced to disk as soon as it is recorded
+     */
+    private final boolean forceEveryChange;
+    /**
+     * It forces the journal to disk at a fixed interval, unless every change is forced, and
+     * takes the checkpoints
+     */
+    private final ScheduledExecutorService flusher;
+    /**
+     * Whether the journal grew large enough for a checkpoint, only used on the editing thread
+     */
+    private boolean checkpointDue;
+    /**
+     * Whether a checkpoint was handed to the flusher and is not done yet
+     */
+    private volatile boolean checkpointing;
+    /**
+     * The error that stopped the journal, reported by sync and close
+     */
+    private volatile IOException failure;
+    /**
+     * Whether the journal was closed
+     */
+    private boolean closed;
+
+    /**
+     * It creates a journal for the given editor, without opening any file
+     *
+     * @param editor The editor whose changes are recorded
+     * @param directory The directory holding the checkpoint and the journal
+     * @param syncIntervalMillis The interval at which the journal is forced to disk, or 0 to force it after every change
+     * @param checkpointBytes The size the journal may reach before a checkpoint is taken
+     */
+    private EditJournal(MyTextEditor editor, Path directory, long syncIntervalMillis, long checkpointBytes){
+        if(syncIntervalMillis < 0 || checkpointBytes <= 0){
+            throw new IllegalArgumentException("Illegal journal settings: " + syncIntervalMillis + " ms, " + checkpointBytes + " bytes");
+        }
+        this.editor = editor;
+        this.directory = directory;
+        this.checkpointBytes = checkpointBytes;
+        this.forceEveryChange = syncIntervalMillis == 0;
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-flusher " + directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if(!forceEveryChange){
+            flusher.scheduleWithFixedDelay(this::flush, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * It starts a journal of the given editor in the given directory, replacing the one that may
+     * already be there, by writing a checkpoint of the document as it is now. It is called by
+     * MyTextEditor.enableJournal.
+     *
+     * @param editor The editor whose changes are recorded
+     * @param directory The directory holding the checkpoint and the journal, created if needed
+     * @param syncIntervalMillis The interval at which the journal is forced to disk, or 0 to force it after every change
+     * @param checkpointBytes The size the journal may reach before a checkpoint is taken
+     * @return The journal, which still has to be registered as an observer of the editor
+     * @throws IOException If the files could not be written
+     */
+    static EditJournal create(MyTextEditor editor, Path directory, long syncIntervalMillis, long checkpointBytes) throws IOException {
+        Files.createDirectories(directory);
+        long generation = 0;
+        try{
+            generation = readCheckpointGeneration(directory.resolve(CHECKPOINT));
+        } catch (IOException e){
+            // There is no usable checkpoint to follow, so the generations start over
+        }
+        EditJournal journal = new EditJournal(editor, directory, syncIntervalMillis, checkpointBytes);
+        try{
+            synchronized(journal.channelLock){
+                journal.generation = generation;
+            }
+            journal.checkpoint();
+        } catch (IOException | RuntimeException e){
+            journal.shutdown();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * It rebuilds the document kept in the given directory from its checkpoint and journal, and
+     * keeps journaling the editor returned there. A record torn by a crash ends the journal and
+     * is cut off. It is called by MyTextEditor.recover.
+     *
+     * @param directory The directory holding the checkpoint and the journal
+     * @param syncIntervalMillis The interval at which the journal is forced to disk, or 0 to force it after every change
+     * @param checkpointBytes The size the journal may reach before a checkpoint is taken
+     * @return The editor holding the document, with the cursor where it was at the last change
+     * @throws IOException If the checkpoint is missing or damaged, or the files could not be read
+     */
+    static MyTextEditor recover(Path directory, long syncIntervalMillis, long checkpointBytes) throws IOException {
+        Path checkpointFile = directory.resolve(CHECKPOINT);
+        MyTextEditor editor;
+        long generation;
+        long follows;
+        long offset;
+        int cursor;
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile), BUFFER_SIZE))){
+            CheckedInputStream checked = new CheckedInputStream(in, new CRC32());
+            DataInputStream data = new DataInputStream(checked);
+            if(data.readInt() != CHECKPOINT_MAGIC || data.readInt() != VERSION){
+                throw new IOException("Not a checkpoint: " + checkpointFile);
+            }
+            generation = data.readLong();
+            follows = data.readLong();
+            offset = data.readLong();
+            cursor = data.readInt();
+            String[] lines = new String[data.readInt()];
+            for(int index = 0; index < lines.length; index++){
+                byte[] bytes = new byte[data.readInt()];
+                data.readFully(bytes);
+                lines[index] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            long expected = checked.getChecksum().getValue();
+            if(in.readInt() != (int) expected){
+                throw new IOException("Damaged checkpoint: " + checkpointFile);
+            }
+            editor = new MyTextEditor(lines);
+        } catch (EOFException e){
+            throw new IOException("Truncated checkpoint: " + checkpointFile, e);
+        }
+        editor.setCursor(cursor);
+
+        Path journalFile = directory.resolve(JOURNAL);
+        ByteBuffer records = ByteBuffer.allocate(0);
+        long valid = HEADER;
+        boolean current = false;
+        try{
+            ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+            long tagged = -1;
+            if(journal.remaining() >= HEADER && journal.getInt() == JOURNAL_MAGIC && journal.getInt() == VERSION){
+                tagged = journal.getLong();
+            }
+            if(tagged == generation){
+                current = true;
+                valid = replay(editor, journal);
+            } else if(tagged == follows && follows >= 0 && offset >= HEADER && offset <= journal.limit()){
+                // The crash came after the checkpoint was written and before the journal was
+                // started over, so the records after the checkpoint are still in the old journal
+                journal.position((int) offset);
+                records = journal.slice((int) offset, (int) (replay(editor, journal) - offset));
+            }
+        } catch (NoSuchFileException e){
+            // The crash came between the first checkpoint and the journal that follows it
+        }
+
+        EditJournal journal = new EditJournal(editor, directory, syncIntervalMillis, checkpointBytes);
+        try{
+            synchronized(journal.channelLock){
+                journal.generation = generation;
+                if(current){
+                    journal.channel = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    journal.channel.truncate(valid);
+                    journal.channel.position(valid);
+                    journal.channel.force(false);
+                } else {
+                    valid = HEADER + records.remaining();
+                    journal.channel = createJournal(directory, generation, records);
+                }
+            }
+            synchronized(journal){
+                journal.journalBytes = valid;
+            }
+        } catch (IOException | RuntimeException e){
+            journal.shutdown();
+            throw e;
+        }
+        editor.attachJournal(journal);
+        return editor;
+    }
+
+    /**
+     * It applies the records of a journal to the editor, from the position of the buffer on,
+     * stopping at the end or at the first record that is incomplete or damaged
+     *
+     * @param editor The editor holding the document of the checkpoint
+     * @param journal The contents of the journal, positioned after its header
+     * @return The length of the part of the journal that was applied
+     */
+    private static long replay(MyTextEditor editor, ByteBuffer journal){
+        CRC32 crc = new CRC32();
+        while(journal.remaining() >= 4){
+            int start = journal.position();
+            int length = journal.getInt();
+            if(length <= 0 || length > journal.remaining() - 4){
+                return start;
+            }
+            crc.reset();
+            crc.update(journal.array(), journal.position(), length);
+            if(journal.getInt(journal.position() + length) != (int) crc.getValue()){
+                return start;
+            }
+            ByteBuffer body = journal.slice(journal.position(), length);
+            try{
+                apply(editor, body);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e){
+                // The checksum matched but the record does not fit the document, so the journal
+                // cannot be trusted from here on
+                return start;
+            }
+            journal.position(journal.position() + length + 4);
+        }
+        return journal.position();
+    }
+
+    /**
+     * It applies a single record to the editor
+     *
+     * @param editor The editor holding the document
+     * @param body The record, without its length and checksum
+     */
+    private static void apply(MyTextEditor editor, ByteBuffer body){
+        byte kind = body.get();
+        int cursor = body.getInt();
+        int index = body.getInt();
+        switch(kind){
+            case INSERT -> editor.insertLines(index, readLines(body, body.getInt()));
+            case REMOVE -> editor.removeLines(index, index + body.getInt());
+            case REPLACE -> {
+                int count = body.getInt();
+                String[] lines = readLines(body, body.getInt());
+                if(count == 1 && lines.length == 1){
+                    editor.replaceLine(index, lines[0]);
+                } else {
+                    editor.replaceLines(index, index + count, lines);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown record: " + kind);
+        }
+        editor.setCursor(cursor);
+    }
+
+    /**
+     * It decodes the given number of lines from a record
+     *
+     * @param body The record, positioned at the first line
+     * @param count The number of lines
+     * @return The lines
+     */
+    private static String[] readLines(ByteBuffer body, int count){
+        if(count < 0 || count > body.remaining() / 4){
+            throw new IllegalArgumentException("Illegal line count: " + count);
+        }
+        String[] lines = new String[count];
+        for(int index = 0; index < count; index++){
+            int length = body.getInt();
+            if(length < 0 || length > body.remaining()){
+                throw new IllegalArgumentException("Illegal line length: " + length);
+            }
+            lines[index] = new String(body.array(), body.arrayOffset() + body.position(), length, StandardCharsets.UTF_8);
+            body.position(body.position() + length);
+        }
+        return lines;
+    }
+
+    @Override
+    public void linesInserted(int index, String[] lines){
+        beginRecord(INSERT, index);
+        putLines(lines);
+        endRecord();
+    }
+
+    @Override
+    public void linesRemoved(int index, String[] lines){
+        beginRecord(REMOVE, index);
+        record.putInt(lines.length);
+        endRecord();
+    }
+
+    @Override
+    public void lineReplaced(int index, String previous, String replacement){
+        beginRecord(REPLACE, index);
+        record.putInt(1);
+        putLines(new String[]{replacement});
+        endRecord();
+    }
+
+    @Override
+    public void linesReplaced(int index, String[] previous, String[] replacement){
+        beginRecord(REPLACE, index);
+        record.putInt(previous.length);
+        putLines(replacement);
+        endRecord();
+    }
+
+    /**
+     * It writes the records not yet written to the journal and forces it to disk, so that every
+     * change made so far survives a crash
+     *
+     * @throws IOException If the journal could not be written
+     */
+    public void sync() throws IOException {
+        IOException failed = failure;
+        if(failed != null){
+            throw new IOException("The journal stopped after an error", failed);
+        }
+        synchronized(channelLock){
+            writePending();
+            if(unforced){
+                channel.force(false);
+                unforced = false;
+            }
+        }
+    }
+
+    /**
+     * It writes the whole document to a new checkpoint and starts an empty journal after it, so
+     * that recovering does not have to replay the changes made so far. It is taken on the
+     * calling thread, which has to be the editing thread.
+     *
+     * @throws IOException If the files could not be written
+     */
+    public void checkpoint() throws IOException {
+        editor.freezeLine();
+        String[] lines = new String[editor.size()];
+        for(int index = 0; index < lines.length; index++){
+            lines[index] = editor.getLine(index);
+        }
+        long taken;
+        synchronized(channelLock){
+            taken = generation;
+        }
+        checkpoint(lines, editor.cursorLineNum(), taken, journalBytes());
+    }
+
+    /**
+     * It tells whether the journal grew large enough for a checkpoint since the last one
+     *
+     * @return true if the editor has to hand over its lines to startCheckpoint and false otherwise
+     */
+    boolean checkpointDue(){
+        return checkpointDue;
+    }
+
+    /**
+     * It has the flusher write a checkpoint of the given lines, while the editor goes on and the
+     * changes made meanwhile are recorded in the journal. It is called by MyTextEditor once
+     * every change made to the lines has been recorded, so that the lines are those the
+     * journal describes. An error stops the journal.
+     *
+     * @param lines A copy of the lines of the document, which must not be changed afterwards
+     * @param cursor The line the cursor is on
+     */
+    void startCheckpoint(String[] lines, int cursor){
+        checkpointDue = false;
+        long taken;
+        synchronized(channelLock){
+            taken = generation;
+        }
+        long mark = journalBytes();
+        checkpointing = true;
+        try{
+            flusher.execute(() -> {
+                try{
+                    checkpoint(lines, cursor, taken, mark);
+                } catch (IOException e){
+                    failure = e;
+                } finally {
+                    checkpointing = false;
+                }
+            });
+        } catch (RejectedExecutionException e){
+            // The journal was closed
+            checkpointing = false;
+        }
+    }
+
+    /**
+     * It writes a checkpoint of the given lines and starts the journal over with the records
+     * made after they were copied. Nothing is done if another checkpoint was taken since.
+     *
+     * @param lines The lines of the document
+     * @param cursor The line the cursor was on
+     * @param taken The generation of the journal when the lines were copied
+     * @param mark The size of the journal when the lines were copied
+     * @throws IOException If the files could not be written
+     */
+    private void checkpoint(String[] lines, int cursor, long taken, long mark) throws IOException {
+        synchronized(checkpointLock){
+            long follows;
+            synchronized(channelLock){
+                if(taken != generation){
+                    return;
+                }
+                follows = (channel == null) ? -1 : taken;
+            }
+            long next = taken + 1;
+            writeCheckpoint(next, follows, mark, lines, cursor);
+            synchronized(channelLock){
+                ByteBuffer records = ByteBuffer.allocate(0);
+                if(channel != null){
+                    writePending();
+                    records = ByteBuffer.allocate((int) (channel.position() - mark));
+                    while(records.hasRemaining()){
+                        if(channel.read(records, mark + records.position()) < 0){
+                            throw new EOFException("The journal is shorter than it was");
+                        }
+                    }
+                    records.flip();
+                }
+                FileChannel fresh = createJournal(directory, next, records);
+                if(channel != null){
+                    channel.close();
+                }
+                channel = fresh;
+                unforced = false;
+                generation = next;
+            }
+            synchronized(this){
+                journalBytes -= mark - HEADER;
+            }
+        }
+    }
+
+    /**
+     * It returns the size of the journal, which recovering has to replay
+     *
+     * @return The number of bytes of the journal, records not yet written included
+     */
+    public synchronized long journalBytes(){
+        return journalBytes;
+    }
+
+    /**
+     * It waits for the checkpoint being taken, if any, forces the journal to disk, stops the
+     * flusher and closes the journal file. The editor is no longer journaled afterwards.
+     *
+     * @throws IOException If the journal could not be written, now or since it was started
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed){
+            return;
+        }
+        closed = true;
+        editor.removeObserver(this);
+        try{
+            flusher.shutdown();
+            try{
+                flusher.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            sync();
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * It stops the flusher and closes the journal file without writing anything
+     */
+    private void shutdown(){
+        flusher.shutdownNow();
+        synchronized(channelLock){
+            try{
+                if(channel != null){
+                    channel.close();
+                }
+            } catch (IOException e){
+                // Nothing more can be done with the journal
+            }
+        }
+    }
+
+    /**
+     * It forces the journal to disk from the flusher, keeping the error for sync and close
+     */
+    private void flush(){
+        if(failure != null){
+            return;
+        }
+        try{
+            sync();
+        } catch (IOException e){
+            failure = e;
+        }
+    }
+
+    /**
+     * It starts encoding a record
+     *
+     * @param kind The kind of the record
+     * @param index The first line the change applies to
+     */
+    private void beginRecord(byte kind, int index){
+        record.clear();
+        record.putInt(0);
+        record.put(kind);
+        record.putInt(editor.cursorLineNum());
+        record.putInt(index);
+    }
+
+    /**
+     * It encodes lines into the record, each as its length in bytes followed by its UTF-8 bytes
+     *
+     * @param lines The lines
+     */
+    private void putLines(String[] lines){
+        ensureRecord(4);
+        record.putInt(lines.length);
+        for(String line : lines){
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            ensureRecord(4 + bytes.length);
+            record.putInt(bytes.length);
+            record.put(bytes);
+        }
+    }
+
+    /**
+     * It grows the record so that the given number of bytes fit after its position
+     *
+     * @param count The number of bytes about to be encoded
+     */
+    private void ensureRecord(int count){
+        if(record.remaining() < count + 4){
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(2 * record.capacity(), record.position() + count + 4));
+            record.flip();
+            grown.put(record);
+            record = grown;
+        }
+    }
+
+    /**
+     * It completes the record with its length and checksum and appends it to the journal,
+     * forcing it to disk if every change is, and asks for a checkpoint if the journal became too
+     * large. Once the journal could not be written it records nothing more, since replaying it
+     * past the missing record would be wrong.
+     */
+    private void endRecord(){
+        ensureRecord(0);
+        int length = record.position() - 4;
+        record.putInt(0, length);
+        crc.reset();
+        crc.update(record.array(), 4, length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        if(failure != null){
+            return;
+        }
+        try{
+            append(record);
+            if(forceEveryChange){
+                sync();
+            }
+        } catch (IOException e){
+            failure = e;
+            return;
+        }
+        if(!checkpointing && journalBytes() >= checkpointBytes){
+            checkpointDue = true;
+        }
+    }
+
+    /**
+     * It adds an encoded record to the buffer of records, writing the buffer first if the
+     * record does not fit, or writing the record directly if it is larger than the buffer
+     *
+     * @param entry The record, ready to be read
+     * @throws IOException If the journal could not be written
+     */
+    private void append(ByteBuffer entry) throws IOException {
+        int size = entry.remaining();
+        while(true){
+            synchronized(this){
+                if(pending.remaining() >= size){
+                    pending.put(entry);
+                    break;
+                }
+            }
+            synchronized(channelLock){
+                writePending();
+                if(size > BUFFER_SIZE){
+                    while(entry.hasRemaining()){
+                        channel.write(entry);
+                    }
+                    break;
+                }
+            }
+        }
+        synchronized(this){
+            journalBytes += size;
+        }
+    }
+
+    /**
+     * It writes the records collected so far to the journal file, collecting the next ones in
+     * the other buffer meanwhile. It is called with channelLock held.
+     *
+     * @throws IOException If the journal could not be written
+     */
+    private void writePending() throws IOException {
+        ByteBuffer full;
+        synchronized(this){
+            if(pending.position() == 0){
+                return;
+            }
+            full = pending;
+            pending = writing;
+        }
+        writing = full;
+        full.flip();
+        while(full.hasRemaining()){
+            channel.write(full);
+        }
+        full.clear();
+        unforced = true;
+    }
+
+    /**
+     * It writes the whole document to a temporary file, forces it to disk and moves it over the
+     * checkpoint
+     *
+     * @param generation The generation of the new checkpoint
+     * @param follows The generation of the journal the lines were copied from, or -1 if none
+     * @param offset The size of that journal when the lines were copied
+     * @param lines The lines of the document
+     * @param cursor The line the cursor was on
+     * @throws IOException If the checkpoint could not be written
+     */
+    private void writeCheckpoint(long generation, long follows, long offset, String[] lines, int cursor) throws IOException {
+        Path temporary = Files.createTempFile(directory, CHECKPOINT, ".tmp");
+        try{
+            try(FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE)){
+                DataOutputStream raw = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(out), BUFFER_SIZE));
+                CheckedOutputStream checked = new CheckedOutputStream(raw, new CRC32());
+                DataOutputStream data = new DataOutputStream(checked);
+                data.writeInt(CHECKPOINT_MAGIC);
+                data.writeInt(VERSION);
+                data.writeLong(generation);
+                data.writeLong(follows);
+                data.writeLong(offset);
+                data.writeInt(cursor);
+                data.writeInt(lines.length);
+                for(String line : lines){
+                    byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                    data.writeInt(bytes.length);
+                    data.write(bytes);
+                }
+                data.flush();
+                raw.writeInt((int) checked.getChecksum().getValue());
+                raw.flush();
+                out.force(false);
+            }
+            Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * It replaces the journal in the given directory by one following the given checkpoint
+     *
+     * @param directory The directory holding the journal
+     * @param generation The generation of the checkpoint the journal follows
+     * @param records The records made after the checkpoint was copied, written after the header
+     * @return The new journal, open for appending
+     * @throws IOException If the journal could not be written
+     */
+    private static FileChannel createJournal(Path directory, long generation, ByteBuffer records) throws IOException {
+        Path temporary = Files.createTempFile(directory, JOURNAL, ".tmp");
+        try{
+            try(FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE)){
+                ByteBuffer header = ByteBuffer.allocate(HEADER);
+                header.putInt(JOURNAL_MAGIC).putInt(VERSION).putLong(generation).flip();
+                while(header.hasRemaining()){
+                    out.write(header);
+                }
+                while(records.hasRemaining()){
+                    out.write(records);
+                }
+                out.force(false);
+            }
+            Path journal = directory.resolve(JOURNAL);
+            Files.move(temporary, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            return channel;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * It reads the generation of a checkpoint from its header
+     *
+     * @param checkpoint The checkpoint file
+     * @return The generation of the checkpoint
+     * @throws IOException If the file is missing or is not a checkpoint
+     */
+    private static long readCheckpointGeneration(Path checkpoint) throws IOException {
+        try(DataInputStream in = new DataInputStream(Files.newInputStream(checkpoint))){
+            if(in.readInt() != CHECKPOINT_MAGIC || in.readInt() != VERSION){
+                throw new IOException("Not a checkpoint: " + checkpoint);
+            }
+            return in.readLong();
+        }
+    }
+}
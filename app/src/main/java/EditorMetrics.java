@@ -0,0 +1,66 @@
+import list.ListMetrics;
+
+/**
+ * This interface receives what a MyTextEditor does: how long each of its operations takes and,
+ * through ListMetrics, the element moves and reallocations of the list holding its lines.
+ *
+ * An editor starts out reporting to NONE, which neither reads the clock nor records anything,
+ * so an editor without metrics pays nothing for them.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public interface EditorMetrics extends ListMetrics {
+
+    /**
+     * The operations of the editor that are timed
+     */
+    enum Operation {
+        INSERT_AFTER, INSERT_BEFORE, REPLACE, REMOVE, INSERT_LINES, REMOVE_LINES, REPLACE_ALL, SAVE, INSERT_TEXT, DELETE_TEXT
+    }
+
+    /**
+     * Metrics that ignore every event
+     */
+    EditorMetrics NONE = new EditorMetrics() {
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public void finish(Operation operation, long start) {
+        }
+
+        @Override
+        public void operationCompleted(Operation operation, long nanos) {
+        }
+    };
+
+    /**
+     * It is called when an operation starts
+     *
+     * @return The time the operation started at, to be passed to finish
+     */
+    default long start(){
+        return System.nanoTime();
+    }
+
+    /**
+     * It is called when an operation completed
+     *
+     * @param operation The operation
+     * @param start The value returned by start when the operation started
+     */
+    default void finish(Operation operation, long start){
+        operationCompleted(operation, System.nanoTime() - start);
+    }
+
+    /**
+     * It records that an operation completed
+     *
+     * @param operation The operation
+     * @param nanos The time the operation took, in nanoseconds
+     */
+    void operationCompleted(Operation operation, long nanos);
+}
@@ -0,0 +1,150 @@
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is the default EditorMetrics. It adds the events up in LongAdders and the latency
+ * of every operation in a LatencyHistogram, so recording is cheap and can be done from several
+ * threads, and it can be registered as an MBean to be read over JMX.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditorStatistics implements EditorMetrics, EditorStatisticsMBean {
+
+    /**
+     * The size of a reference in an array, as usually compressed on a 64 bit JVM
+     */
+    private static final int REFERENCE_BYTES = 4;
+
+    private final LongAdder elementsMoved = new LongAdder();
+    private final LongAdder capacityChanges = new LongAdder();
+    private final LongAdder elementsCopied = new LongAdder();
+    private final LongAdder positionsRenumbered = new LongAdder();
+    /**
+     * The latency of every operation, by ordinal
+     */
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+
+    /**
+     * It creates empty statistics
+     */
+    public EditorStatistics(){
+        for(int i = 0; i < latencies.length; i++){
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void elementsMoved(int count) {
+        elementsMoved.add(count);
+    }
+
+    @Override
+    public void capacityChanged(int oldCapacity, int newCapacity, int copied) {
+        capacityChanges.increment();
+        elementsCopied.add(copied);
+    }
+
+    @Override
+    public void positionsRenumbered(int count) {
+        positionsRenumbered.add(count);
+    }
+
+    @Override
+    public void operationCompleted(Operation operation, long nanos) {
+        latencies[operation.ordinal()].record(nanos);
+    }
+
+    /**
+     * It returns the latencies recorded for an operation
+     *
+     * @param operation The operation
+     * @return The histogram of its latencies
+     */
+    public LatencyHistogram latency(Operation operation){
+        return latencies[operation.ordinal()];
+    }
+
+    @Override
+    public long getElementsMoved() {
+        return elementsMoved.sum();
+    }
+
+    @Override
+    public long getCapacityChanges() {
+        return capacityChanges.sum();
+    }
+
+    @Override
+    public long getElementsCopiedOnResize() {
+        return elementsCopied.sum();
+    }
+
+    @Override
+    public long getBytesCopied() {
+        return (elementsMoved.sum() + elementsCopied.sum()) * REFERENCE_BYTES;
+    }
+
+    @Override
+    public long getPositionsRenumbered() {
+        return positionsRenumbered.sum();
+    }
+
+    @Override
+    public String[] getOperationSummary() {
+        Operation[] operations = Operation.values();
+        String[] summary = new String[operations.length];
+        for(int i = 0; i < operations.length; i++){
+            LatencyHistogram latency = latencies[i];
+            summary[i] = String.format("%s count=%d mean=%.0fns p50=%dns p99=%dns p99.9=%dns",
+                    operations[i], latency.count(), latency.mean(),
+                    latency.percentile(50), latency.percentile(99), latency.percentile(99.9));
+        }
+        return summary;
+    }
+
+    @Override
+    public long operationCount(String operation) {
+        return latency(Operation.valueOf(operation)).count();
+    }
+
+    @Override
+    public long latencyPercentile(String operation, double percentile) {
+        return latency(Operation.valueOf(operation)).percentile(percentile);
+    }
+
+    @Override
+    public void reset() {
+        elementsMoved.reset();
+        capacityChanges.reset();
+        elementsCopied.reset();
+        positionsRenumbered.reset();
+        for(LatencyHistogram latency : latencies){
+            latency.reset();
+        }
+    }
+
+    /**
+     * It registers the statistics with the platform MBean server, replacing any statistics
+     * registered under the same name
+     *
+     * @param name The name distinguishing these statistics from those of other editors
+     * @return The name the statistics are registered under
+     * @throws JMException If the statistics could not be registered
+     */
+    public ObjectName register(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("texteditor:type=EditorStatistics,name=" + ObjectName.quote(name));
+        try{
+            server.registerMBean(this, objectName);
+        } catch (InstanceAlreadyExistsException e){
+            server.unregisterMBean(objectName);
+            server.registerMBean(this, objectName);
+        }
+        return objectName;
+    }
+}
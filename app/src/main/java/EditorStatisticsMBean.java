@@ -0,0 +1,72 @@
+/**
+ * This interface is the management interface through which JMX exposes an EditorStatistics
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public interface EditorStatisticsMBean {
+
+    /**
+     * It returns the number of elements moved within the backing arrays of the lines
+     *
+     * @return The number of elements moved
+     */
+    long getElementsMoved();
+
+    /**
+     * It returns the number of times a backing array was reallocated
+     *
+     * @return The number of reallocations
+     */
+    long getCapacityChanges();
+
+    /**
+     * It returns the number of elements copied into reallocated backing arrays
+     *
+     * @return The number of elements copied
+     */
+    long getElementsCopiedOnResize();
+
+    /**
+     * It returns the number of bytes of references copied by moves and reallocations
+     *
+     * @return The number of bytes copied
+     */
+    long getBytesCopied();
+
+    /**
+     * It returns the number of positions renumbered while looking up indices
+     *
+     * @return The number of positions renumbered
+     */
+    long getPositionsRenumbered();
+
+    /**
+     * It returns one line per timed operation, with its count and latency percentiles
+     *
+     * @return The summary of the operations
+     */
+    String[] getOperationSummary();
+
+    /**
+     * It returns the number of times an operation completed
+     *
+     * @param operation The name of the operation, as in EditorMetrics.Operation
+     * @return The number of times it completed
+     */
+    long operationCount(String operation);
+
+    /**
+     * It returns a latency percentile of an operation
+     *
+     * @param operation The name of the operation, as in EditorMetrics.Operation
+     * @param percentile The percentile, between 0 and 100
+     * @return The latency in nanoseconds
+     */
+    long latencyPercentile(String operation, double percentile);
+
+    /**
+     * It forgets everything recorded so far
+     */
+    void reset();
+}
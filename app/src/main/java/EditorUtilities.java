@@ -1,6 +1,8 @@
+import list.MappedLineStore;
+import list.OffHeapLineStore;
+
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Objects;
@@ -42,8 +44,13 @@ public class EditorUtilities {
      */
     private static String[] readDocument(Path source) {
         try {
-            // Reads in pure lines without messy \r\n ending characters.
-            String[] lines = Files.readAllLines(source).toArray(String[]::new);
+            // Scans the mapped file for pure lines without messy \r\n ending characters,
+            // without collecting them in an intermediate list first.
+            MappedLineStore store = MappedLineStore.map(source, true);
+            String[] lines = new String[store.size()];
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = store.get(i);
+            }
             scrub(lines);
             return lines;
         } catch (IOException exception) {
@@ -54,6 +61,46 @@ public class EditorUtilities {
         return new String[]{};
     }
 
+    /**
+     * Utility method to map a document into a list of lines for the editor, without reading
+     * the whole file onto the heap. Unlike readResourceFile the lines are not trimmed.
+     *
+     * @param source The path to the source text file to map.
+     * @param decodeLazily Whether a line is only decoded into a String when it is first read.
+     * @return The lines of the mapped file.
+     * @throws IOException If the file could not be mapped.
+     */
+    public static MappedLineStore mapDocument(Path source, boolean decodeLazily) throws IOException {
+        return MappedLineStore.map(source, decodeLazily);
+    }
+
+    /**
+     * Utility method to map a document into a list of lines for the editor that decodes a line
+     * whenever it is read and keeps only the most recently read lines.
+     *
+     * @param source The path to the source text file to map.
+     * @param cacheSize The largest number of decoded lines kept.
+     * @return The lines of the mapped file.
+     * @throws IOException If the file could not be mapped.
+     */
+    public static MappedLineStore mapDocument(Path source, int cacheSize) throws IOException {
+        return MappedLineStore.map(source, cacheSize);
+    }
+
+    /**
+     * Utility method to read a document into a list of lines for the editor that keeps the
+     * text outside the Java heap, for documents too large to hold as Strings. The lines are
+     * not trimmed, and the list has to be closed, e.g. by closing the editor, to release its
+     * memory.
+     *
+     * @param source The path to the source text file to read.
+     * @return The lines of the read file.
+     * @throws IOException If the file could not be read.
+     */
+    public static OffHeapLineStore readDocumentOffHeap(Path source) throws IOException {
+        return OffHeapLineStore.read(source);
+    }
+
     /**
      * Purge the read is files from trailing whitespace at the end of some of the
      * lines. Technically the editor could adjust the lines to match the
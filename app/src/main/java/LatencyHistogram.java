@@ -0,0 +1,127 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts durations in buckets of logarithmically growing width, in the manner of
+ * HdrHistogram: every power of two is split into eight buckets, so a percentile is known to
+ * within 12.5% using a fixed array of counters, whatever the range of the durations. Recording
+ * is lock free and can be done from several threads at once.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of buckets every power of two is split into, as a power of two
+     */
+    private static final int SUB_BITS = 3;
+    /**
+     * The values below this one have a bucket each
+     */
+    private static final int LINEAR = 2 << SUB_BITS;
+    /**
+     * The number of buckets
+     */
+    private static final int BUCKETS = LINEAR + (63 - SUB_BITS - 1) * (1 << SUB_BITS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * It records a duration
+     *
+     * @param nanos The duration, in nanoseconds
+     */
+    public void record(long nanos){
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+    }
+
+    /**
+     * It returns the number of durations recorded
+     *
+     * @return The number of durations
+     */
+    public long count(){
+        return total.sum();
+    }
+
+    /**
+     * It returns the mean of the durations recorded
+     *
+     * @return The mean duration in nanoseconds, or 0 if none was recorded
+     */
+    public double mean(){
+        long count = count();
+        return (count == 0) ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * It returns the duration below which the given share of the recorded durations fall,
+     * rounded up to the upper bound of its bucket
+     *
+     * @param percentile The share of the durations, between 0 and 100
+     * @return The duration in nanoseconds, or 0 if none was recorded
+     */
+    public long percentile(double percentile){
+        long count = count();
+        if(count == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for(int bucket = 0; bucket < BUCKETS; bucket++){
+            seen += counts.get(bucket);
+            if(seen >= rank){
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * It forgets every duration recorded
+     */
+    public void reset(){
+        for(int bucket = 0; bucket < BUCKETS; bucket++){
+            counts.set(bucket, 0);
+        }
+        total.reset();
+        sum.reset();
+    }
+
+    /**
+     * It returns the bucket counting a value
+     *
+     * @param value The value, not negative
+     * @return The index of the bucket
+     */
+    static int bucketOf(long value){
+        if(value < LINEAR){
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * (1 << SUB_BITS) + sub;
+    }
+
+    /**
+     * It returns the largest value counted by a bucket
+     *
+     * @param bucket The index of the bucket
+     * @return The largest value of the bucket
+     */
+    static long upperBound(int bucket){
+        if(bucket < LINEAR){
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / (1 << SUB_BITS) + SUB_BITS + 1;
+        int sub = (bucket - LINEAR) % (1 << SUB_BITS);
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
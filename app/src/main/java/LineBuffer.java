@@ -0,0 +1,169 @@
+import java.util.Arrays;
+
+/**
+ * This class holds the text of the line being edited by a MyTextEditor as a gap buffer of
+ * characters: the characters before the gap are at the start of the array and those after it at
+ * the end, so inserting or deleting at the gap moves nothing, and moving the gap only moves the
+ * characters between the previous edit and the next one. Typing into a long line therefore
+ * costs in proportion to what is typed, not to the length of the line.
+ *
+ * The text is only turned into a String when it is read, by toString.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class LineBuffer {
+
+    /**
+     * The smallest gap left after the text when the buffer is loaded or grown
+     */
+    private static final int MIN_GAP = 16;
+
+    /**
+     * It stores the characters before the gap, the gap, and the characters after it
+     */
+    private char[] chars = new char[MIN_GAP];
+    /**
+     * The index of the first slot of the gap
+     */
+    private int gapStart;
+    /**
+     * The index of the first character after the gap
+     */
+    private int gapEnd = MIN_GAP;
+
+    /**
+     * It replaces the text of the buffer by the given line, keeping the array if it is large enough
+     *
+     * @param line The new text
+     */
+    public void load(String line){
+        int length = line.length();
+        if(chars.length < length + MIN_GAP){
+            chars = new char[length + Math.max(MIN_GAP, length >> 1)];
+        }
+        line.getChars(0, length, chars, 0);
+        gapStart = length;
+        gapEnd = chars.length;
+    }
+
+    /**
+     * It returns the number of characters of the text
+     *
+     * @return The length of the text
+     */
+    public int length(){
+        return chars.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * It inserts text so that its first character ends up at the given column
+     *
+     * @param column The column of the first inserted character
+     * @param text The characters to insert
+     * @throws IndexOutOfBoundsException If the column is negative or greater than length()
+     */
+    public void insert(int column, CharSequence text) throws IndexOutOfBoundsException {
+        checkColumn(column, length());
+        int count = text.length();
+        makeRoom(count);
+        moveGap(column);
+        if(text instanceof String){
+            ((String) text).getChars(0, count, chars, gapStart);
+        } else {
+            for(int index = 0; index < count; index++){
+                chars[gapStart + index] = text.charAt(index);
+            }
+        }
+        gapStart += count;
+    }
+
+    /**
+     * It deletes the characters in [column, column + count) by moving the gap to the column and
+     * widening it over them
+     *
+     * @param column The column of the first character to delete
+     * @param count The number of characters to delete
+     * @throws IndexOutOfBoundsException If the range is not within the text
+     */
+    public void delete(int column, int count) throws IndexOutOfBoundsException {
+        if(column < 0 || count < 0 || column + count > length() || column + count < 0){
+            throw new IndexOutOfBoundsException("Illegal range: [" + column + ", " + column + " + " + count + ")");
+        }
+        moveGap(column);
+        gapEnd += count;
+    }
+
+    /**
+     * It returns the character at the given column
+     *
+     * @param column The column of the character
+     * @return The character
+     * @throws IndexOutOfBoundsException If the column is negative or not less than length()
+     */
+    public char charAt(int column) throws IndexOutOfBoundsException {
+        checkColumn(column, length() - 1);
+        return column < gapStart ? chars[column] : chars[column + gapEnd - gapStart];
+    }
+
+    /**
+     * It turns the text into a String. The gap is moved to the end first, so that the text is
+     * copied once, from a single run of the array.
+     *
+     * @return The text of the buffer
+     */
+    public String toString(){
+        moveGap(length());
+        return new String(chars, 0, gapStart);
+    }
+
+    /**
+     * It checks that a column is in [0, last]
+     *
+     * @param column The column to check
+     * @param last The greatest valid column
+     * @throws IndexOutOfBoundsException If the column is not valid
+     */
+    private static void checkColumn(int column, int last) throws IndexOutOfBoundsException {
+        if(column < 0 || column > last){
+            throw new IndexOutOfBoundsException("Illegal column: " + column);
+        }
+    }
+
+    /**
+     * It moves the gap so that it starts at the given column, moving only the characters in between
+     *
+     * @param column The new start of the gap
+     */
+    private void moveGap(int column){
+        if(column < gapStart){
+            int count = gapStart - column;
+            System.arraycopy(chars, column, chars, gapEnd - count, count);
+            gapStart = column;
+            gapEnd -= count;
+        } else if(column > gapStart){
+            int count = column - gapStart;
+            System.arraycopy(chars, gapEnd, chars, gapStart, count);
+            gapStart = column;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * It grows the array, at most once, so that the gap holds at least the given number of characters
+     *
+     * @param count The number of characters about to be inserted
+     */
+    private void makeRoom(int count){
+        if(gapEnd - gapStart >= count){
+            return;
+        }
+        int length = length();
+        int capacity = Math.max(length + count + MIN_GAP, chars.length + (chars.length >> 1));
+        char[] grown = Arrays.copyOf(chars, capacity);
+        int tail = chars.length - gapEnd;
+        System.arraycopy(chars, gapEnd, grown, capacity - tail, tail);
+        gapEnd = capacity - tail;
+        chars = grown;
+    }
+}
@@ -0,0 +1,191 @@
+import java.util.Arrays;
+
+/**
+ * This class maps between the character offsets in the text of a MyTextEditor, as returned by
+ * toString, and its lines. It keeps the length of every line, plus one for its line break, in
+ * a Fenwick tree stored in a long array, so the offset of a line and the line at an offset are
+ * both found in O(log n) time and the length of the text is known at any time.
+ *
+ * Replacing a line updates the tree in O(log n). Inserting or removing lines shifts the lengths
+ * after them, like the lines themselves are shifted, and only marks the part of the tree after
+ * the change as stale; it is rebuilt in linear time the next time it is read.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class LineOffsetIndex implements DocumentObserver {
+
+    /**
+     * The length of every line plus its line break, from slot 1 on
+     */
+    private int[] weights;
+    /**
+     * The Fenwick tree over the weights, where slot i holds the sum of the weights in
+     * (i - lowestBit(i), i]
+     */
+    private long[] tree;
+    /**
+     * The number of lines
+     */
+    private int count;
+    /**
+     * The first slot of the tree that is not up to date
+     */
+    private int staleFrom;
+    /**
+     * The sum of all the weights
+     */
+    private long total;
+
+    /**
+     * It creates an index of the given lines
+     *
+     * @param lines The lines of the document
+     */
+    public LineOffsetIndex(String[] lines){
+        weights = new int[lines.length + 1];
+        tree = new long[lines.length + 1];
+        staleFrom = 1;
+        linesInserted(0, lines);
+    }
+
+    @Override
+    public void linesInserted(int index, String[] lines) {
+        makeRoom(lines.length);
+        System.arraycopy(weights, index + 1, weights, index + 1 + lines.length, count - index);
+        for(int i = 0; i < lines.length; i++){
+            weights[index + 1 + i] = lines[i].length() + 1;
+            total += lines[i].length() + 1;
+        }
+        count += lines.length;
+        staleFrom = Math.min(staleFrom, index + 1);
+    }
+
+    @Override
+    public void linesRemoved(int index, String[] lines) {
+        for(int i = 0; i < lines.length; i++){
+            total -= weights[index + 1 + i];
+        }
+        System.arraycopy(weights, index + 1 + lines.length, weights, index + 1, count - index - lines.length);
+        count -= lines.length;
+        staleFrom = Math.min(staleFrom, index + 1);
+    }
+
+    @Override
+    public void lineReplaced(int index, String previous, String replacement) {
+        int slot = index + 1;
+        int delta = replacement.length() + 1 - weights[slot];
+        weights[slot] += delta;
+        total += delta;
+        if(slot < staleFrom){
+            for(int i = slot; i < staleFrom; i += i & -i){
+                tree[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * It returns the number of characters of the text, line breaks included
+     *
+     * @return The length of the text
+     */
+    public long length(){
+        return Math.max(0, total - 1);
+    }
+
+    /**
+     * It returns the offset in the text of the first character of a line
+     *
+     * @param line The index of the line, or size() for the end of the text
+     * @return The offset of the line
+     * @throws IndexOutOfBoundsException If the index is negative or greater than size()
+     */
+    public long offsetOf(int line) throws IndexOutOfBoundsException {
+        if(line < 0 || line > count){
+            throw new IndexOutOfBoundsException("Line does not exist: " + line);
+        }
+        if(line == count){
+            return length();
+        }
+        refresh();
+        long offset = 0;
+        for(int i = line; i > 0; i -= i & -i){
+            offset += tree[i];
+        }
+        return offset;
+    }
+
+    /**
+     * It returns the line holding the character at the given offset in the text. The line
+     * break after a line belongs to the line, and the end of the text to the last line.
+     *
+     * @param offset The offset of the character
+     * @return The index of the line
+     * @throws IndexOutOfBoundsException If the offset is negative or greater than length()
+     */
+    public int lineAt(long offset) throws IndexOutOfBoundsException {
+        if(offset < 0 || offset > length() || count == 0){
+            throw new IndexOutOfBoundsException("Offset out of the text: " + offset);
+        }
+        refresh();
+        // Find the largest slot whose prefix sum does not exceed the offset
+        int slot = 0;
+        long remaining = offset;
+        for(int step = Integer.highestOneBit(count); step > 0; step >>= 1){
+            if(slot + step <= count && tree[slot + step] <= remaining){
+                slot += step;
+                remaining -= tree[slot];
+            }
+        }
+        return Math.min(slot, count - 1);
+    }
+
+    /**
+     * It returns the column of the character at the given offset in its line
+     *
+     * @param offset The offset of the character
+     * @return The index of the character in its line
+     * @throws IndexOutOfBoundsException If the offset is negative or greater than length()
+     */
+    public int columnAt(long offset) throws IndexOutOfBoundsException {
+        return (int) (offset - offsetOf(lineAt(offset)));
+    }
+
+    /**
+     * It returns the number of lines indexed
+     *
+     * @return The number of lines
+     */
+    public int size(){
+        return count;
+    }
+
+    /**
+     * It rebuilds the stale part of the tree. Every slot is the weight at the slot plus the
+     * slots it covers, which all come before it and so are up to date by the time it is reached.
+     */
+    private void refresh(){
+        for(int i = staleFrom; i <= count; i++){
+            long sum = weights[i];
+            int lowest = i & -i;
+            for(int child = 1; child < lowest; child <<= 1){
+                sum += tree[i - child];
+            }
+            tree[i] = sum;
+        }
+        staleFrom = count + 1;
+    }
+
+    /**
+     * It grows the arrays, at most once, so that the given number of lines more fit
+     *
+     * @param extra The number of lines to make room for
+     */
+    private void makeRoom(int extra){
+        if(count + extra + 1 > weights.length){
+            int capacity = Math.max(2 * weights.length, count + extra + 1);
+            weights = Arrays.copyOf(weights, capacity);
+            tree = Arrays.copyOf(tree, capacity);
+        }
+    }
+}
@@ -1,4 +1,17 @@
-import list.ArraySequence;
+import list.FlatArraySequence;
+import list.List;
+import list.OffHeapLineStore;
+import list.PersistentSequence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
 
 /**
  * This class implements the interface SimpleTextEditor to create the editor
@@ -6,23 +19,120 @@ import list.ArraySequence;
  * @version 1.0.0, 18th November 2023
  * @author Shivanshu Dwivedi
  */
-public class MyTextEditor implements SimpleTextEditor {
+public class MyTextEditor implements SimpleTextEditor, AutoCloseable {
 
     /**
-     * It declares an instance of the class ArraySequence
+     * It stores the lines of the document, by default in a FlatArraySequence
      */
-    private ArraySequence<String> lineStr;
+    private List<String> lineStr;
     /**
      * It stores the location of the cursor
      */
     private int cursor;
+    /**
+     * It stores the components that follow every change made to the lines
+     */
+    private final ArrayList<DocumentObserver> observers = new ArrayList<>();
+    /**
+     * It stores the dispatchers handing the changes to the registered DocumentListeners
+     */
+    private final ArrayList<ChangeDispatcher> dispatchers = new ArrayList<>();
+    /**
+     * It stores the dispatchers held until the outermost batch of changes ends
+     */
+    private final ArrayList<ChangeDispatcher> held = new ArrayList<>();
+    /**
+     * It counts the batches of changes the editor is in
+     */
+    private int batches;
+    /**
+     * It writes the document to disk and tracks the changes made since the last save
+     */
+    private final DocumentSaver saver;
+    /**
+     * It records the changes that can be undone, or is null while undo is not enabled
+     */
+    private UndoHistory history;
+    /**
+     * It indexes the lines for searching, or is null while search is not enabled
+     */
+    private SearchIndex search;
+    /**
+     * It maps between character offsets and lines, or is null until it is first needed
+     */
+    private LineOffsetIndex offsets;
+    /**
+     * It receives the latency of the operations and the events of the lines
+     */
+    private EditorMetrics metrics = EditorMetrics.NONE;
+    /**
+     * It counts the characters of all the lines, line breaks excluded, with the line edited
+     * character by character as it is in the buffer, or is -1 until length is first called.
+     * It is not counted when the editor is created, as that would read every line of a store
+     * that loads its lines lazily; once counted, it is only changed by the edits.
+     */
+    private long characters = -1;
+    /**
+     * It holds the text of the line edited character by character, or is null until such an edit
+     */
+    private LineBuffer buffer;
+    /**
+     * It stores the index of the line whose text is in the buffer and not yet in the store, or -1
+     */
+    private int bufferedLine = -1;
+    /**
+     * It stores the column of the cursor, which is kept when the cursor moves to another line
+     * and clamped to the length of the line it is on
+     */
+    private int column;
+    /**
+     * It records the changes in a write-ahead journal, or is null while journaling is not enabled
+     */
+    private EditJournal journal;
+    /**
+     * It tells whether replaceRuns is telling the observers of its runs, while the store already
+     * holds the lines of all of them
+     */
+    private boolean splicing;
 
     /**
      * It creates an instance of the class MyTextEditor
      */
     public MyTextEditor(){
-        lineStr = new ArraySequence<>();
-        cursor = -1;
+        this(new FlatArraySequence<>());
+    }
+
+    /**
+     * It creates an instance of the class MyTextEditor with room for the given number of lines,
+     * so that loading a document whose line count is known does not grow the store line by line
+     *
+     * @param expectedLines The number of lines the editor holds without growing its store
+     */
+    public MyTextEditor(int expectedLines){
+        this(new FlatArraySequence<>(expectedLines));
+    }
+
+    /**
+     * It creates an instance of the class MyTextEditor holding the given lines, with the cursor
+     * at the first of them. The store is sized to the document in a single allocation.
+     *
+     * @param lines The lines of the document
+     */
+    public MyTextEditor(String[] lines){
+        this(loaded(lines));
+    }
+
+    /**
+     * It creates an instance of the class MyTextEditor that keeps its lines in the given list,
+     * e.g. a GapBufferList to make editing around the cursor cheap on large documents
+     *
+     * @param lineStore The list used to store the lines of the document
+     */
+    public MyTextEditor(List<String> lineStore){
+        lineStr = lineStore;
+        cursor = lineStore.isEmpty() ? -1 : 0;
+        saver = new DocumentSaver(lineStore);
+        addObserver(saver);
     }
     @Override
     public boolean isEmpty() {
@@ -74,45 +184,1116 @@ public class MyTextEditor implements SimpleTextEditor {
 
     @Override
     public void insertAfterCursor(String insertion) {
+        freezeLine();
+        long start = metrics.start();
         lineStr.add(cursor + 1, insertion);
         cursorDown();
+        fireInserted(cursor, new String[]{insertion});
+        metrics.finish(EditorMetrics.Operation.INSERT_AFTER, start);
     }
 
     @Override
     public void insertBeforeCursor(String insertion) {
+        freezeLine();
+        long start = metrics.start();
         lineStr.add(cursor-1, insertion);
         cursorUp();
+        fireInserted(cursor, new String[]{insertion});
+        metrics.finish(EditorMetrics.Operation.INSERT_BEFORE, start);
     }
 
     @Override
     public String getAtCursor() {
-        return lineStr.get(cursor);
+        return line(cursor);
     }
 
     @Override
     public void replaceAtCursor(String replacement) {
-        lineStr.set(cursor, replacement);
+        freezeLine();
+        long start = metrics.start();
+        String previous = lineStr.set(cursor, replacement);
+        fireReplaced(cursor, previous, replacement);
+        metrics.finish(EditorMetrics.Operation.REPLACE, start);
     }
 
     @Override
     public void removeAtCursor() {
-        lineStr.remove(cursor);
+        freezeLine();
+        long start = metrics.start();
+        int line = cursor;
+        String removed = lineStr.remove(cursor);
         if(cursor == lineStr.size() && cursor != 0){
             cursor--;
         }
+        fireRemoved(line, new String[]{removed});
+        metrics.finish(EditorMetrics.Operation.REMOVE, start);
+    }
+
+    /**
+     * It returns the column of the cursor in the line it is on, from 0 before the first character
+     * to the length of the line after the last one
+     *
+     * @return The column of the cursor, or 0 if the document is empty
+     */
+    public int cursorColumnNum(){
+        return cursor < 0 ? 0 : Math.min(column, lineLength());
+    }
+
+    /**
+     * It moves the cursor to the given column of the line it is on
+     *
+     * @param column The new column of the cursor
+     * @throws IndexOutOfBoundsException If the column is negative or greater than the length of the line
+     */
+    public void moveCursorToColumn(int column) throws IndexOutOfBoundsException {
+        if(cursor < 0 || column < 0 || column > lineLength()){
+            throw new IndexOutOfBoundsException("Column does not exist");
+        }
+        this.column = column;
+    }
+
+    /**
+     * It inserts text into the line at the cursor so that its first character ends up at the
+     * given column, and moves the column of the cursor after it. The line is edited in a
+     * LineBuffer and only written back to the store when the document is otherwise changed,
+     * saved or closed, so the cost of a keystroke does not depend on the length of the line.
+     * Reading the line builds its text from the buffer instead. All the edits made to a line
+     * in this way until then are undone as a single change.
+     *
+     * @param column The column of the first inserted character
+     * @param text The text to insert, which must not contain a line break
+     * @throws IndexOutOfBoundsException If the document is empty or the column is negative or
+     *                                   greater than the length of the line
+     */
+    public void insertAt(int column, String text) throws IndexOutOfBoundsException {
+        long start = metrics.start();
+        if(text.indexOf('\n') >= 0){
+            throw new IllegalArgumentException("Text inserted into a line cannot contain a line break");
+        }
+        LineBuffer line = editedLine();
+        int previousLength = line.length();
+        line.insert(column, text);
+        this.column = column + text.length();
+        countCharacters(line.length() - previousLength);
+        dispatch(cursor, 1, 1, previousLength, line.length());
+        metrics.finish(EditorMetrics.Operation.INSERT_TEXT, start);
+    }
+
+    /**
+     * It deletes the given number of characters from the line at the cursor, starting at the
+     * given column, and moves the column of the cursor there. Like insertAt, it does not turn
+     * the line into a String.
+     *
+     * @param column The column of the first character to delete
+     * @param length The number of characters to delete
+     * @throws IndexOutOfBoundsException If the document is empty or the characters are not all
+     *                                   within the line
+     */
+    public void deleteRange(int column, int length) throws IndexOutOfBoundsException {
+        long start = metrics.start();
+        LineBuffer line = editedLine();
+        int previousLength = line.length();
+        line.delete(column, length);
+        this.column = column;
+        countCharacters(line.length() - previousLength);
+        dispatch(cursor, 1, 1, previousLength, line.length());
+        metrics.finish(EditorMetrics.Operation.DELETE_TEXT, start);
+    }
+
+    /**
+     * It returns the length of the line at the cursor, reading it from the buffer if it is there
+     *
+     * @return The number of characters of the line
+     */
+    private int lineLength(){
+        return bufferedLine == cursor ? buffer.length() : lineStr.get(cursor).length();
+    }
+
+    /**
+     * It returns the buffer holding the line at the cursor, first writing back the line it held
+     * if that is another one, and loading the line at the cursor into it
+     *
+     * @return The buffer of the line at the cursor
+     * @throws IndexOutOfBoundsException If the document is empty
+     */
+    private LineBuffer editedLine() throws IndexOutOfBoundsException {
+        if(cursor < 0){
+            throw new IndexOutOfBoundsException("The document is empty");
+        }
+        if(bufferedLine != cursor){
+            freezeLine();
+            if(buffer == null){
+                buffer = new LineBuffer();
+            }
+            buffer.load(lineStr.get(cursor));
+            bufferedLine = cursor;
+        }
+        return buffer;
+    }
+
+    /**
+     * It returns the line at the given index, reading it from the buffer if it is the line
+     * edited character by character, so that reading never writes the buffer back
+     *
+     * @param index The index of the line
+     * @return The text of the line
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    private String line(int index) throws IndexOutOfBoundsException {
+        return (bufferedLine >= 0 && index == bufferedLine) ? buffer.toString() : lineStr.get(index);
+    }
+
+    /**
+     * It returns the number of characters the line edited character by character gained since
+     * it was loaded into the buffer
+     *
+     * @return The difference in length between the buffer and the stored line, or 0 if no line is buffered
+     */
+    private int bufferedGrowth(){
+        return bufferedLine < 0 ? 0 : buffer.length() - lineStr.get(bufferedLine).length();
+    }
+
+    /**
+     * It writes the line edited character by character back to the store as a String, if there
+     * is one, and tells the observers that it was replaced. Every operation that changes the
+     * lines, saves them or hands them to a component calls it first, so none of them sees the
+     * buffer; the reads take the line from the buffer instead, so they never write. The
+     * listeners are not told again, as they were told of every edit made to the buffer, and
+     * the characters were counted as they were typed.
+     */
+    void freezeLine(){
+        if(bufferedLine < 0){
+            return;
+        }
+        int line = bufferedLine;
+        bufferedLine = -1;
+        String text = buffer.toString();
+        String previous = lineStr.set(line, text);
+        notifyReplaced(line, previous, text);
+    }
+
+    /**
+     * It inserts the given lines after the cursor with a single shift of the following lines,
+     * moving the cursor to the last line inserted
+     *
+     * @param insertion The lines to be inserted
+     */
+    public void insertLinesAfterCursor(String[] insertion){
+        freezeLine();
+        long start = metrics.start();
+        insertLines(cursor + 1, insertion.clone());
+        cursor += insertion.length;
+        metrics.finish(EditorMetrics.Operation.INSERT_LINES, start);
+    }
+
+    /**
+     * It removes the lines in [from, to) with a single shift of the following lines. The cursor
+     * keeps pointing at the same line if that line survives, otherwise it moves to the line that
+     * followed the removed ones, or to the new last line
+     *
+     * @param from The first line to remove
+     * @param to The line after the last line to remove
+     * @throws IndexOutOfBoundsException If the range is not within the document
+     */
+    public void removeLines(int from, int to) throws IndexOutOfBoundsException {
+        freezeLine();
+        long start = metrics.start();
+        String[] removed = copyLines(from, to);
+        lineStr.removeRange(from, to);
+        if(cursor >= to){
+            cursor -= to - from;
+        } else if(cursor > from){
+            cursor = from;
+        }
+        if(cursor >= lineStr.size()){
+            cursor = lineStr.size() - 1;
+        }
+        fireRemoved(from, removed);
+        metrics.finish(EditorMetrics.Operation.REMOVE_LINES, start);
+    }
+
+    /**
+     * It writes the whole document to the given file as UTF-8, in the same format as toString,
+     * without building the text in memory. The file is replaced atomically.
+     *
+     * @param target The file to write
+     * @throws IOException If the file could not be written
+     */
+    public void save(Path target) throws IOException {
+        freezeLine();
+        long start = metrics.start();
+        saver.save(target);
+        metrics.finish(EditorMetrics.Operation.SAVE, start);
+    }
+
+    /**
+     * It writes the document to the given file, rewriting only what changed since the last save
+     * if the file is the one last saved to. Lines replaced by text of the same encoded length are
+     * patched in place; otherwise the file is rewritten from the first changed line on and
+     * replaced atomically.
+     *
+     * @param target The file to write
+     * @throws IOException If the file could not be written
+     */
+    public void saveIncremental(Path target) throws IOException {
+        freezeLine();
+        long start = metrics.start();
+        saver.saveIncremental(target);
+        metrics.finish(EditorMetrics.Operation.SAVE, start);
+    }
+
+    /**
+     * It tells whether the document changed since it was last saved
+     *
+     * @return true if there are unsaved changes and false otherwise
+     */
+    public boolean isModified(){
+        return bufferedLine >= 0 || saver.isModified();
+    }
+
+    /**
+     * It starts recording every change made to the lines in a journal in the given directory,
+     * with the default settings, so that the document can be recovered after a crash
+     *
+     * @param directory The directory to keep the checkpoint and the journal in
+     * @return The journal
+     * @throws IOException If the journal could not be written
+     * @see #enableJournal(Path, long, long)
+     */
+    public EditJournal enableJournal(Path directory) throws IOException {
+        return enableJournal(directory, EditJournal.DEFAULT_SYNC_INTERVAL_MILLIS, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * It starts recording every change made to the lines in a journal in the given directory,
+     * so that recover can rebuild the document after a crash. A checkpoint of the document as
+     * it is now is written first, replacing any journal already in the directory. A line edited
+     * character by character is journaled once it is written back to the store.
+     *
+     * @param directory The directory to keep the checkpoint and the journal in, created if needed
+     * @param syncIntervalMillis The interval at which the changes are forced to disk together,
+     *                           or 0 to force them one by one
+     * @param checkpointBytes The size the journal may reach before a new checkpoint is taken
+     * @return The journal, or the journal already enabled
+     * @throws IOException If the journal could not be written
+     */
+    public EditJournal enableJournal(Path directory, long syncIntervalMillis, long checkpointBytes) throws IOException {
+        if(journal == null){
+            freezeLine();
+            attachJournal(EditJournal.create(this, directory, syncIntervalMillis, checkpointBytes));
+        }
+        return journal;
+    }
+
+    /**
+     * It rebuilds the document journaled in the given directory, with the default settings
+     *
+     * @param directory The directory holding the checkpoint and the journal
+     * @return The editor holding the document, which keeps journaling to the directory
+     * @throws IOException If the checkpoint is missing or damaged, or the files could not be read
+     * @see #recover(Path, long, long)
+     */
+    public static MyTextEditor recover(Path directory) throws IOException {
+        return recover(directory, EditJournal.DEFAULT_SYNC_INTERVAL_MILLIS, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * It rebuilds the document journaled in the given directory by enableJournal, as it was at
+     * the last change forced to disk, by reading the last checkpoint and replaying the journal
+     * written after it. The editor returned keeps journaling to the same directory.
+     *
+     * @param directory The directory holding the checkpoint and the journal
+     * @param syncIntervalMillis The interval at which the changes are forced to disk together,
+     *                           or 0 to force them one by one
+     * @param checkpointBytes The size the journal may reach before a new checkpoint is taken
+     * @return The editor holding the document, with the cursor where it was at the last change
+     * @throws IOException If the checkpoint is missing or damaged, or the files could not be read
+     */
+    public static MyTextEditor recover(Path directory, long syncIntervalMillis, long checkpointBytes) throws IOException {
+        return EditJournal.recover(directory, syncIntervalMillis, checkpointBytes);
+    }
+
+    /**
+     * It makes the given journal record the changes made to the lines from now on
+     *
+     * @param journal The journal, whose checkpoint holds the document as it is now
+     */
+    void attachJournal(EditJournal journal){
+        this.journal = journal;
+        addObserver(journal);
+    }
+
+    /**
+     * It starts recording the changes made to the lines so that they can be undone, keeping at
+     * most about the given number of bytes of history. The oldest changes are forgotten first.
+     *
+     * @param maxHistoryBytes The memory budget of the history
+     */
+    public void enableUndo(long maxHistoryBytes){
+        freezeLine();
+        if(history == null){
+            history = new UndoHistory(this, maxHistoryBytes);
+            addObserver(history);
+        }
+    }
+
+    /**
+     * It reverts the most recent change that was not undone yet
+     *
+     * @return true if a change was undone and false if there was nothing to undo
+     */
+    public boolean undo(){
+        freezeLine();
+        return history != null && history.undo();
+    }
+
+    /**
+     * It applies again the most recently undone change
+     *
+     * @return true if a change was redone and false if there was nothing to redo
+     */
+    public boolean redo(){
+        freezeLine();
+        return history != null && history.redo();
+    }
+
+    /**
+     * It starts keeping a trigram index of the lines, which is then updated on every change, so
+     * that searching does not have to read every line. A line edited character by character is
+     * indexed once it is written back, which findNext does before it searches.
+     *
+     * @return The index of the lines
+     */
+    public SearchIndex enableSearch(){
+        freezeLine();
+        if(search == null){
+            search = new SearchIndex(copyLines(0, lineStr.size()));
+            addObserver(search);
+        }
+        return search;
+    }
+
+    /**
+     * It moves the cursor to the next line after it that contains the given String
+     *
+     * @param text The String to look for
+     * @return true if such a line was found and false otherwise, in which case the cursor stays
+     */
+    public boolean findNext(String text){
+        freezeLine();
+        int found = -1;
+        if(search != null){
+            found = search.findNext(text, cursor + 1);
+        } else {
+            for(int index = cursor + 1; index < lineStr.size() && found < 0; index++){
+                if(lineStr.get(index).contains(text)){
+                    found = index;
+                }
+            }
+        }
+        if(found < 0){
+            return false;
+        }
+        cursor = found;
+        return true;
+    }
+
+    /**
+     * It replaces every match of the regular expression in every line, computing the new lines
+     * on the common ForkJoinPool
+     *
+     * @param pattern The regular expression to replace
+     * @param replacement The replacement, which may refer to groups as in Matcher.replaceAll
+     * @return The indices of the lines that changed, in increasing order
+     */
+    public int[] replaceAll(Pattern pattern, String replacement){
+        return replaceAll(pattern, replacement, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * It replaces every match of the regular expression in every line. The lines are split into
+     * chunks whose new text is computed by the given number of threads, and the changed lines
+     * are then written back in one batch, which is undone as a single change.
+     *
+     * @param pattern The regular expression to replace
+     * @param replacement The replacement, which may refer to groups as in Matcher.replaceAll
+     * @param parallelism The number of threads to use
+     * @return The indices of the lines that changed, in increasing order
+     */
+    public int[] replaceAll(Pattern pattern, String replacement, int parallelism){
+        freezeLine();
+        long start = metrics.start();
+        String[] lines = copyLines(0, lineStr.size());
+        String[] results = new String[lines.length];
+        ReplaceTask task = new ReplaceTask(pattern, replacement, lines, results, 0, lines.length);
+        if(parallelism == ForkJoinPool.getCommonPoolParallelism()){
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try{
+                pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        EditBatch batch = beginBatch();
+        int[] changed = new int[16];
+        int count = 0;
+        for(int index = 0; index < results.length; index++){
+            if(results[index] != null){
+                batch.replace(index, results[index]);
+                if(count == changed.length){
+                    changed = Arrays.copyOf(changed, 2 * count);
+                }
+                changed[count++] = index;
+            }
+        }
+        batch.commit();
+        metrics.finish(EditorMetrics.Operation.REPLACE_ALL, start);
+        return Arrays.copyOf(changed, count);
+    }
+
+    /**
+     * It returns a read-only copy of the lines as they are now, which later edits do not affect.
+     * If the lines are kept in a PersistentSequence the copy shares them and takes constant time,
+     * otherwise every line is copied.
+     *
+     * @return The frozen lines of the document
+     */
+    public PersistentSequence<String> snapshot(){
+        freezeLine();
+        if(lineStr instanceof PersistentSequence<String> persistent){
+            return persistent.snapshot();
+        }
+        PersistentSequence<String> copy = new PersistentSequence<>();
+        copy.addAll(0, copyLines(0, lineStr.size()));
+        return copy.snapshot();
+    }
+
+    /**
+     * It returns the number of characters of the document as returned by toString, line breaks
+     * included. The first call reads every line to count their characters, which the edits
+     * then keep up to date.
+     *
+     * @return The length of the text
+     */
+    public long length(){
+        if(characters < 0){
+            long count = 0;
+            for(int index = 0; index < lineStr.size(); index++){
+                count += line(index).length();
+            }
+            characters = count;
+        }
+        return characters + Math.max(0, lineStr.size() - 1);
+    }
+
+    /**
+     * It returns the offset in the text of the first character of a line
+     *
+     * @param line The index of the line, or size() for the end of the text
+     * @return The offset of the line
+     * @throws IndexOutOfBoundsException If the index is negative or greater than size()
+     */
+    public long offsetOf(int line) throws IndexOutOfBoundsException {
+        long offset = offsets().offsetOf(line);
+        return line > bufferedLine ? offset + bufferedGrowth() : offset;
+    }
+
+    /**
+     * It returns the line holding the character at the given offset in the text, where the
+     * line break after a line belongs to that line
+     *
+     * @param offset The offset of the character
+     * @return The index of the line
+     * @throws IndexOutOfBoundsException If the offset is negative or greater than length()
+     */
+    public int lineAt(long offset) throws IndexOutOfBoundsException {
+        LineOffsetIndex index = offsets();
+        if(bufferedLine < 0){
+            return index.lineAt(offset);
+        }
+        // The index follows the store, so the offsets after the buffered line are shifted back
+        if(offset < 0 || offset > length()){
+            throw new IndexOutOfBoundsException("Offset is not in the text: " + offset);
+        }
+        long start = index.offsetOf(bufferedLine);
+        if(offset < start){
+            return index.lineAt(offset);
+        }
+        if(offset <= start + buffer.length()){
+            return bufferedLine;
+        }
+        return index.lineAt(offset - bufferedGrowth());
+    }
+
+    /**
+     * It returns the index mapping offsets to lines, creating it the first time it is needed.
+     * Like the store it follows, it does not include the line edited character by character.
+     *
+     * @return The index of the line offsets
+     */
+    private LineOffsetIndex offsets(){
+        if(offsets == null){
+            offsets = new LineOffsetIndex(copyLines(0, lineStr.size()));
+            addObserver(offsets);
+        }
+        return offsets;
+    }
+
+    /**
+     * It returns a window of the given number of rows on the document, starting at the given
+     * line. The window reads its lines from the editor rather than copying them, follows the
+     * changes made to the document and reports, frame by frame, only the rows that have to be
+     * drawn again. It has to be closed once it is no longer used.
+     *
+     * @param startLine The line at the top of the window, which has to be 0 for an empty document
+     * @param count The number of rows of the window
+     * @return The new window, whose first frame reports every row as changed
+     * @throws IndexOutOfBoundsException If the line does not exist
+     * @throws IllegalArgumentException If the number of rows is not positive
+     */
+    public Viewport view(int startLine, int count) throws IndexOutOfBoundsException, IllegalArgumentException {
+        if(startLine < 0 || startLine > Math.max(0, lineStr.size() - 1)){
+            throw new IndexOutOfBoundsException("Line does not exist");
+        }
+        if(count <= 0){
+            throw new IllegalArgumentException("A viewport needs at least one row");
+        }
+        Viewport viewport = new Viewport(this, startLine, count);
+        addObserver(viewport);
+        return viewport;
+    }
+
+    /**
+     * It registers a listener that is told of every change made to the lines, on the thread that
+     * made it, as soon as it is made or, within coalesceChanges, once the batch ends
+     *
+     * @param listener The listener to notify
+     */
+    public void addChangeListener(DocumentListener listener){
+        addChangeListener(listener, Runnable::run);
+    }
+
+    /**
+     * It registers a listener that is told of the changes made to the lines on the given
+     * executor, so that editing never waits for it. The changes made while a notification is
+     * waiting to run, or while the listener runs, are merged into the next one, so a burst of
+     * edits results in a single call. The listener is never called by two threads at once.
+     *
+     * @param listener The listener to notify
+     * @param executor The executor running the notifications, e.g. a single thread executor
+     */
+    public void addChangeListener(DocumentListener listener, Executor executor){
+        ChangeDispatcher dispatcher = new ChangeDispatcher(listener, executor);
+        if(batches > 0){
+            dispatcher.hold();
+            held.add(dispatcher);
+        }
+        dispatchers.add(dispatcher);
+    }
+
+    /**
+     * It stops telling a listener of the changes. The changes it was not yet told of are still
+     * delivered if their notification was already handed to its executor.
+     *
+     * @param listener The listener registered with addChangeListener
+     */
+    public void removeChangeListener(DocumentListener listener){
+        for(int index = 0; index < dispatchers.size(); index++){
+            if(dispatchers.get(index).listener() == listener){
+                dispatchers.remove(index);
+                return;
+            }
+        }
+    }
+
+    /**
+     * It runs the given edits as one batch of changes: the listeners are told of all of them
+     * together once they are all done, in a single call each
+     *
+     * @param edits The edits to make
+     */
+    public void coalesceChanges(Runnable edits){
+        holdChanges();
+        ChangeDispatcher[] release;
+        try{
+            edits.run();
+        } finally {
+            release = endHold();
+        }
+        for(ChangeDispatcher dispatcher : release){
+            dispatcher.release();
+        }
+    }
+
+    /**
+     * It starts a batch of changes, during which the listeners are told of nothing. Every call
+     * has to be followed by a call to endHold.
+     */
+    void holdChanges(){
+        if(batches++ == 0){
+            for(ChangeDispatcher dispatcher : dispatchers){
+                dispatcher.hold();
+                held.add(dispatcher);
+            }
+        }
+    }
+
+    /**
+     * It ends a batch of changes. If it was the outermost one, it returns the dispatchers that
+     * were held, whose release delivers the changes of the batch. It is left to the caller, so
+     * that a ConcurrentTextEditor can release them once its lock is no longer held, and a
+     * listener can read the document back.
+     *
+     * @return The dispatchers to release, or an empty array if the batch is nested in another
+     */
+    ChangeDispatcher[] endHold(){
+        if(--batches > 0){
+            return new ChangeDispatcher[0];
+        }
+        ChangeDispatcher[] release = held.toArray(new ChangeDispatcher[0]);
+        held.clear();
+        return release;
+    }
 
+    /**
+     * It starts a batch of edits that are queued and then applied to the document together by
+     * EditBatch.commit, with the lines of the edits numbered as the document is now
+     *
+     * @return The new, empty batch
+     */
+    public EditBatch beginBatch(){
+        return new EditBatch(this);
+    }
+
+    /**
+     * It tells whether there is a change to undo
+     *
+     * @return true if undo() would change the document and false otherwise
+     */
+    public boolean canUndo(){
+        return history != null && (bufferedLine >= 0 || history.canUndo());
+    }
+
+    /**
+     * It releases the room the store of lines reserved beyond the lines it holds, e.g. after
+     * most of a large document was deleted
+     */
+    public void trimToSize(){
+        freezeLine();
+        lineStr.trimToSize();
+    }
+
+    /**
+     * It writes back the line edited character by character, closes the journal, if one is
+     * enabled, and releases the memory held outside the heap by the store of lines, if it is
+     * an OffHeapLineStore. The editor cannot be used afterwards with such a store; with any
+     * other store it is only no longer journaled.
+     *
+     * @throws UncheckedIOException If the journal could not be written
+     */
+    @Override
+    public void close(){
+        try{
+            freezeLine();
+            if(journal != null){
+                EditJournal closing = journal;
+                journal = null;
+                closing.close();
+            }
+        } catch (IOException e){
+            throw new UncheckedIOException("The journal could not be closed", e);
+        } finally {
+            bufferedLine = -1;
+            if(lineStr instanceof OffHeapLineStore){
+                ((OffHeapLineStore) lineStr).close();
+            }
+        }
+    }
 
+    /**
+     * It makes the editor report the latency of its edits and saves, and the work done by its
+     * list of lines, to the given metrics. EditorMetrics.NONE, the default, reports nothing.
+     *
+     * @param metrics The receiver of the measurements, e.g. an EditorStatistics
+     */
+    public void setMetrics(EditorMetrics metrics){
+        this.metrics = metrics;
+        lineStr.setMetrics(metrics);
+    }
+
+    /**
+     * It tells whether there is a change to redo
+     *
+     * @return true if redo() would change the document and false otherwise
+     */
+    public boolean canRedo(){
+        // Writing the buffered line back records a change, which makes the undone ones unreachable
+        return history != null && bufferedLine < 0 && history.canRedo();
+    }
+
+    /**
+     * It returns the line at the given index, wherever the cursor is
+     *
+     * @param index The index of the line
+     * @return The text of the line
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    String getLine(int index) throws IndexOutOfBoundsException {
+        return line(index);
+    }
+
+    /**
+     * It inserts lines so that the first of them ends up at the given index, without moving the cursor
+     *
+     * @param index The index of the first inserted line
+     * @param lines The lines to insert, which must not be changed afterwards
+     * @throws IndexOutOfBoundsException If the index is negative or greater than size()
+     */
+    void insertLines(int index, String[] lines) throws IndexOutOfBoundsException {
+        freezeLine();
+        lineStr.addAll(index, lines);
+        fireInserted(index, lines);
+    }
+
+    /**
+     * It replaces the line at the given index, without moving the cursor
+     *
+     * @param index The index of the line
+     * @param line The new text of the line
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    void replaceLine(int index, String line) throws IndexOutOfBoundsException {
+        freezeLine();
+        String previous = lineStr.set(index, line);
+        fireReplaced(index, previous, line);
+    }
+
+    /**
+     * It replaces the lines in [from, to) by the given lines with a single shift of the
+     * following lines, without moving the cursor
+     *
+     * @param from The first line to replace
+     * @param to The line after the last line to replace
+     * @param lines The new lines, which must not be changed afterwards
+     * @throws IndexOutOfBoundsException If the range is not within the document
+     */
+    void replaceLines(int from, int to, String[] lines) throws IndexOutOfBoundsException {
+        freezeLine();
+        String[] previous = copyLines(from, to);
+        lineStr.replaceRange(from, to, lines);
+        fireReplacedRange(from, previous, lines);
+    }
+
+    /**
+     * It replaces the lines in [from, to) by the given lines with a single shift of the
+     * following lines, without moving the cursor, like replaceLines, but tells the observers
+     * and the listeners only of the runs of lines that changed, so that what they do depends
+     * on the number of lines edited rather than on the size of the range. The runs are told of
+     * from the last to the first, so that the lines of each are numbered as the document was
+     * before the change, and undo reverts them all at once.
+     *
+     * @param from The first line to replace
+     * @param to The line after the last line to replace
+     * @param lines The new lines, which must not be changed afterwards
+     * @param runs For each run of changed lines, in increasing order, the index of its first
+     *             line, the number of lines it had and the number it has now, one after the other
+     * @throws IndexOutOfBoundsException If the range is not within the document
+     */
+    void replaceRuns(int from, int to, String[] lines, int[] runs) throws IndexOutOfBoundsException {
+        freezeLine();
+        int count = runs.length / 3;
+        String[][] previous = new String[count][];
+        for(int run = 0; run < count; run++){
+            previous[run] = copyLines(runs[3 * run], runs[3 * run] + runs[3 * run + 1]);
+        }
+        lineStr.replaceRange(from, to, lines);
+
+        int[] offsets = new int[count];
+        int shift = 0;
+        for(int run = 0; run < count; run++){
+            offsets[run] = runs[3 * run] - from + shift;
+            shift += runs[3 * run + 2] - runs[3 * run + 1];
+        }
+        if(history != null){
+            history.beginGroup();
+        }
+        splicing = true;
+        try{
+            coalesceChanges(() -> {
+                for(int run = count - 1; run >= 0; run--){
+                    int index = runs[3 * run];
+                    String[] replacement = Arrays.copyOfRange(lines, offsets[run], offsets[run] + runs[3 * run + 2]);
+                    if(previous[run].length == 0){
+                        fireInserted(index, replacement);
+                    } else if(replacement.length == 0){
+                        fireRemoved(index, previous[run]);
+                    } else if(previous[run].length == 1 && replacement.length == 1){
+                        fireReplaced(index, previous[run][0], replacement[0]);
+                    } else {
+                        fireReplacedRange(index, previous[run], replacement);
+                    }
+                }
+            });
+        } finally {
+            splicing = false;
+            if(history != null){
+                history.endGroup();
+            }
+        }
+        checkpointIfDue();
+    }
+
+    /**
+     * It puts the cursor on the given line, or on line -1 if the document is empty
+     *
+     * @param line The line to put the cursor on, clamped to the document
+     */
+    void setCursor(int line){
+        cursor = Math.max(0, Math.min(line, lineStr.size() - 1));
+        if(lineStr.isEmpty()){
+            cursor = -1;
+        }
+    }
+
+    /**
+     * It registers a component that has to follow every change made to the lines
+     *
+     * @param observer The component to notify
+     */
+    void addObserver(DocumentObserver observer){
+        observers.add(observer);
+    }
+
+    /**
+     * It stops notifying a component of the changes made to the lines
+     *
+     * @param observer The component to stop notifying
+     */
+    void removeObserver(DocumentObserver observer){
+        observers.remove(observer);
+    }
+
+    /**
+     * It creates a store sized to hold exactly the given lines, and fills it
+     *
+     * @param lines The lines of the document
+     * @return The store holding the lines
+     */
+    private static FlatArraySequence<String> loaded(String[] lines){
+        FlatArraySequence<String> store = new FlatArraySequence<>(lines.length);
+        store.addAll(0, lines.clone());
+        return store;
+    }
+
+    /**
+     * It copies the lines in [from, to) into a new array
+     *
+     * @param from The first line to copy
+     * @param to The line after the last line to copy
+     * @return The copied lines
+     * @throws IndexOutOfBoundsException If the range is not within the document
+     */
+    private String[] copyLines(int from, int to) throws IndexOutOfBoundsException {
+        if(from < 0 || to > lineStr.size() || from > to){
+            throw new IndexOutOfBoundsException("Illegal range: [" + from + ", " + to + ")");
+        }
+        String[] lines = new String[to - from];
+        for(int index = from; index < to; index++){
+            lines[index - from] = lineStr.get(index);
+        }
+        return lines;
+    }
+
+    /**
+     * It tells the observers that lines were inserted
+     *
+     * @param index The index of the first inserted line
+     * @param lines The inserted lines
+     */
+    private void fireInserted(int index, String[] lines){
+        countCharacters(lines, 1);
+        for(DocumentObserver observer : observers){
+            observer.linesInserted(index, lines);
+        }
+        checkpointIfDue();
+        if(!dispatchers.isEmpty()){
+            dispatch(index, 0, lines.length, 0, length(lines));
+        }
+    }
+
+    /**
+     * It tells the observers that lines were removed
+     *
+     * @param index The index the first removed line had
+     * @param lines The removed lines
+     */
+    private void fireRemoved(int index, String[] lines){
+        countCharacters(lines, -1);
+        for(DocumentObserver observer : observers){
+            observer.linesRemoved(index, lines);
+        }
+        checkpointIfDue();
+        if(!dispatchers.isEmpty()){
+            dispatch(index, lines.length, 0, length(lines), 0);
+        }
+    }
+
+    /**
+     * It tells the observers that a line was replaced
+     *
+     * @param index The index of the line
+     * @param previous The line before the change
+     * @param replacement The line after the change
+     */
+    private void fireReplaced(int index, String previous, String replacement){
+        countCharacters(replacement.length() - previous.length());
+        notifyReplaced(index, previous, replacement);
+        dispatch(index, 1, 1, previous.length(), replacement.length());
+    }
+
+    /**
+     * It tells the observers, but not the listeners, that a line was replaced, without counting
+     * its characters
+     *
+     * @param index The index of the line
+     * @param previous The line before the change
+     * @param replacement The line after the change
+     */
+    private void notifyReplaced(int index, String previous, String replacement){
+        for(DocumentObserver observer : observers){
+            observer.lineReplaced(index, previous, replacement);
+        }
+        checkpointIfDue();
+    }
+
+    /**
+     * It tells the observers that a range of lines was replaced
+     *
+     * @param index The index of the first line of the range
+     * @param previous The lines of the range before the change
+     * @param replacement The lines of the range after the change
+     */
+    private void fireReplacedRange(int index, String[] previous, String[] replacement){
+        countCharacters(previous, -1);
+        countCharacters(replacement, 1);
+        for(DocumentObserver observer : observers){
+            observer.linesReplaced(index, previous, replacement);
+        }
+        checkpointIfDue();
+        if(!dispatchers.isEmpty()){
+            dispatch(index, previous.length, replacement.length, length(previous), length(replacement));
+        }
+    }
+
+    /**
+     * It hands the journal a copy of the lines if it asked for a checkpoint, once every observer
+     * has been told of the change, so that the copy holds exactly the changes the journal
+     * recorded. The checkpoint is then written in the background.
+     */
+    private void checkpointIfDue(){
+        if(journal != null && !splicing && journal.checkpointDue()){
+            journal.startCheckpoint(copyLines(0, lineStr.size()), cursor);
+        }
+    }
+
+    /**
+     * It tells the listeners that the lines in [index, index + oldLineCount) were replaced
+     *
+     * @param index The index of the first line of the range
+     * @param oldLineCount The number of lines of the range before the change
+     * @param newLineCount The number of lines of the range after the change
+     * @param oldLength The number of characters of the range before the change
+     * @param newLength The number of characters of the range after the change
+     */
+    private void dispatch(int index, int oldLineCount, int newLineCount, long oldLength, long newLength){
+        if(dispatchers.isEmpty()){
+            return;
+        }
+        DocumentChange change = new DocumentChange(index, oldLineCount, newLineCount, oldLength, newLength);
+        for(ChangeDispatcher dispatcher : dispatchers){
+            dispatcher.changed(change);
+        }
+    }
+
+    /**
+     * It adds up the lengths of the given lines
+     *
+     * @param lines The lines
+     * @return The number of characters of the lines
+     */
+    private static long length(String[] lines){
+        long length = 0;
+        for(String line : lines){
+            length += line.length();
+        }
+        return length;
+    }
+
+    /**
+     * It adds the characters of the given lines to the count of characters
+     *
+     * @param lines The lines inserted or removed
+     * @param sign 1 if the lines were inserted and -1 if they were removed
+     */
+    private void countCharacters(String[] lines, int sign){
+        if(characters >= 0){
+            countCharacters(sign * length(lines));
+        }
+    }
+
+    /**
+     * It changes the count of characters by the given number, if they were counted
+     *
+     * @param change The number of characters added, or removed if negative
+     */
+    private void countCharacters(long change){
+        if(characters >= 0){
+            characters += change;
+        }
+    }
+
+    /**
+     * It writes every line to the given Appendable, e.g. a Writer, separated by line breaks,
+     * without building the whole text first. What is written is what toString returns.
+     *
+     * @param out The Appendable to write to
+     * @throws IOException If the Appendable could not be written
+     */
+    public void writeTo(Appendable out) throws IOException {
+        for(int index = 0; index < lineStr.size(); index++){
+            if(index > 0){
+                out.append('\n');
+            }
+            out.append(line(index));
+        }
+    }
+
+    /**
+     * It writes every line to the given channel as UTF-8, separated by line breaks, through a
+     * small buffer, in the same format as save
+     *
+     * @param out The channel to write to
+     * @return The number of bytes written
+     * @throws IOException If the channel could not be written
+     */
+    public long writeTo(WritableByteChannel out) throws IOException {
+        return saver.writeTo(out, this::line);
     }
 
     /**
-     * It converts all the lines in stored arrays to String
+     * It converts all the lines in stored arrays to String, in a builder sized from the length
+     * of the text, once it was counted, so that it is never reallocated
      *
      * @return It returns the string representation of the array
      */
     public String toString(){
-        StringBuilder str = new StringBuilder();
+        int capacity = characters < 0 ? 16 : (int) Math.min(length(), Integer.MAX_VALUE - 8);
+        StringBuilder str = new StringBuilder(capacity);
         for(int index = 0; index < lineStr.size(); index++){
-            str.append(lineStr.get(index));
+            str.append(line(index));
             if(index < lineStr.size() - 1){
                 str.append("\n");
             }
@@ -0,0 +1,554 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class implements the interface SimpleTextEditor on top of a piece table. The loaded
+ * text is kept as one read-only original buffer and every inserted line is appended to an
+ * add buffer, so no line is ever copied into its own String until it is asked for. The
+ * document is the in-order concatenation of pieces (ranges of either buffer) kept in a
+ * treap, where every node also knows the length and number of line breaks of its subtree.
+ * That gives expected O(log n) line lookup, insertion and removal.
+ *
+ * Internally every line, including the last one, ends with a line break.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class PieceTableEditor implements SimpleTextEditor {
+
+    /**
+     * A piece of the document, which is also a node of the treap
+     */
+    private static class Piece {
+
+        /**
+         * Whether the piece points into the add buffer rather than the original buffer
+         */
+        private final boolean added;
+        /**
+         * The offset of the piece in its buffer
+         */
+        private final int start;
+        /**
+         * The number of characters in the piece
+         */
+        private final int length;
+        /**
+         * The number of line breaks in the piece
+         */
+        private final int breaks;
+        /**
+         * The heap priority of the node in the treap
+         */
+        private final int priority;
+
+        private Piece left;
+        private Piece right;
+        /**
+         * The number of characters in the subtree rooted at this node
+         */
+        private long totalLength;
+        /**
+         * The number of line breaks in the subtree rooted at this node
+         */
+        private int totalBreaks;
+
+        /**
+         * It is used to create a new piece
+         *
+         * @param added Whether the piece points into the add buffer
+         * @param start The offset of the piece in its buffer
+         * @param length The number of characters in the piece
+         * @param breaks The number of line breaks in the piece
+         * @param priority The heap priority of the node
+         */
+        Piece(boolean added, int start, int length, int breaks, int priority){
+            this.added = added;
+            this.start = start;
+            this.length = length;
+            this.breaks = breaks;
+            this.priority = priority;
+            update();
+        }
+
+        /**
+         * It recomputes the subtree totals from the children
+         */
+        void update(){
+            totalLength = length + lengthOf(left) + lengthOf(right);
+            totalBreaks = breaks + breaksOf(left) + breaksOf(right);
+        }
+    }
+
+    /**
+     * The text the editor was loaded with, never modified
+     */
+    private final CharSequence original;
+    /**
+     * The offsets of all line breaks in the original buffer, in ascending order
+     */
+    private final int[] originalBreaks;
+    /**
+     * The buffer every inserted line is appended to
+     */
+    private final StringBuilder added;
+    /**
+     * The offsets of all line breaks in the add buffer, in ascending order
+     */
+    private int[] addedBreaks;
+    /**
+     * The number of used entries in addedBreaks
+     */
+    private int addedBreakCount;
+    /**
+     * The root of the treap of pieces
+     */
+    private Piece root;
+    /**
+     * It stores the location of the cursor
+     */
+    private int cursor;
+    /**
+     * It provides the priorities of new treap nodes
+     */
+    private final Random random;
+
+    /**
+     * It creates an empty instance of the class PieceTableEditor
+     */
+    public PieceTableEditor(){
+        this("");
+    }
+
+    /**
+     * It creates an instance of the class PieceTableEditor over the given text, without copying it.
+     * Lines are separated by '\n'.
+     *
+     * @param text The initial content of the document
+     */
+    public PieceTableEditor(CharSequence text){
+        original = text;
+        originalBreaks = findBreaks(text);
+        added = new StringBuilder();
+        addedBreaks = new int[16];
+        random = new Random();
+
+        if(text.length() > 0){
+            root = new Piece(false, 0, text.length(), originalBreaks.length, random.nextInt());
+            if(text.charAt(text.length() - 1) != '\n'){
+                root = merge(root, appendToAddBuffer(""));
+            }
+        }
+        cursor = isDocumentEmpty() ? -1 : 0;
+    }
+
+    /**
+     * It loads the given file into a new editor. The file content is read into a single
+     * buffer that all pieces share.
+     *
+     * @param source The path of the file to load
+     * @return A new editor holding the content of the file
+     * @throws IOException If the file could not be read
+     */
+    public static PieceTableEditor open(Path source) throws IOException {
+        return new PieceTableEditor(Files.readString(source));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (isDocumentEmpty() && cursor == -1);
+    }
+
+    @Override
+    public int size() {
+        return breaksOf(root);
+    }
+
+    @Override
+    public boolean isCursorAtLastLine() {
+        if(isEmpty()){
+            return false;
+        }
+        return (cursor == (size() - 1));
+    }
+
+    @Override
+    public void cursorDown() throws IndexOutOfBoundsException {
+        if(isCursorAtLastLine()){
+            throw new IndexOutOfBoundsException("Cursor is at the last line");
+        }
+        cursor++;
+    }
+
+    @Override
+    public void cursorUp() throws IndexOutOfBoundsException {
+        if(cursor <= 0){
+            throw new IndexOutOfBoundsException("Cursor is at the first line or above");
+        }
+        cursor--;
+    }
+
+    @Override
+    public void moveCursorToLine(int line) throws IndexOutOfBoundsException {
+        if((line < 0) || (line > size() - 1)){
+            throw new IndexOutOfBoundsException("Line does not exist");
+        }
+        cursor = line;
+    }
+
+    @Override
+    public int cursorLineNum() {
+        return cursor;
+    }
+
+    @Override
+    public void insertAfterCursor(String insertion) {
+        insertLine(cursor + 1, insertion);
+        cursor++;
+    }
+
+    @Override
+    public void insertBeforeCursor(String insertion) {
+        cursor = Math.max(cursor, 0);
+        insertLine(cursor, insertion);
+    }
+
+    @Override
+    public String getAtCursor() {
+        return get(cursor);
+    }
+
+    @Override
+    public void replaceAtCursor(String replacement) {
+        checkLine(cursor);
+        removeLine(cursor);
+        insertLine(cursor, replacement);
+    }
+
+    @Override
+    public void removeAtCursor() {
+        checkLine(cursor);
+        removeLine(cursor);
+        if(isDocumentEmpty()){
+            cursor = -1;
+        } else if(cursor == size()){
+            cursor--;
+        }
+    }
+
+    /**
+     * It returns the given line of the document
+     *
+     * @param line The index of the line
+     * @return The text of the line without its line break
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    public String get(int line) throws IndexOutOfBoundsException {
+        checkLine(line);
+        long start = lineStart(line);
+        long end = lineStart(line + 1) - 1;
+        StringBuilder str = new StringBuilder((int) (end - start));
+        appendRange(root, 0, start, end, str);
+        return str.toString();
+    }
+
+    /**
+     * It converts all the lines in the document to String
+     *
+     * @return It returns the lines joined by line breaks
+     */
+    public String toString(){
+        if(isDocumentEmpty()){
+            return "";
+        }
+        StringBuilder str = new StringBuilder((int) lengthOf(root));
+        appendRange(root, 0, 0, lengthOf(root) - 1, str);
+        return str.toString();
+    }
+
+    /**
+     * It inserts a line so that it ends up at the given index
+     *
+     * @param line The index the new line will have
+     * @param text The text of the line
+     */
+    private void insertLine(int line, String text){
+        if(line < 0 || line > size()){
+            throw new IndexOutOfBoundsException("Line does not exist");
+        }
+        long offset = (line == size()) ? lengthOf(root) : lineStart(line);
+        Piece[] parts = split(root, offset);
+        root = merge(merge(parts[0], appendToAddBuffer(text)), parts[1]);
+    }
+
+    /**
+     * It removes the line at the given index together with its line break
+     *
+     * @param line The index of the line to remove
+     */
+    private void removeLine(int line){
+        long start = lineStart(line);
+        long end = lineStart(line + 1);
+        Piece[] tail = split(root, end);
+        Piece[] head = split(tail[0], start);
+        root = merge(head[0], tail[1]);
+    }
+
+    /**
+     * It checks that the given line exists
+     *
+     * @param line The index of the line
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    private void checkLine(int line) throws IndexOutOfBoundsException {
+        if(line < 0 || line >= size()){
+            throw new IndexOutOfBoundsException("Line does not exist");
+        }
+    }
+
+    /**
+     * It tells whether the document holds no lines at all
+     *
+     * @return true if there are no lines and false otherwise
+     */
+    private boolean isDocumentEmpty(){
+        return root == null;
+    }
+
+    /**
+     * It appends a line and its line break to the add buffer
+     *
+     * @param text The text of the line
+     * @return A new piece covering the appended text
+     */
+    private Piece appendToAddBuffer(String text){
+        int start = added.length();
+        added.append(text).append('\n');
+        int breaks = 0;
+        for(int i = start; i < added.length(); i++){
+            if(added.charAt(i) == '\n'){
+                if(addedBreakCount == addedBreaks.length){
+                    addedBreaks = Arrays.copyOf(addedBreaks, 2 * addedBreaks.length);
+                }
+                addedBreaks[addedBreakCount++] = i;
+                breaks++;
+            }
+        }
+        return new Piece(true, start, added.length() - start, breaks, random.nextInt());
+    }
+
+    /**
+     * It returns the document offset at which the given line starts
+     *
+     * @param line The index of the line, which may be size() for the end of the document
+     * @return The offset of the first character of the line
+     */
+    private long lineStart(int line){
+        if(line == 0){
+            return 0;
+        }
+        // Find the piece holding the line break that ends the previous line
+        long offset = 0;
+        int remaining = line;
+        Piece node = root;
+        while(node != null){
+            int leftBreaks = breaksOf(node.left);
+            if(remaining <= leftBreaks){
+                node = node.left;
+            } else if(remaining <= leftBreaks + node.breaks){
+                int first = lowerBound(breakArray(node), node.start, breakCount(node));
+                int position = breakArray(node)[first + remaining - leftBreaks - 1];
+                return offset + lengthOf(node.left) + (position - node.start) + 1;
+            } else {
+                remaining -= leftBreaks + node.breaks;
+                offset += lengthOf(node.left) + node.length;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Line does not exist");
+    }
+
+    /**
+     * It splits the treap so that the first part holds exactly the given number of characters.
+     * A piece spanning the split point is cut in two.
+     *
+     * @param node The root of the treap to split
+     * @param offset The number of characters that go to the first part
+     * @return The two resulting treaps
+     */
+    private Piece[] split(Piece node, long offset){
+        if(node == null){
+            return new Piece[]{null, null};
+        }
+        long leftLength = lengthOf(node.left);
+        if(offset <= leftLength){
+            Piece[] parts = split(node.left, offset);
+            node.left = parts[1];
+            node.update();
+            return new Piece[]{parts[0], node};
+        }
+        if(offset >= leftLength + node.length){
+            Piece[] parts = split(node.right, offset - leftLength - node.length);
+            node.right = parts[0];
+            node.update();
+            return new Piece[]{node, parts[1]};
+        }
+
+        // The split point falls inside this piece
+        int cut = (int) (offset - leftLength);
+        Piece head = slice(node, node.start, cut);
+        Piece tail = slice(node, node.start + cut, node.length - cut);
+        return new Piece[]{merge(node.left, head), merge(tail, node.right)};
+    }
+
+    /**
+     * It joins two treaps where every character of the first precedes the second
+     *
+     * @param first The treap holding the leading characters
+     * @param second The treap holding the trailing characters
+     * @return The root of the joined treap
+     */
+    private Piece merge(Piece first, Piece second){
+        if(first == null){
+            return second;
+        }
+        if(second == null){
+            return first;
+        }
+        if(first.priority > second.priority){
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    /**
+     * It creates a new piece for part of the buffer range of the given piece
+     *
+     * @param piece The piece being cut
+     * @param start The offset of the new piece in the buffer
+     * @param length The number of characters in the new piece
+     * @return The new single-node treap
+     */
+    private Piece slice(Piece piece, int start, int length){
+        int[] breaks = breakArray(piece);
+        int count = breakCount(piece);
+        int lineBreaks = lowerBound(breaks, start + length, count) - lowerBound(breaks, start, count);
+        return new Piece(piece.added, start, length, lineBreaks, random.nextInt());
+    }
+
+    /**
+     * It appends the characters in the document range [from, to) that fall into the given subtree
+     *
+     * @param node The root of the subtree
+     * @param base The document offset of the first character of the subtree
+     * @param from The first document offset to append
+     * @param to The document offset to stop at
+     * @param str The builder to append to
+     */
+    private void appendRange(Piece node, long base, long from, long to, StringBuilder str){
+        if(node == null || from >= to || base >= to || base + node.totalLength <= from){
+            return;
+        }
+        appendRange(node.left, base, from, to, str);
+        long start = base + lengthOf(node.left);
+        long first = Math.max(from, start);
+        long last = Math.min(to, start + node.length);
+        if(first < last){
+            int offset = node.start + (int) (first - start);
+            str.append(node.added ? added : original, offset, offset + (int) (last - first));
+        }
+        appendRange(node.right, start + node.length, from, to, str);
+    }
+
+    /**
+     * It returns the line break offsets of the buffer the piece points into
+     *
+     * @param piece A piece of the document
+     * @return The line break offsets of its buffer
+     */
+    private int[] breakArray(Piece piece){
+        return piece.added ? addedBreaks : originalBreaks;
+    }
+
+    /**
+     * It returns the number of valid line break offsets of the buffer the piece points into
+     *
+     * @param piece A piece of the document
+     * @return The number of line breaks in its buffer
+     */
+    private int breakCount(Piece piece){
+        return piece.added ? addedBreakCount : originalBreaks.length;
+    }
+
+    /**
+     * It finds the first entry of a sorted array that is not less than the key
+     *
+     * @param values The sorted values
+     * @param key The value searched for
+     * @param count The number of valid entries
+     * @return The index of the first entry >= key
+     */
+    private static int lowerBound(int[] values, int key, int count){
+        int low = 0;
+        int high = count;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(values[middle] < key){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * It collects the offsets of all line breaks in the given text
+     *
+     * @param text The text to scan
+     * @return The offsets of the line breaks in ascending order
+     */
+    private static int[] findBreaks(CharSequence text){
+        int count = 0;
+        for(int i = 0; i < text.length(); i++){
+            if(text.charAt(i) == '\n'){
+                count++;
+            }
+        }
+        int[] breaks = new int[count];
+        count = 0;
+        for(int i = 0; i < text.length(); i++){
+            if(text.charAt(i) == '\n'){
+                breaks[count++] = i;
+            }
+        }
+        return breaks;
+    }
+
+    /**
+     * It returns the number of characters in a subtree
+     *
+     * @param node The root of the subtree, possibly null
+     * @return The number of characters in it
+     */
+    private static long lengthOf(Piece node){
+        return node == null ? 0 : node.totalLength;
+    }
+
+    /**
+     * It returns the number of line breaks in a subtree
+     *
+     * @param node The root of the subtree, possibly null
+     * @return The number of line breaks in it
+     */
+    private static int breaksOf(Piece node){
+        return node == null ? 0 : node.totalBreaks;
+    }
+}
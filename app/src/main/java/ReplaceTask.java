@@ -0,0 +1,75 @@
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class computes the result of a find-and-replace over a range of lines on a ForkJoinPool.
+ * A range longer than a chunk is split in two halves that are processed in parallel; a chunk is
+ * processed with a single Matcher, since a Matcher cannot be shared between threads.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+class ReplaceTask extends RecursiveAction {
+
+    /**
+     * It identifies the serialized form, which RecursiveAction declares as Serializable
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of lines processed by a single task without splitting it further
+     */
+    static final int CHUNK = 1 << 12;
+
+    private final Pattern pattern;
+    private final String replacement;
+    /**
+     * The lines to process
+     */
+    private final String[] lines;
+    /**
+     * The new text of every changed line, or null for the lines left as they are
+     */
+    private final String[] results;
+    private final int from;
+    private final int to;
+
+    /**
+     * It creates a task processing the lines in [from, to)
+     *
+     * @param pattern The regular expression to replace
+     * @param replacement The replacement, as for Matcher.replaceAll
+     * @param lines The lines to process
+     * @param results The array receiving the new text of every changed line
+     * @param from The first line to process
+     * @param to The line after the last line to process
+     */
+    ReplaceTask(Pattern pattern, String replacement, String[] lines, String[] results, int from, int to){
+        this.pattern = pattern;
+        this.replacement = replacement;
+        this.lines = lines;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if(to - from > CHUNK){
+            int middle = (from + to) >>> 1;
+            invokeAll(new ReplaceTask(pattern, replacement, lines, results, from, middle),
+                    new ReplaceTask(pattern, replacement, lines, results, middle, to));
+            return;
+        }
+        Matcher matcher = pattern.matcher("");
+        for(int index = from; index < to; index++){
+            if(matcher.reset(lines[index]).find()){
+                String replaced = matcher.replaceAll(replacement);
+                if(!replaced.equals(lines[index])){
+                    results[index] = replaced;
+                }
+            }
+        }
+    }
+}
@@ -11,8 +11,8 @@ public class RunEditor {
      * @param args No parameters expected.
      */
     public static void main(String[] args) {
-        SimpleTextEditor editor = new MyTextEditor();
         String[] expected = EditorUtilities.readResourceFile("final.txt");
+        SimpleTextEditor editor = new MyTextEditor(expected.length);
         for (String line : expected) {
             editor.insertAfterCursor(line);
         }
@@ -0,0 +1,524 @@
+import list.ArraySequence;
+import list.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class keeps a trigram index of the lines of a MyTextEditor, so that the lines containing
+ * a String, or matching a regular expression, can be found without reading every line.
+ *
+ * Every line gets an id when it is indexed and every trigram (three consecutive characters) of
+ * the line is mapped to that id. A search only reads the lines whose ids appear for all the
+ * trigrams of the String it looks for. The ids are handed out in increasing order, so each
+ * list of ids is sorted and lists are intersected by binary search. The lines themselves are
+ * kept in an ArraySequence, whose positions give the current index of a line however many
+ * lines were inserted or removed before it.
+ *
+ * A replaced or removed line keeps its ids in the lists until there are more such ids than
+ * live ones, at which point the index is built again.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class SearchIndex implements DocumentObserver {
+
+    /**
+     * The number of ids of replaced or removed lines tolerated before the index is built again
+     */
+    private static final int MIN_GARBAGE = 1 << 12;
+
+    /**
+     * A line of the document together with its id
+     */
+    private static final class Line {
+
+        private final String text;
+        private int id;
+
+        /**
+         * It is used to create an indexed line
+         *
+         * @param text The text of the line
+         */
+        Line(String text){
+            this.text = text;
+        }
+    }
+
+    /**
+     * A growing, sorted list of line ids
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[2];
+        private int size;
+
+        /**
+         * It appends an id greater than every id in the list
+         *
+         * @param id The id to add
+         */
+        void add(int id){
+            if(size == ids.length){
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size++] = id;
+        }
+
+        /**
+         * It tells whether the list contains the given id
+         *
+         * @param id The id to look for
+         * @return true if the id is in the list and false otherwise
+         */
+        boolean contains(int id){
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    /**
+     * The lines of the document, in order
+     */
+    private final ArraySequence<Line> lines = new ArraySequence<>();
+    /**
+     * The position of every line by id, or null for the ids of replaced or removed lines
+     */
+    private final ArrayList<Position<Line>> byId = new ArrayList<>();
+    /**
+     * The ids of the lines containing each trigram
+     */
+    private final HashMap<Long, Postings> postings = new HashMap<>();
+    /**
+     * The number of ids of replaced or removed lines still in the postings
+     */
+    private int garbage;
+    /**
+     * The number of lines the searches checked against what they looked for
+     */
+    private long verified;
+
+    /**
+     * It creates an index of the given lines
+     *
+     * @param document The lines of the document
+     */
+    public SearchIndex(String[] document){
+        Line[] indexed = new Line[document.length];
+        for(int i = 0; i < document.length; i++){
+            indexed[i] = new Line(document[i]);
+        }
+        lines.addAll(0, indexed);
+        rebuild();
+    }
+
+    @Override
+    public void linesInserted(int index, String[] inserted) {
+        Line[] indexed = new Line[inserted.length];
+        for(int i = 0; i < inserted.length; i++){
+            indexed[i] = new Line(inserted[i]);
+        }
+        lines.addAll(index, indexed);
+        for(int i = 0; i < inserted.length; i++){
+            add(lines.atIndex(index + i));
+        }
+    }
+
+    @Override
+    public void linesRemoved(int index, String[] removed) {
+        for(int i = 0; i < removed.length; i++){
+            discard(lines.get(index + i));
+        }
+        lines.removeRange(index, index + removed.length);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void lineReplaced(int index, String previous, String replacement) {
+        discard(lines.get(index));
+        lines.set(index, new Line(replacement));
+        add(lines.atIndex(index));
+        compactIfNeeded();
+    }
+
+    /**
+     * It returns the indices of all the lines containing the given String
+     *
+     * @param text The String to look for
+     * @return The indices of the lines, in increasing order
+     */
+    public int[] findAll(String text){
+        return find(text, line -> line.contains(text));
+    }
+
+    /**
+     * It returns the indices of all the lines in which the given regular expression finds a match.
+     * The lines are first narrowed down to the ones containing a literal part of the expression
+     * that every match has to contain, when there is one.
+     *
+     * @param regex The regular expression
+     * @return The indices of the lines, in increasing order
+     */
+    public int[] findAll(Pattern regex){
+        Matcher matcher = regex.matcher("");
+        return find(requiredLiteral(regex), line -> matcher.reset(line).find());
+    }
+
+    /**
+     * It returns the index of the first line from the given one on that contains the given String
+     *
+     * @param text The String to look for
+     * @param from The line to start from
+     * @return The index of the line, or -1 if there is none
+     */
+    public int findNext(String text, int from){
+        return firstFrom(findAll(text), from);
+    }
+
+    /**
+     * It returns the index of the first line from the given one on in which the given regular
+     * expression finds a match
+     *
+     * @param regex The regular expression
+     * @param from The line to start from
+     * @return The index of the line, or -1 if there is none
+     */
+    public int findNext(Pattern regex, int from){
+        return firstFrom(findAll(regex), from);
+    }
+
+    /**
+     * It returns the number of lines the searches so far read and checked, which the trigrams
+     * keep to the lines that contain every trigram of what is looked for
+     *
+     * @return The number of lines checked
+     */
+    long linesVerified(){
+        return verified;
+    }
+
+    /**
+     * It returns the indices of the lines that contain the given literal and pass the test
+     *
+     * @param literal A String every matching line contains, possibly empty
+     * @param test The test a line has to pass
+     * @return The indices of the lines, in increasing order
+     */
+    private int[] find(String literal, Predicate<String> test){
+        int[] found = new int[16];
+        int count = 0;
+        if(literal.length() < 3){
+            // There is no trigram to narrow the lines down with
+            for(int index = 0; index < lines.size(); index++){
+                verified++;
+                if(test.test(lines.get(index).text)){
+                    found = append(found, count++, index);
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+
+        long[] trigrams = trigrams(literal);
+        Postings[] lists = new Postings[trigrams.length];
+        for(int i = 0; i < trigrams.length; i++){
+            lists[i] = postings.get(trigrams[i]);
+            if(lists[i] == null){
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        candidates:
+        for(int i = 0; i < lists[0].size; i++){
+            int id = lists[0].ids[i];
+            Position<Line> position = byId.get(id);
+            if(position == null){
+                continue;
+            }
+            for(int list = 1; list < lists.length; list++){
+                if(!lists[list].contains(id)){
+                    continue candidates;
+                }
+            }
+            verified++;
+            if(test.test(position.getElement().text)){
+                found = append(found, count++, lines.indexOf(position));
+            }
+        }
+        found = Arrays.copyOf(found, count);
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * It indexes a line under a new id
+     *
+     * @param position The position of the line
+     */
+    private void add(Position<Line> position){
+        Line line = position.getElement();
+        line.id = byId.size();
+        byId.add(position);
+        for(long trigram : trigrams(line.text)){
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(line.id);
+        }
+    }
+
+    /**
+     * It forgets the id of a line that is replaced or removed
+     *
+     * @param line The line
+     */
+    private void discard(Line line){
+        byId.set(line.id, null);
+        garbage++;
+    }
+
+    /**
+     * It builds the index again once most of the ids in it are of lines no longer in the document
+     */
+    private void compactIfNeeded(){
+        if(garbage > MIN_GARBAGE && garbage > lines.size()){
+            rebuild();
+        }
+    }
+
+    /**
+     * It indexes every line again, giving the lines ids in document order
+     */
+    private void rebuild(){
+        byId.clear();
+        postings.clear();
+        garbage = 0;
+        for(int index = 0; index < lines.size(); index++){
+            add(lines.atIndex(index));
+        }
+    }
+
+    /**
+     * It returns the distinct trigrams of a String, each packed into a long
+     *
+     * @param text The String
+     * @return The trigrams, in increasing order
+     */
+    private static long[] trigrams(String text){
+        int count = Math.max(0, text.length() - 2);
+        long[] trigrams = new long[count];
+        for(int i = 0; i < count; i++){
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for(int i = 0; i < count; i++){
+            if(distinct == 0 || trigrams[i] != trigrams[distinct - 1]){
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * It finds the longest run of plain characters that every match of the regular expression
+     * has to contain. Only the top level of the expression is considered, and nothing is found
+     * when it has alternatives or is case insensitive.
+     *
+     * @param regex The regular expression
+     * @return The literal, or an empty String if there is none
+     */
+    static String requiredLiteral(Pattern regex){
+        String source = regex.pattern();
+        if((regex.flags() & Pattern.CASE_INSENSITIVE) != 0){
+            return "";
+        }
+        if((regex.flags() & Pattern.LITERAL) != 0){
+            return source;
+        }
+        if((regex.flags() & Pattern.COMMENTS) != 0 || source.matches("(?s).*\\(\\?[a-zA-Z-].*")){
+            return "";
+        }
+
+        String best = "";
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        for(int i = 0; i < source.length(); i++){
+            char c = source.charAt(i);
+            char literal = 0;
+            if(c == '\\' && i + 1 < source.length()){
+                char escaped = source.charAt(i + 1);
+                if(escaped == 'Q' || escaped == 'E' || Character.isLetterOrDigit(escaped)){
+                    // A character class, a code point, a back reference or quoting, none of which
+                    // is handled, so the whole escape ends the run
+                    i = endOfEscape(source, i + 1);
+                } else {
+                    literal = escaped;
+                    i++;
+                }
+            } else if(c == '{'){
+                // Skip the bounds of a quantifier
+                while(i + 1 < source.length() && source.charAt(i) != '}'){
+                    i++;
+                }
+            } else if(c == '['){
+                // A character class matches one character, and its brackets do not nest with groups
+                i = endOfClass(source, i);
+            } else if(c == '('){
+                depth++;
+            } else if(c == ')'){
+                depth--;
+            } else if(c == '|'){
+                if(depth == 0){
+                    return "";
+                }
+            } else if(".^$*+?{}".indexOf(c) < 0){
+                literal = c;
+            }
+
+            boolean optional = i + 1 < source.length() && "?*{".indexOf(source.charAt(i + 1)) >= 0;
+            if(literal != 0 && depth == 0 && !optional){
+                run.append(literal);
+            } else {
+                if(run.length() > best.length()){
+                    best = run.toString();
+                }
+                run.setLength(0);
+            }
+        }
+        return (run.length() > best.length()) ? run.toString() : best;
+    }
+
+    /**
+     * It finds the end of the escape whose first character after the backslash is at the given
+     * index: the escapes of a character (\x41, \x{41}, \0101, \cA, \N{...} and the four hex
+     * digit u escape), of a property (\pL, \p{Lu}), of a back reference (\12, \k<name>) and
+     * quoting up to the closing \E. Any other escape is a single character.
+     *
+     * @param source The regular expression
+     * @param start The index of the character after the backslash
+     * @return The index of the last character of the escape
+     */
+    private static int endOfEscape(String source, int start){
+        char escaped = source.charAt(start);
+        int last = source.length() - 1;
+        switch(escaped){
+            case 'x':
+                if(start < last && source.charAt(start + 1) == '{'){
+                    return closing(source, start + 1, '}');
+                }
+                return digits(source, start, 2, 16);
+            case 'u':
+                return digits(source, start, 4, 16);
+            case '0':
+                return digits(source, start, 3, 8);
+            case 'c':
+                return Math.min(start + 1, last);
+            case 'k':
+            case 'p':
+            case 'P':
+            case 'N':
+                if(start < last && "{<".indexOf(source.charAt(start + 1)) >= 0){
+                    return closing(source, start + 1, source.charAt(start + 1) == '{' ? '}' : '>');
+                }
+                // A one letter property such as \\pL
+                return escaped == 'p' || escaped == 'P' ? Math.min(start + 1, last) : start;
+            case 'Q':
+                int end = source.indexOf("\\E", start);
+                return end < 0 ? last : end + 1;
+            default:
+                return Character.isDigit(escaped) ? digits(source, start, Integer.MAX_VALUE, 10) : start;
+        }
+    }
+
+    /**
+     * It finds the last of at most the given number of digits following the given index
+     *
+     * @param source The regular expression
+     * @param start The index before the first digit
+     * @param count The largest number of digits
+     * @param radix The radix of the digits
+     * @return The index of the last digit, or the given index if there is none
+     */
+    private static int digits(String source, int start, int count, int radix){
+        int i = start;
+        while(i - start < count && i + 1 < source.length() && Character.digit(source.charAt(i + 1), radix) >= 0){
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * It finds the given closing character after the given index
+     *
+     * @param source The regular expression
+     * @param start The index of the opening character
+     * @param close The closing character
+     * @return The index of the closing character, or the last index if there is none
+     */
+    private static int closing(String source, int start, char close){
+        int end = source.indexOf(close, start + 1);
+        return end < 0 ? source.length() - 1 : end;
+    }
+
+    /**
+     * It finds the end of the character class starting at the given index. A ']' right after the
+     * opening '[' or '[^' is a plain character, and classes may be nested.
+     *
+     * @param source The regular expression
+     * @param start The index of the opening '['
+     * @return The index of the closing ']', or the last index if the class is not closed
+     */
+    private static int endOfClass(String source, int start){
+        int depth = 0;
+        for(int i = start; i < source.length(); i++){
+            char c = source.charAt(i);
+            if(c == '\\' && i + 1 < source.length()){
+                i = endOfEscape(source, i + 1);
+            } else if(c == '['){
+                depth++;
+                if(i + 1 < source.length() && source.charAt(i + 1) == '^'){
+                    i++;
+                }
+                if(i + 1 < source.length() && source.charAt(i + 1) == ']'){
+                    i++;
+                }
+            } else if(c == ']' && --depth == 0){
+                return i;
+            }
+        }
+        return source.length() - 1;
+    }
+
+    /**
+     * It returns the first index from the given one on
+     *
+     * @param indices The indices, in increasing order
+     * @param from The smallest index wanted
+     * @return The index, or -1 if there is none
+     */
+    private static int firstFrom(int[] indices, int from){
+        int slot = Arrays.binarySearch(indices, from);
+        if(slot < 0){
+            slot = -slot - 1;
+        }
+        return (slot < indices.length) ? indices[slot] : -1;
+    }
+
+    /**
+     * It stores a value at the given slot of an array, growing the array if needed
+     *
+     * @param array The array
+     * @param slot The slot to store the value at
+     * @param value The value
+     * @return The array, or a larger copy of it
+     */
+    private static int[] append(int[] array, int slot, int value){
+        if(slot == array.length){
+            array = Arrays.copyOf(array, 2 * array.length);
+        }
+        array[slot] = value;
+        return array;
+    }
+}
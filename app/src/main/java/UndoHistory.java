@@ -0,0 +1,372 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * This class records the changes made to the lines of a MyTextEditor as the operations that
+ * revert them, rather than as copies of the document, so that they can be undone and redone.
+ *
+ * Consecutive replacements of the same line are merged into one change, the way typing into a
+ * line is undone as a whole, and the changes of a group, such as the runs of lines an EditBatch
+ * changed, are undone and redone together. The history is limited by an estimate of the memory it holds
+ * instead of by the number of changes; once over budget the oldest changes are dropped.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class UndoHistory implements DocumentObserver {
+
+    /**
+     * The estimated size of a change without its text
+     */
+    private static final long CHANGE_BYTES = 48;
+    /**
+     * The estimated size of a String without its characters
+     */
+    private static final long STRING_BYTES = 40;
+
+    /**
+     * The kinds of change that are recorded
+     */
+    private enum Kind { INSERT, REMOVE, REPLACE, SPLICE, GROUP }
+
+    /**
+     * A recorded change of the document
+     */
+    private static final class Change {
+
+        private final Kind kind;
+        /**
+         * The index of the first line changed
+         */
+        private final int index;
+        /**
+         * The lines inserted or removed, or the lines before a replacement
+         */
+        private final String[] lines;
+        /**
+         * The text of the line after a replacement
+         */
+        private String replacement;
+        /**
+         * The lines after the replacement of a range
+         */
+        private final String[] spliced;
+        /**
+         * The changes of a group, in the order they were made
+         */
+        private final Change[] parts;
+        /**
+         * The estimated memory held by the change
+         */
+        private long bytes;
+
+        /**
+         * It is used to create a recorded change
+         *
+         * @param kind The kind of change
+         * @param index The index of the first line changed
+         * @param lines The lines inserted or removed, or the line before a replacement
+         * @param replacement The line after a replacement, or null
+         * @param spliced The lines after the replacement of a range, or null
+         */
+        Change(Kind kind, int index, String[] lines, String replacement, String[] spliced){
+            this.kind = kind;
+            this.index = index;
+            this.lines = lines;
+            this.replacement = replacement;
+            this.spliced = spliced;
+            this.parts = null;
+            this.bytes = CHANGE_BYTES + sizeOf(replacement) + sizeOf(lines) + sizeOf(spliced);
+        }
+
+        /**
+         * It is used to create a group of changes, which starts at the first line any of them changed
+         *
+         * @param parts The changes of the group, in the order they were made
+         */
+        Change(Change[] parts){
+            int index = Integer.MAX_VALUE;
+            long bytes = CHANGE_BYTES;
+            for(Change part : parts){
+                index = Math.min(index, part.index);
+                bytes += part.bytes;
+            }
+            this.kind = Kind.GROUP;
+            this.index = index;
+            this.lines = null;
+            this.spliced = null;
+            this.parts = parts;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * The editor whose changes are recorded
+     */
+    private final MyTextEditor editor;
+    /**
+     * The memory budget of the history
+     */
+    private final long maxBytes;
+    /**
+     * The changes that can be undone, the most recent last
+     */
+    private final ArrayDeque<Change> undoable = new ArrayDeque<>();
+    /**
+     * The changes that can be redone, the most recently undone last
+     */
+    private final ArrayDeque<Change> redoable = new ArrayDeque<>();
+    /**
+     * The estimated memory held by both stacks
+     */
+    private long bytes;
+    /**
+     * Whether the next replacement may be merged into the most recent change
+     */
+    private boolean coalesce;
+    /**
+     * Whether the editor is being changed by an undo or redo
+     */
+    private boolean replaying;
+    /**
+     * The changes of the group being recorded, or null outside a group
+     */
+    private ArrayList<Change> group;
+
+    /**
+     * It creates an empty history for the given editor
+     *
+     * @param editor The editor whose changes are recorded
+     * @param maxBytes The memory budget of the history
+     */
+    public UndoHistory(MyTextEditor editor, long maxBytes){
+        this.editor = editor;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void linesInserted(int index, String[] lines) {
+        record(new Change(Kind.INSERT, index, lines, null, null));
+    }
+
+    @Override
+    public void linesRemoved(int index, String[] lines) {
+        record(new Change(Kind.REMOVE, index, lines, null, null));
+    }
+
+    @Override
+    public void lineReplaced(int index, String previous, String replacement) {
+        Change last = undoable.peekLast();
+        if(!replaying && group == null && coalesce && last != null && last.index == index){
+            if(last.kind == Kind.REPLACE){
+                bytes += sizeOf(replacement) - sizeOf(last.replacement);
+                last.bytes += sizeOf(replacement) - sizeOf(last.replacement);
+                last.replacement = replacement;
+                trim();
+                return;
+            }
+            if(last.kind == Kind.INSERT && last.lines.length == 1){
+                undoable.removeLast();
+                bytes -= last.bytes;
+                record(new Change(Kind.INSERT, index, new String[]{replacement}, null, null));
+                return;
+            }
+        }
+        record(new Change(Kind.REPLACE, index, new String[]{previous}, replacement, null));
+    }
+
+    @Override
+    public void linesReplaced(int index, String[] previous, String[] replacement) {
+        record(new Change(Kind.SPLICE, index, previous, null, replacement));
+    }
+
+    /**
+     * It starts a group of changes, which are recorded as one change once endGroup is called.
+     * Groups do not nest.
+     */
+    void beginGroup(){
+        group = new ArrayList<>();
+    }
+
+    /**
+     * It ends the group of changes started by beginGroup and records it. The next change is
+     * not merged into it.
+     */
+    void endGroup(){
+        ArrayList<Change> parts = group;
+        group = null;
+        if(parts.size() == 1){
+            record(parts.get(0));
+        } else if(parts.size() > 1){
+            record(new Change(parts.toArray(new Change[0])));
+        }
+        coalesce = false;
+    }
+
+    /**
+     * It tells whether there is a change to undo
+     *
+     * @return true if undo would change the document and false otherwise
+     */
+    public boolean canUndo(){
+        return !undoable.isEmpty();
+    }
+
+    /**
+     * It tells whether there is a change to redo
+     *
+     * @return true if redo would change the document and false otherwise
+     */
+    public boolean canRedo(){
+        return !redoable.isEmpty();
+    }
+
+    /**
+     * It returns the estimated memory held by the history
+     *
+     * @return The estimated number of bytes
+     */
+    public long sizeInBytes(){
+        return bytes;
+    }
+
+    /**
+     * It reverts the most recent change, putting the cursor on the changed line
+     *
+     * @return true if a change was undone and false if there was nothing to undo
+     */
+    public boolean undo(){
+        Change change = undoable.pollLast();
+        if(change == null){
+            return false;
+        }
+        replaying = true;
+        try{
+            editor.coalesceChanges(() -> revert(change));
+        } finally {
+            replaying = false;
+        }
+        redoable.addLast(change);
+        coalesce = false;
+        editor.setCursor(change.index);
+        return true;
+    }
+
+    /**
+     * It applies again the most recently undone change, putting the cursor on the changed line
+     *
+     * @return true if a change was redone and false if there was nothing to redo
+     */
+    public boolean redo(){
+        Change change = redoable.pollLast();
+        if(change == null){
+            return false;
+        }
+        replaying = true;
+        try{
+            editor.coalesceChanges(() -> apply(change));
+        } finally {
+            replaying = false;
+        }
+        undoable.addLast(change);
+        coalesce = false;
+        editor.setCursor(change.index);
+        return true;
+    }
+
+    /**
+     * It reverts a change, the changes of a group from the last to the first
+     *
+     * @param change The change to revert
+     */
+    private void revert(Change change){
+        switch(change.kind){
+            case INSERT -> editor.removeLines(change.index, change.index + change.lines.length);
+            case REMOVE -> editor.insertLines(change.index, change.lines);
+            case REPLACE -> editor.replaceLine(change.index, change.lines[0]);
+            case SPLICE -> editor.replaceLines(change.index, change.index + change.spliced.length, change.lines);
+            case GROUP -> {
+                for(int part = change.parts.length - 1; part >= 0; part--){
+                    revert(change.parts[part]);
+                }
+            }
+        }
+    }
+
+    /**
+     * It applies a change again, the changes of a group from the first to the last
+     *
+     * @param change The change to apply
+     */
+    private void apply(Change change){
+        switch(change.kind){
+            case INSERT -> editor.insertLines(change.index, change.lines);
+            case REMOVE -> editor.removeLines(change.index, change.index + change.lines.length);
+            case REPLACE -> editor.replaceLine(change.index, change.replacement);
+            case SPLICE -> editor.replaceLines(change.index, change.index + change.lines.length, change.spliced);
+            case GROUP -> {
+                for(Change part : change.parts){
+                    apply(part);
+                }
+            }
+        }
+    }
+
+    /**
+     * It records a new change, which makes every undone change impossible to redo
+     *
+     * @param change The change made to the document
+     */
+    private void record(Change change){
+        if(replaying){
+            return;
+        }
+        if(group != null){
+            group.add(change);
+            return;
+        }
+        while(!redoable.isEmpty()){
+            bytes -= redoable.removeLast().bytes;
+        }
+        undoable.addLast(change);
+        bytes += change.bytes;
+        coalesce = true;
+        trim();
+    }
+
+    /**
+     * It drops the oldest changes until the history fits its budget, always keeping the most recent one
+     */
+    private void trim(){
+        while(bytes > maxBytes && undoable.size() > 1){
+            bytes -= undoable.removeFirst().bytes;
+        }
+    }
+
+    /**
+     * It estimates the memory held by a String
+     *
+     * @param text The String, possibly null
+     * @return The estimated number of bytes
+     */
+    private static long sizeOf(String text){
+        return (text == null) ? 0 : STRING_BYTES + 2L * text.length();
+    }
+
+    /**
+     * It estimates the memory held by an array of Strings
+     *
+     * @param texts The Strings, possibly null
+     * @return The estimated number of bytes
+     */
+    private static long sizeOf(String[] texts){
+        if(texts == null){
+            return 0;
+        }
+        long bytes = 16 + 4L * texts.length;
+        for(String text : texts){
+            bytes += sizeOf(text);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,375 @@
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class is a window of consecutive lines of a MyTextEditor, such as the lines a terminal or
+ * a GUI shows on screen. It does not copy the lines: line reads them from the editor when they
+ * are drawn, so the cost of drawing depends on the height of the window, not on the size of the
+ * document.
+ *
+ * It follows every change made to the document and remembers which rows of the window changed
+ * since the last frame, so that a front-end only has to redraw those. The window stays on the
+ * same text when lines are inserted or removed above it, which moves its first line, and moves
+ * by whole rows when it is scrolled, which nextFrame reports so that the rows still visible can
+ * be moved on screen rather than drawn again.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class Viewport implements DocumentObserver, AutoCloseable {
+
+    /**
+     * This class describes what changed in a Viewport between two frames
+     */
+    public static final class Frame {
+
+        /**
+         * The line at the top of the window
+         */
+        private final int firstLine;
+        /**
+         * The number of rows the window moved down, or up if negative
+         */
+        private final int scrolledBy;
+        /**
+         * The rows to draw again, in increasing order
+         */
+        private final int[] changedRows;
+
+        /**
+         * It creates an instance of the class Frame
+         *
+         * @param firstLine The line at the top of the window
+         * @param scrolledBy The number of rows the window moved down, or up if negative
+         * @param changedRows The rows to draw again, in increasing order
+         */
+        private Frame(int firstLine, int scrolledBy, int[] changedRows){
+            this.firstLine = firstLine;
+            this.scrolledBy = scrolledBy;
+            this.changedRows = changedRows;
+        }
+
+        /**
+         * It returns the line at the top of the window in this frame
+         *
+         * @return The index of the line shown on row 0
+         */
+        public int firstLine(){
+            return firstLine;
+        }
+
+        /**
+         * It returns how far the window was scrolled since the previous frame. A row that was on
+         * row r of the previous frame and did not change is now on row r - scrolledBy.
+         *
+         * @return The number of rows the window moved down, or up if negative
+         */
+        public int scrolledBy(){
+            return scrolledBy;
+        }
+
+        /**
+         * It returns the rows whose text changed since the previous frame, once the rows still
+         * visible have been moved by scrolledBy. Rows past the end of the document are included
+         * when they became empty.
+         *
+         * @return The rows to draw again, in increasing order
+         */
+        public int[] changedRows(){
+            return changedRows.clone();
+        }
+
+        /**
+         * It tells whether nothing has to be drawn for this frame
+         *
+         * @return true if the window neither moved nor changed and false otherwise
+         */
+        public boolean isEmpty(){
+            return scrolledBy == 0 && changedRows.length == 0;
+        }
+    }
+
+    /**
+     * It holds the lines shown in the window
+     */
+    private final MyTextEditor editor;
+    /**
+     * It stores the index of the line at the top of the window
+     */
+    private int first;
+    /**
+     * It stores for every row of the window whether it changed since the last frame
+     */
+    private boolean[] dirty;
+    /**
+     * It stores the number of rows the window was scrolled by since the last frame
+     */
+    private int scrolled;
+    /**
+     * It tells whether the window was closed
+     */
+    private boolean closed;
+
+    /**
+     * It creates a window of the given number of rows, starting at the given line, all of which
+     * are reported as changed by the first frame. It is called by MyTextEditor.view.
+     *
+     * @param editor The editor holding the lines
+     * @param firstLine The line at the top of the window
+     * @param height The number of rows of the window
+     */
+    Viewport(MyTextEditor editor, int firstLine, int height){
+        this.editor = editor;
+        this.first = firstLine;
+        this.dirty = new boolean[height];
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * It returns the index of the line at the top of the window
+     *
+     * @return The first line shown
+     */
+    public int firstLine(){
+        return first;
+    }
+
+    /**
+     * It returns the number of rows of the window
+     *
+     * @return The height of the window
+     */
+    public int height(){
+        return dirty.length;
+    }
+
+    /**
+     * It returns the number of rows that show a line, which is less than the height when the
+     * window goes past the end of the document
+     *
+     * @return The number of lines shown
+     */
+    public int size(){
+        return Math.max(0, Math.min(dirty.length, editor.size() - first));
+    }
+
+    /**
+     * It returns the line shown on the given row, read from the editor
+     *
+     * @param row The row of the window
+     * @return The text of the line
+     * @throws IndexOutOfBoundsException If the row is negative or not less than size()
+     */
+    public String line(int row) throws IndexOutOfBoundsException {
+        if(row < 0 || row >= size()){
+            throw new IndexOutOfBoundsException("Row is not in the window: " + row);
+        }
+        return editor.getLine(first + row);
+    }
+
+    /**
+     * It returns the row the cursor of the editor is on
+     *
+     * @return The row of the cursor, or -1 if it is outside the window
+     */
+    public int cursorRow(){
+        int row = editor.cursorLineNum() - first;
+        return row >= 0 && row < size() ? row : -1;
+    }
+
+    /**
+     * It writes the lines shown in the window to the given Appendable, each followed by a line break
+     *
+     * @param out The Appendable to write to
+     * @throws IOException If the Appendable could not be written
+     */
+    public void writeTo(Appendable out) throws IOException {
+        int size = size();
+        for(int row = 0; row < size; row++){
+            out.append(line(row)).append('\n');
+        }
+    }
+
+    /**
+     * It moves the window so that the given line is at its top
+     *
+     * @param line The new first line, which has to be 0 for an empty document
+     * @throws IndexOutOfBoundsException If the line does not exist
+     */
+    public void scrollTo(int line) throws IndexOutOfBoundsException {
+        if(line < 0 || line > Math.max(0, editor.size() - 1)){
+            throw new IndexOutOfBoundsException("Line does not exist");
+        }
+        shift(line - first);
+    }
+
+    /**
+     * It moves the window by the given number of lines, stopping at the first and the last line
+     *
+     * @param lines The number of lines to move down, or up if negative
+     */
+    public void scrollBy(int lines){
+        long line = Math.max(0, Math.min((long) first + lines, editor.size() - 1L));
+        shift((int) line - first);
+    }
+
+    /**
+     * It moves the window as little as possible so that the line of the cursor is in it
+     */
+    public void scrollToCursor(){
+        int cursor = editor.cursorLineNum();
+        if(cursor < 0){
+            return;
+        }
+        if(cursor < first){
+            shift(cursor - first);
+        } else if(cursor >= first + dirty.length){
+            shift(cursor - dirty.length + 1 - first);
+        }
+    }
+
+    /**
+     * It changes the number of rows of the window, keeping its first line. The rows added are
+     * reported as changed.
+     *
+     * @param height The new number of rows
+     * @throws IllegalArgumentException If the height is not positive
+     */
+    public void resize(int height) throws IllegalArgumentException {
+        if(height <= 0){
+            throw new IllegalArgumentException("A viewport needs at least one row");
+        }
+        int previous = dirty.length;
+        dirty = Arrays.copyOf(dirty, height);
+        if(height > previous){
+            Arrays.fill(dirty, previous, height, true);
+        }
+    }
+
+    /**
+     * It returns what changed since the previous frame, or since the window was created, and
+     * starts a new frame. A line the editor is editing character by character is written back
+     * first, so that the frame includes its last keystrokes. If the document became shorter than
+     * the first line of the window, the window is first scrolled up to its last line.
+     *
+     * @return The changes to draw
+     */
+    public Frame nextFrame(){
+        editor.freezeLine();
+        int last = Math.max(0, editor.size() - 1);
+        if(first > last){
+            shift(last - first);
+        }
+        int count = 0;
+        for(boolean changed : dirty){
+            if(changed){
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        count = 0;
+        for(int row = 0; row < dirty.length; row++){
+            if(dirty[row]){
+                rows[count++] = row;
+                dirty[row] = false;
+            }
+        }
+        Frame frame = new Frame(first, scrolled, rows);
+        scrolled = 0;
+        return frame;
+    }
+
+    /**
+     * It stops following the changes made to the document, after which the window must not be used
+     */
+    @Override
+    public void close(){
+        if(!closed){
+            closed = true;
+            editor.removeObserver(this);
+        }
+    }
+
+    @Override
+    public void linesInserted(int index, String[] lines){
+        if(index < first){
+            first += lines.length;
+        } else {
+            markFrom(index - first);
+        }
+    }
+
+    @Override
+    public void linesRemoved(int index, String[] lines){
+        int count = lines.length;
+        if(index + count <= first){
+            first -= count;
+        } else if(index < first){
+            first = index;
+            markFrom(0);
+        } else {
+            markFrom(index - first);
+        }
+    }
+
+    @Override
+    public void lineReplaced(int index, String previous, String replacement){
+        mark(index - first, index - first + 1);
+    }
+
+    @Override
+    public void linesReplaced(int index, String[] previous, String[] replacement){
+        if(previous.length == replacement.length){
+            mark(index - first, index - first + previous.length);
+        } else {
+            DocumentObserver.super.linesReplaced(index, previous, replacement);
+        }
+    }
+
+    /**
+     * It moves the window by the given number of lines, moving the changed flags of the rows that
+     * stay visible with them and flagging the rows that come into view
+     *
+     * @param lines The number of lines to move down, or up if negative
+     */
+    private void shift(int lines){
+        if(lines == 0){
+            return;
+        }
+        int height = dirty.length;
+        if(Math.abs(lines) >= height){
+            Arrays.fill(dirty, true);
+        } else if(lines > 0){
+            System.arraycopy(dirty, lines, dirty, 0, height - lines);
+            Arrays.fill(dirty, height - lines, height, true);
+        } else {
+            System.arraycopy(dirty, 0, dirty, -lines, height + lines);
+            Arrays.fill(dirty, 0, -lines, true);
+        }
+        first += lines;
+        scrolled += lines;
+    }
+
+    /**
+     * It flags the rows from the given one to the bottom of the window, whose lines moved
+     *
+     * @param row The first row to flag, which may be outside the window
+     */
+    private void markFrom(int row){
+        mark(row, dirty.length);
+    }
+
+    /**
+     * It flags the rows in [from, to) that are in the window
+     *
+     * @param from The first row to flag, which may be outside the window
+     * @param to The row after the last row to flag, which may be outside the window
+     */
+    private void mark(int from, int to){
+        int start = Math.max(0, from);
+        int end = Math.min(dirty.length, to);
+        if(start < end){
+            Arrays.fill(dirty, start, end, true);
+        }
+    }
+}
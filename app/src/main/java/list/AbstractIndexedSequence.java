@@ -0,0 +1,250 @@
+package list;
+
+/**
+ * Skeletal implementation of a sequence whose elements are only addressed by
+ * index. The positions it hands out remember the index of their element and
+ * the structure of the sequence when they were created; they stay valid while
+ * elements are only replaced, and become invalid as soon as an element is
+ * inserted or removed anywhere in the sequence.
+ *
+ * Subclasses implement the index based operations of List and call
+ * structureChanged() whenever they insert or remove elements.
+ *
+ * @param <E> It can store any data type
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see Sequence
+ */
+public abstract class AbstractIndexedSequence<E> implements Sequence<E> {
+
+    /** Position holding the index of its element. */
+    private class IndexPosition implements Position<E> {
+
+        /** Index of the element. */
+        private final int index;
+
+        /** Structure of the sequence the index refers to. */
+        private final int stamp;
+
+        /** Creates a position for the element at the given index. */
+        IndexPosition(int index) {
+            this.index = index;
+            this.stamp = structureStamp;
+        }
+
+        /**
+         * Returns the element stored at this position.
+         *
+         * @return the stored element
+         * @throws IllegalStateException if the position is no longer valid
+         */
+        public E getElement() throws IllegalStateException {
+            if (!isValid()) {
+                throw new IllegalStateException("The position is no longer valid.");
+            }
+            return get(index);
+        }
+
+        /** Tests whether no element was inserted or removed since the position was created. */
+        private boolean isValid() {
+            return stamp == structureStamp;
+        }
+
+        /** Returns the sequence the position belongs to. */
+        private AbstractIndexedSequence<E> owner() {
+            return AbstractIndexedSequence.this;
+        }
+    }
+
+    /** Number of structural changes made to the sequence. */
+    private int structureStamp;
+
+    /** Records that elements were inserted or removed, invalidating every position. */
+    protected void structureChanged() {
+        structureStamp++;
+    }
+
+    /**
+     * Returns the first Position in the sequence.
+     *
+     * @return the first Position in the sequence (or null, if empty).
+     */
+    public Position<E> first() {
+        return isEmpty() ? null : new IndexPosition(0);
+    }
+
+    /**
+     * Returns the last Position in the sequence.
+     *
+     * @return the last Position in the sequence (or null, if empty).
+     */
+    public Position<E> last() {
+        return isEmpty() ? null : new IndexPosition(size() - 1);
+    }
+
+    /**
+     * Returns the Position immediately before the given position.
+     *
+     * @param position A Position of the sequence.
+     * @return The Position of the preceding element (or null, if p is first).
+     * @throws IllegalArgumentException if p is not a valid position for this
+     *                                  sequence.
+     */
+    public Position<E> before(Position<E> position) throws IllegalArgumentException {
+        int index = validIndex(position);
+        return (index == 0) ? null : new IndexPosition(index - 1);
+    }
+
+    /**
+     * Returns the Position immediately after the given position.
+     *
+     * @param position A Position of the sequence.
+     * @return The Position of the following element (or null, if p is last).
+     * @throws IllegalArgumentException if p is not a valid position for this
+     *                                  sequence.
+     */
+    public Position<E> after(Position<E> position) throws IllegalArgumentException {
+        int index = validIndex(position);
+        return (index == size() - 1) ? null : new IndexPosition(index + 1);
+    }
+
+    /**
+     * Inserts an element at the front of the sequence.
+     *
+     * @param element the new element.
+     * @return The Position representing the location of the new element.
+     */
+    public Position<E> addFirst(E element) {
+        add(0, element);
+        return new IndexPosition(0);
+    }
+
+    /**
+     * Inserts an element at the back of the sequence.
+     *
+     * @param element the new element.
+     * @return The Position representing the location of the new element.
+     */
+    public Position<E> addLast(E element) {
+        add(size(), element);
+        return new IndexPosition(size() - 1);
+    }
+
+    /**
+     * Inserts an element immediately before the given Position.
+     *
+     * @param position The Position before which the insertion takes place.
+     * @param element  The new element.
+     * @return The Position representing the location of the new element.
+     * @throws IllegalArgumentException if p is not a valid position for this
+     *                                  sequence.
+     */
+    public Position<E> addBefore(Position<E> position, E element) throws IllegalArgumentException {
+        int index = validIndex(position);
+        add(index, element);
+        return new IndexPosition(index);
+    }
+
+    /**
+     * Inserts an element immediately after the given Position.
+     *
+     * @param position The Position after which the insertion takes place.
+     * @param element  The new element.
+     * @return The Position representing the location of the new element.
+     * @throws IllegalArgumentException if p is not a valid position for this
+     *                                  sequence.
+     */
+    public Position<E> addAfter(Position<E> position, E element) throws IllegalArgumentException {
+        int index = validIndex(position);
+        add(index + 1, element);
+        return new IndexPosition(index + 1);
+    }
+
+    /**
+     * Replaces the element stored at the given Position and returns the
+     * replaced element. The position stays valid.
+     *
+     * @param position The Position of the element to be replaced.
+     * @param element  The new element.
+     * @return The replaced element.
+     * @throws IllegalArgumentException if p is not a valid position for this
+     *                                  sequence.
+     */
+    public E set(Position<E> position, E element) throws IllegalArgumentException {
+        return set(validIndex(position), element);
+    }
+
+    /**
+     * Removes the element stored at the given Position and returns it.
+     *
+     * @param position The Position of the element to be removed.
+     * @return The removed element.
+     * @throws IllegalArgumentException if p is not a valid position for this
+     *                                  sequence.
+     */
+    public E remove(Position<E> position) throws IllegalArgumentException {
+        return remove(validIndex(position));
+    }
+
+    /**
+     * Returns the position of the element at the given index.
+     *
+     * @param index The index of the element.
+     * @return The position of the element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public Position<E> atIndex(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+        return new IndexPosition(index);
+    }
+
+    /**
+     * Returns the index of the element stored at the given Position.
+     *
+     * @param position The Position of the element.
+     * @return The index of the element, or -1 if the position does not belong
+     *         to this sequence or is no longer valid.
+     */
+    public int indexOf(Position<E> position) {
+        if (!(position instanceof AbstractIndexedSequence<?>.IndexPosition)) {
+            return -1;
+        }
+        @SuppressWarnings("unchecked") // checked just above
+        IndexPosition indexed = (IndexPosition) position;
+        return (indexed.owner() == this && indexed.isValid()) ? indexed.index : -1;
+    }
+
+    /** Returns the index of a valid position of this sequence. */
+    private int validIndex(Position<E> position) throws IllegalArgumentException {
+        int index = indexOf(position);
+        if (index < 0) {
+            throw new IllegalArgumentException("The position is not valid.");
+        }
+        return index;
+    }
+
+    /**
+     * Returns a String representation of the elements, in the same format as
+     * ArraySequence.
+     *
+     * @return the elements with their indices
+     */
+    public String toString() {
+        if (isEmpty()) {
+            return "{}";
+        }
+        StringBuilder str = new StringBuilder("{");
+        for (int i = 0; i < size(); i++) {
+            str.append("(").append(i).append(",").append(get(i)).append(")");
+            if (i < size() - 1) {
+                str.append(",");
+            }
+        }
+        return str.append("}").toString();
+    }
+}
@@ -1,5 +1,7 @@
 package list;
 
+import java.util.Arrays;
+
 /**
  * Realization of a list by means of a dynamic array. This is a simplified
  * version of the java.util.ArrayList class.
@@ -23,15 +25,30 @@ public class ArrayBackedList<E> implements List<E> {
     /** Number of elements stored in the list. */
     private int size = 0;
 
+    /** Receiver of the element moves and reallocations. */
+    private ListMetrics metrics = ListMetrics.NONE;
+
+    /** Policy deciding how the array grows and shrinks. */
+    private GrowthPolicy policy;
+
     /** Creates an array list with default initial capacity. */
     public ArrayBackedList() {
         this(INITIAL_CAPACITY);
     }
 
     /** Creates an array list with given initial capacity. */
-    @SuppressWarnings("unchecked") // safe cast
     public ArrayBackedList(int capacity) {
+        this(capacity, GrowthPolicy.DOUBLING);
+    }
+
+    /** Creates an array list with given initial capacity and growth policy. */
+    @SuppressWarnings("unchecked") // safe cast
+    public ArrayBackedList(int capacity, GrowthPolicy policy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
         elements = (E[]) new Object[capacity];
+        this.policy = policy;
     }
 
     /**
@@ -95,15 +112,27 @@ public class ArrayBackedList<E> implements List<E> {
     public void add(int index, E element) throws IndexOutOfBoundsException {
         checkIndex(index, size + 1);
 
-        // Double capacity if out of room
-        if (size == elements.length) {
-            expand(2 * elements.length);
-        }
-
-        shiftUp(index);
+        makeRoom(1);
+        shiftUp(index, 1);
         elements[index] = element; // ready to place the new element
     }
 
+    /**
+     * Inserts all given elements, in order, starting at the specified index,
+     * moving the subsequent elements only once for the whole batch.
+     *
+     * @param index    The index at which the first new element should be stored.
+     * @param elements The new elements to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void addAll(int index, E[] elements) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        makeRoom(elements.length);
+        shiftUp(index, elements.length);
+        System.arraycopy(elements, 0, this.elements, index, elements.length);
+    }
+
     /**
      * Removes and returns the element at the given index, shifting all
      * subsequent elements in the list one position closer to the front.
@@ -117,11 +146,94 @@ public class ArrayBackedList<E> implements List<E> {
         checkIndex(index, size);
         E previously = elements[index];
 
-        shiftDown(index);
+        shiftDown(index, 1);
 
         return previously;
     }
 
+    /**
+     * Removes the elements with index in [fromIndex, toIndex) with a single
+     * move of the subsequent elements.
+     *
+     * @param fromIndex The index of the first element to remove.
+     * @param toIndex   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        checkRange(fromIndex, toIndex);
+        shiftDown(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Replaces the elements with index in [fromIndex, toIndex) by the given
+     * elements, moving the subsequent elements at most once.
+     *
+     * @param fromIndex The index of the first element to replace.
+     * @param toIndex   The index after the last element to replace.
+     * @param elements  The new elements to be stored.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void replaceRange(int fromIndex, int toIndex, E[] elements) throws IndexOutOfBoundsException {
+        checkRange(fromIndex, toIndex);
+        int growth = elements.length - (toIndex - fromIndex);
+        if (growth > 0) {
+            makeRoom(growth);
+            shiftUp(toIndex, growth);
+        } else if (growth < 0) {
+            shiftDown(toIndex + growth, -growth);
+        }
+        System.arraycopy(elements, 0, this.elements, fromIndex, elements.length);
+    }
+
+    /**
+     * Makes the list report element moves and reallocations to the given metrics.
+     *
+     * @param metrics The receiver of the events, or ListMetrics.NONE.
+     */
+    public void setMetrics(ListMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Makes the list resize its array according to the given policy from now
+     * on.
+     *
+     * @param policy The growth policy.
+     */
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the number of elements the list holds without growing.
+     *
+     * @return the length of the internal array
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Grows the internal array, if needed, so that it holds at least the given
+     * number of elements, e.g. before adding a number of elements known in
+     * advance one at a time.
+     *
+     * @param capacity The number of elements the list should hold without
+     *                 growing.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            expand(GrowthPolicy.grown(capacity, capacity));
+        }
+    }
+
+    /** Shrinks the internal array to the number of elements in the list. */
+    public void trimToSize() {
+        if (size < elements.length) {
+            expand(size);
+        }
+    }
+
     /** Checks whether the given index is in the range [0, n-1]. */
     protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
         if (index < 0 || index >= range) {
@@ -129,11 +241,35 @@ public class ArrayBackedList<E> implements List<E> {
         }
     }
 
-    /** Resizes internal array to have given capacity >= size. */
+    /** Checks whether [fromIndex, toIndex) is a valid range within [0, size]. */
+    protected void checkRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Illegal range: [" + fromIndex + ", " + toIndex + ")");
+        }
+    }
+
+    /** Grows the internal array, at most once, so that count more elements fit. */
+    private void makeRoom(int count) {
+        // Ask the policy for a larger array if out of room
+        if (size + count > elements.length) {
+            expand(policy.grow(elements.length, size + count));
+        }
+    }
+
+    /** Shrinks the internal array if the policy finds it too empty. */
+    private void release() {
+        int capacity = policy.shrink(elements.length, size);
+        if (capacity < elements.length) {
+            expand(Math.max(capacity, size));
+        }
+    }
+
+    /** Resizes internal array to have given capacity >= size, growing or shrinking it. */
     @SuppressWarnings("unchecked") // safe cast
     protected void expand(int capacity) {
         E[] temp = (E[]) new Object[capacity]; // safe cast
         if (size >= 0) System.arraycopy(elements, 0, temp, 0, size);
+        metrics.capacityChanged(elements.length, capacity, size);
         elements = temp; // start using the new array
     }
 
@@ -141,24 +277,26 @@ public class ArrayBackedList<E> implements List<E> {
      * Shift elements up.
      * 
      * @param index Start at this index.
+     * @param count Move the elements this many slots up.
      */
-    private void shiftUp(int index) {
-        for (int i = size - 1; i >= index; i--) {
-            elements[i + 1] = elements[i];
-        }
-        size++;
+    private void shiftUp(int index, int count) {
+        System.arraycopy(elements, index, elements, index + count, size - index);
+        metrics.elementsMoved(size - index);
+        size += count;
     }
 
     /**
      * Shift elements down.
      * 
      * @param index Start at this index.
+     * @param count Move the elements this many slots down, dropping the ones
+     *              they are moved over.
      */
-    private void shiftDown(int index) {
-        for (int i = index; i < size - 1; i++) {
-            elements[i] = elements[i + 1];
-        }
-        elements[size - 1] = null; // help garbage collection
-        size--;
+    private void shiftDown(int index, int count) {
+        System.arraycopy(elements, index + count, elements, index, size - index - count);
+        metrics.elementsMoved(size - index - count);
+        Arrays.fill(elements, size - count, size, null); // help garbage collection
+        size -= count;
+        release();
     }
 }
@@ -1,7 +1,9 @@
 package list;
 
 /**
- * This class implements the interface Sequence and builds upon the class ArrayBackedList to implement methods for handling a list
+ * This class implements the interface Sequence and builds upon the class ArrayBackedList to implement methods for handling a list.
+ * Every element is wrapped in a node that serves as its position and follows it through insertions and removals; when
+ * positions are not needed, a FlatArraySequence stores the elements without the nodes
  * @param <E> It can store any data type
  *
  * @version 1.0.0, 18th November 2023
@@ -20,7 +22,8 @@ public class ArraySequence<E> implements Sequence<E> {
          */
         private E element;
         /**
-         * It stores the index of the element in array
+         * It stores the index of the element in array. It is exact for nodes before dirtyFrom and
+         * set to -1 once the node is removed
          */
         private int index;
 
@@ -63,6 +66,17 @@ public class ArraySequence<E> implements Sequence<E> {
      */
     private ArrayBackedList<SequenceNode<E>> items;
 
+    /**
+     * Every node stored before this index knows its exact index. Nodes from here on may have been
+     * shifted and are renumbered lazily the next time one of them is looked up
+     */
+    private int dirtyFrom;
+
+    /**
+     * It receives the element moves of the backing list and the renumbering of the positions
+     */
+    private ListMetrics metrics = ListMetrics.NONE;
+
     /**
      * It creates a new instance of the class ArraySequence
      */
@@ -70,6 +84,27 @@ public class ArraySequence<E> implements Sequence<E> {
         items = new ArrayBackedList<>();
     }
 
+    /**
+     * It creates a new instance of the class ArraySequence with room for the given number of
+     * elements, e.g. the number of lines of a file about to be loaded
+     *
+     * @param capacity The number of elements the sequence holds without growing
+     */
+    public ArraySequence(int capacity){
+        this(capacity, GrowthPolicy.DOUBLING);
+    }
+
+    /**
+     * It creates a new instance of the class ArraySequence with room for the given number of
+     * elements, whose backing array grows and shrinks according to the given policy
+     *
+     * @param capacity The number of elements the sequence holds without growing
+     * @param policy The growth policy of the backing array
+     */
+    public ArraySequence(int capacity, GrowthPolicy policy){
+        items = new ArrayBackedList<>(capacity, policy);
+    }
+
     /**
      * Returns the number of elements in the list.
      *
@@ -189,11 +224,10 @@ public class ArraySequence<E> implements Sequence<E> {
      */
     public Position<E> addBefore(Position<E> position, E element) throws IllegalArgumentException{
         int index = indexOf(position);
-        if(index < 1 || index >size()){
+        if(index < 0 || index >= size()){
             throw new IllegalArgumentException("The position is not valid.");
         }
-        add(index-1 , element);
-        return before(position);
+        return insert(index, element);
     }
 
     /**
@@ -207,11 +241,10 @@ public class ArraySequence<E> implements Sequence<E> {
      */
     public Position<E> addAfter(Position<E> position, E element) throws IllegalArgumentException{
         int index = indexOf(position);
-        if(index < -1 || index > size()-1){
+        if(index < 0 || index > size()-1){
             throw new IllegalArgumentException("Illegal index provided");
         }
-        add(index+1, element);
-        return after(position);
+        return insert(index+1, element);
     }
 
     /**
@@ -232,7 +265,8 @@ public class ArraySequence<E> implements Sequence<E> {
 
     /**
      * Replaces the element at the specified index, and returns the element
-     * previously stored.
+     * previously stored. The element is replaced in its node, so the position
+     * of the index stays valid and no node is allocated.
      *
      * @param index   The index of the element to replace.
      * @param element the new element to be stored.
@@ -244,9 +278,9 @@ public class ArraySequence<E> implements Sequence<E> {
         if(index < 0 || index >= size()){
             throw new IndexOutOfBoundsException("Illegal index provided");
         }
-        SequenceNode<E> node = new SequenceNode<>(element,index);
-        E prevElement = get(index);
-        items.set(index, node);
+        SequenceNode<E> node = items.get(index);
+        E prevElement = node.getElement();
+        node.element = element;
         return prevElement;
     }
 
@@ -260,8 +294,48 @@ public class ArraySequence<E> implements Sequence<E> {
      *                                   than size().
      */
     public void add(int index, E element) throws IndexOutOfBoundsException{
-        SequenceNode<E> node = new SequenceNode<>(element, index);
-        items.add(index, node);
+        insert(index, element);
+    }
+
+    /**
+     * Inserts all given elements, in order, starting at the specified index,
+     * shifting the subsequent elements only once.
+     *
+     * @param index    The index at which the first new element should be stored.
+     * @param elements The new elements to be stored.
+     * @throws IndexOutOfBoundsException If the index is negative or greater
+     *                                   than size().
+     */
+    public void addAll(int index, E[] elements) throws IndexOutOfBoundsException{
+        items.addAll(index, wrap(index, elements));
+        if(dirtyFrom >= index){
+            dirtyFrom = index + elements.length;
+        }
+    }
+
+    /**
+     * Removes the elements with index in [fromIndex, toIndex), shifting the
+     * subsequent elements only once.
+     *
+     * @param fromIndex The index of the first element to remove.
+     * @param toIndex   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException If the range is not within [0, size()].
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException{
+        replaceRange(fromIndex, toIndex, wrap(fromIndex, null));
+    }
+
+    /**
+     * Replaces the elements with index in [fromIndex, toIndex) by the given
+     * elements, shifting the subsequent elements at most once.
+     *
+     * @param fromIndex The index of the first element to replace.
+     * @param toIndex   The index after the last element to replace.
+     * @param elements  The new elements to be stored.
+     * @throws IndexOutOfBoundsException If the range is not within [0, size()].
+     */
+    public void replaceRange(int fromIndex, int toIndex, E[] elements) throws IndexOutOfBoundsException{
+        replaceRange(fromIndex, toIndex, wrap(fromIndex, elements));
     }
 
     /**
@@ -278,9 +352,9 @@ public class ArraySequence<E> implements Sequence<E> {
             throw new IndexOutOfBoundsException("Illegal index provided");
         }
 
-        E prevElement = get(index);
-        items.remove(index);
-        return prevElement;
+        SequenceNode<E> node = items.remove(index);
+        removed(node, index);
+        return node.getElement();
     }
 
     /**
@@ -302,7 +376,7 @@ public class ArraySequence<E> implements Sequence<E> {
         }
 
         E prevElement = node.getElement();
-        items.set(index, node);
+        node.element = element;
         return prevElement;
     }
 
@@ -325,6 +399,7 @@ public class ArraySequence<E> implements Sequence<E> {
 
         E oldElement = node.getElement();
         items.remove(index);
+        removed(node, index);
         return oldElement;
 
     }
@@ -355,14 +430,141 @@ public class ArraySequence<E> implements Sequence<E> {
      *                                  list.
      */
     public int indexOf(Position<E> position) throws IllegalArgumentException{
+        if(!(position instanceof SequenceNode)){
+            return -1;
+        }
         SequenceNode<E> node = (SequenceNode<E>) position;
 
-        for(int index = 0; index < items.size(); index++){
-            if(items.get(index).equals(node)){
-                return index;
-            }
+        if(!isAt(node) && dirtyFrom < items.size()){
+            renumber();
+        }
+        return isAt(node) ? node.index : -1;
+    }
+
+    /**
+     * It makes the sequence report the element moves of its backing list and the renumbering
+     * of its positions to the given metrics
+     *
+     * @param metrics The receiver of the events, or ListMetrics.NONE
+     */
+    public void setMetrics(ListMetrics metrics){
+        this.metrics = metrics;
+        items.setMetrics(metrics);
+    }
+
+    /**
+     * It makes the backing array grow and shrink according to the given policy from now on
+     *
+     * @param policy The growth policy
+     */
+    public void setGrowthPolicy(GrowthPolicy policy){
+        items.setGrowthPolicy(policy);
+    }
+
+    /**
+     * It grows the backing array, if needed, so that it holds at least the given number of elements
+     *
+     * @param capacity The number of elements the sequence should hold without growing
+     */
+    public void ensureCapacity(int capacity){
+        items.ensureCapacity(capacity);
+    }
+
+    /**
+     * It shrinks the backing array to the number of elements in the sequence
+     */
+    public void trimToSize(){
+        items.trimToSize();
+    }
+
+    /**
+     * It stores a new node for the element at the given index
+     *
+     * @param index The index at which the new element should be stored.
+     * @param element The new element to be stored.
+     * @return The node holding the new element
+     * @throws IndexOutOfBoundsException If the index is negative or greater
+     *                                   than size().
+     */
+    private SequenceNode<E> insert(int index, E element) throws IndexOutOfBoundsException{
+        SequenceNode<E> node = new SequenceNode<>(element, index);
+        items.add(index, node);
+        // The nodes after the new one have all moved up by one
+        if(dirtyFrom >= index){
+            dirtyFrom = index + 1;
+        }
+        return node;
+    }
+
+    /**
+     * It replaces a range of nodes by the given ones
+     *
+     * @param fromIndex The index of the first node to replace.
+     * @param toIndex   The index after the last node to replace.
+     * @param nodes     The new nodes.
+     * @throws IndexOutOfBoundsException If the range is not within [0, size()].
+     */
+    private void replaceRange(int fromIndex, int toIndex, SequenceNode<E>[] nodes) throws IndexOutOfBoundsException{
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex){
+            throw new IndexOutOfBoundsException("Illegal index provided");
+        }
+        for(int index = fromIndex; index < toIndex; index++){
+            items.get(index).index = -1;
+        }
+        items.replaceRange(fromIndex, toIndex, nodes);
+        if(dirtyFrom >= fromIndex){
+            dirtyFrom = fromIndex + nodes.length;
+        }
+        dirtyFrom = Math.min(dirtyFrom, items.size());
+    }
+
+    /**
+     * It creates the nodes for a run of elements stored from the given index on
+     *
+     * @param index The index of the first element
+     * @param elements The elements, or null for none
+     * @return The new nodes
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    private SequenceNode<E>[] wrap(int index, E[] elements){
+        int count = (elements == null) ? 0 : elements.length;
+        SequenceNode<E>[] nodes = (SequenceNode<E>[]) new ArraySequence<?>.SequenceNode<?>[count];
+        for(int i = 0; i < count; i++){
+            nodes[i] = new SequenceNode<>(elements[i], index + i);
+        }
+        return nodes;
+    }
+
+    /**
+     * It invalidates a node that was taken out of the list
+     *
+     * @param node The removed node
+     * @param index The index the node was stored at
+     */
+    private void removed(SequenceNode<E> node, int index){
+        node.index = -1;
+        dirtyFrom = Math.min(dirtyFrom, index);
+    }
+
+    /**
+     * It checks whether the node is stored at the index it remembers
+     *
+     * @param node The node to check
+     * @return true if the remembered index is up to date and false otherwise
+     */
+    private boolean isAt(SequenceNode<E> node){
+        return node.index >= 0 && node.index < dirtyFrom && items.get(node.index) == node;
+    }
+
+    /**
+     * It brings the index of every node from dirtyFrom onwards up to date
+     */
+    private void renumber(){
+        for(int index = dirtyFrom; index < items.size(); index++){
+            items.get(index).index = index;
         }
-        return -1;
+        metrics.positionsRenumbered(items.size() - dirtyFrom);
+        dirtyFrom = items.size();
     }
 
     /**
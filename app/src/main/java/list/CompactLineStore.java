@@ -0,0 +1,614 @@
+package list;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A sequence of lines that keeps their text as bytes in a few large shared
+ * slabs instead of as one String per line, and stores every distinct line
+ * only once. A line of the sequence is an int naming a distinct line, and a
+ * distinct line is the address of its bytes in the slabs, so a blank line or
+ * a closing brace repeated a hundred thousand times costs four bytes each.
+ *
+ * Lines whose characters all fit in Latin-1 are stored one byte per
+ * character, other lines in UTF-8. Every stored line starts with a short
+ * header holding its length and encoding. Distinct lines are found through an
+ * open addressing hash table of the ids and counted by reference; the bytes
+ * of the lines no longer used are reclaimed by copying the live ones to fresh
+ * slabs once they take more room than the live ones.
+ *
+ * Reading a line decodes a new String, so get should not be called in a loop
+ * over the same line. The store does not hold null and at most 4 GiB of
+ * distinct text.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see IndexOutOfBoundsException
+ * @see Sequence
+ */
+public class CompactLineStore extends AbstractIndexedSequence<String> {
+
+    /** Number of bits of an address holding the offset within a slab. */
+    private static final int OFFSET_BITS = 20;
+
+    /** Capacity of a shared slab, which also bounds the offset within it. */
+    static final int SLAB_SIZE = 1 << OFFSET_BITS;
+
+    /** Largest number of slabs an int address can name. */
+    private static final int MAX_SLABS = 1 << (Integer.SIZE - OFFSET_BITS);
+
+    /** Capacity of the first slab, which grows up to SLAB_SIZE. */
+    private static final int FIRST_SLAB_SIZE = 4096;
+
+    /** Default capacity of the arrays of lines and of distinct lines. */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /** Slabs holding the header and the bytes of every distinct line. */
+    private byte[][] slabs = new byte[0][];
+
+    /** Number of slabs in use; bytes are only appended to the last one. */
+    private int slabCount;
+
+    /** Number of bytes in use in the last slab. */
+    private int slabFill;
+
+    /**
+     * Address of every distinct line, made of its slab and its offset in the
+     * slab, or the id of the next free id when the id is free.
+     */
+    private int[] addresses = new int[INITIAL_CAPACITY];
+
+    /** Number of lines of the sequence using every distinct line, 0 when free. */
+    private int[] references = new int[INITIAL_CAPACITY];
+
+    /** Number of ids handed out, free ones included. */
+    private int idCount;
+
+    /** First free id, or -1 if there is none. */
+    private int firstFree = -1;
+
+    /** Number of distinct lines in use. */
+    private int distinct;
+
+    /**
+     * Hash table of the distinct lines, each slot holding an id plus one or 0
+     * if empty, at most three quarters full.
+     */
+    private int[] table = new int[2 * INITIAL_CAPACITY];
+
+    /** Number of bytes in the slabs taken by distinct lines in use. */
+    private long liveBytes;
+
+    /** Number of bytes in the slabs taken by lines no longer in use. */
+    private long garbageBytes;
+
+    /** Id of the distinct line at every index of the sequence. */
+    private int[] lines;
+
+    /** Number of lines in the sequence. */
+    private int size;
+
+    /** Creates an empty store with default initial capacity. */
+    public CompactLineStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of lines.
+     *
+     * @param capacity The number of lines the store holds without growing.
+     */
+    public CompactLineStore(int capacity) {
+        lines = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates a store holding the given lines.
+     *
+     * @param lines The lines to store.
+     */
+    public CompactLineStore(String[] lines) {
+        this(lines.length);
+        addAll(0, lines);
+    }
+
+    /**
+     * Returns the number of lines in the store.
+     *
+     * @return number of lines in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the store is empty.
+     *
+     * @return true if the store is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the line at the given index.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index, decoded into a new String.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        return decode(lines[index]);
+    }
+
+    /**
+     * Replaces the line at the given index, and returns the line previously
+     * stored. Positions stay valid.
+     *
+     * @param index   The index of the line to replace.
+     * @param element The new line to be stored.
+     * @return the previously stored line
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int previous = lines[index];
+        String replaced = decode(previous);
+        lines[index] = intern(element);
+        release(previous);
+        return replaced;
+    }
+
+    /**
+     * Inserts the given line at the given index, shifting all subsequent
+     * lines one position further.
+     *
+     * @param index   The index at which the new line should be stored.
+     * @param element The new line to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        int id = intern(element);
+        makeRoom(1);
+        System.arraycopy(lines, index, lines, index + 1, size - index);
+        lines[index] = id;
+        size++;
+        structureChanged();
+    }
+
+    /**
+     * Inserts all given lines, in order, starting at the given index,
+     * shifting the subsequent lines only once.
+     *
+     * @param index    The index at which the first new line should be stored.
+     * @param elements The new lines to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void addAll(int index, String[] elements) throws IndexOutOfBoundsException {
+        replaceRange(index, index, elements);
+    }
+
+    /**
+     * Removes and returns the line at the given index, shifting all
+     * subsequent lines one position closer to the front.
+     *
+     * @param index The index of the line to be removed.
+     * @return The line that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int id = lines[index];
+        String removed = decode(id);
+        System.arraycopy(lines, index + 1, lines, index, size - index - 1);
+        size--;
+        release(id);
+        structureChanged();
+        return removed;
+    }
+
+    /**
+     * Removes the lines with index in [fromIndex, toIndex), shifting the
+     * subsequent lines only once.
+     *
+     * @param fromIndex The index of the first line to remove.
+     * @param toIndex   The index after the last line to remove.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        replaceRange(fromIndex, toIndex, new String[0]);
+    }
+
+    /**
+     * Replaces the lines with index in [fromIndex, toIndex) by the given
+     * lines, shifting the subsequent lines at most once.
+     *
+     * @param fromIndex The index of the first line to replace.
+     * @param toIndex   The index after the last line to replace.
+     * @param elements  The new lines to be stored.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void replaceRange(int fromIndex, int toIndex, String[] elements) throws IndexOutOfBoundsException {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Illegal range: [" + fromIndex + ", " + toIndex + ")");
+        }
+        for (String element : elements) {
+            if (element == null) {
+                throw new NullPointerException("The store does not hold null");
+            }
+        }
+        // Intern the new lines before releasing the old ones, so that lines
+        // kept across the replacement are not dropped and stored again
+        int[] ids = new int[elements.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = intern(elements[i]);
+        }
+        int[] removed = Arrays.copyOfRange(lines, fromIndex, toIndex);
+        int growth = ids.length - removed.length;
+        makeRoom(growth);
+        System.arraycopy(lines, toIndex, lines, toIndex + growth, size - toIndex);
+        System.arraycopy(ids, 0, lines, fromIndex, ids.length);
+        size += growth;
+        for (int id : removed) {
+            release(id);
+        }
+        if (growth != 0) {
+            structureChanged();
+        }
+    }
+
+    /**
+     * Returns the number of distinct lines stored.
+     *
+     * @return the number of distinct lines
+     */
+    public int distinctCount() {
+        return distinct;
+    }
+
+    /**
+     * Returns the number of bytes the distinct lines take in the slabs,
+     * headers included.
+     *
+     * @return the number of bytes of text stored
+     */
+    public long textBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Reclaims the bytes of the lines no longer in use and releases the room
+     * reserved beyond the lines held, the distinct lines and their hash table.
+     */
+    public void trimToSize() {
+        if (garbageBytes > 0) {
+            compact();
+        }
+        if (slabCount > 0 && slabFill < slabs[slabCount - 1].length) {
+            slabs[slabCount - 1] = Arrays.copyOf(slabs[slabCount - 1], slabFill);
+        }
+        lines = Arrays.copyOf(lines, Math.max(size, 1));
+
+        // Drop the free ids at the end and thread the others anew
+        while (idCount > 0 && references[idCount - 1] == 0) {
+            idCount--;
+        }
+        firstFree = -1;
+        for (int id = idCount - 1; id >= 0; id--) {
+            if (references[id] == 0) {
+                addresses[id] = firstFree;
+                firstFree = id;
+            }
+        }
+        addresses = Arrays.copyOf(addresses, Math.max(idCount, 1));
+        references = Arrays.copyOf(references, Math.max(idCount, 1));
+        // The smallest power of two keeping the table at most three quarters full
+        int capacity = 4;
+        while (3 * capacity < 4 * distinct) {
+            capacity <<= 1;
+        }
+        rehash(capacity);
+    }
+
+    /**
+     * Prepares the store to hold the given number of lines without growing.
+     *
+     * @param capacity The number of lines the store should hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > lines.length) {
+            lines = Arrays.copyOf(lines, GrowthPolicy.grown(capacity, capacity));
+        }
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    private void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Grows the array of lines, at most once, so that count more lines fit. */
+    private void makeRoom(int count) {
+        if (size + count > lines.length) {
+            lines = Arrays.copyOf(lines, GrowthPolicy.DOUBLING.grow(lines.length, size + count));
+        }
+    }
+
+    /**
+     * Returns the id of the given line, storing it if no equal line is
+     * stored yet, and counts one more reference to it.
+     *
+     * @param line The line.
+     * @return the id of the distinct line equal to it
+     * @throws NullPointerException if the line is null
+     */
+    private int intern(String line) throws NullPointerException {
+        boolean latin1 = isLatin1(line);
+        byte[] bytes = line.getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        int header = (bytes.length << 1) | (latin1 ? 0 : 1);
+        int hash = hash(header, bytes, 0, bytes.length);
+
+        int mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (matches(id, header, bytes)) {
+                references[id]++;
+                return id;
+            }
+        }
+
+        int id = newId();
+        addresses[id] = store(header, bytes);
+        references[id] = 1;
+        distinct++;
+        if (4 * distinct > 3 * table.length) {
+            rehash(2 * table.length);
+        } else {
+            insert(id, hash);
+        }
+        return id;
+    }
+
+    /**
+     * Counts one reference less to the given distinct line, and forgets it
+     * once no line uses it any more.
+     *
+     * @param id The id of the distinct line.
+     */
+    private void release(int id) {
+        if (--references[id] > 0) {
+            return;
+        }
+        byte[] slab = slabs[addresses[id] >>> OFFSET_BITS];
+        int offset = addresses[id] & (SLAB_SIZE - 1);
+        int header = readHeader(slab, offset);
+        int start = offset + headerSize(header);
+        delete(id, hash(header, slab, start, start + (header >>> 1)));
+        long bytes = headerSize(header) + (header >>> 1);
+        liveBytes -= bytes;
+        garbageBytes += bytes;
+        addresses[id] = firstFree;
+        firstFree = id;
+        distinct--;
+        if (garbageBytes > liveBytes && garbageBytes >= FIRST_SLAB_SIZE) {
+            compact();
+        }
+    }
+
+    /** Returns a free id, growing the arrays of distinct lines if there is none. */
+    private int newId() {
+        if (firstFree >= 0) {
+            int id = firstFree;
+            firstFree = addresses[id];
+            return id;
+        }
+        if (idCount == addresses.length) {
+            int capacity = GrowthPolicy.DOUBLING.grow(idCount, idCount + 1);
+            addresses = Arrays.copyOf(addresses, capacity);
+            references = Arrays.copyOf(references, capacity);
+        }
+        return idCount++;
+    }
+
+    /**
+     * Appends a line to the last slab, starting a new slab if it does not fit.
+     *
+     * @param header The header of the line.
+     * @param bytes  The encoded line.
+     * @return the address of the line
+     */
+    private int store(int header, byte[] bytes) {
+        int length = headerSize(header) + bytes.length;
+        if (slabCount == 0 || slabFill + length > slabs[slabCount - 1].length) {
+            if (slabCount > 0 && slabFill + length <= SLAB_SIZE) {
+                // Grow the last slab rather than starting a new one while it is small
+                int capacity = Math.min(SLAB_SIZE, Math.max(2 * slabs[slabCount - 1].length, slabFill + length));
+                slabs[slabCount - 1] = Arrays.copyOf(slabs[slabCount - 1], capacity);
+            } else {
+                newSlab(Math.max(length, slabCount == 0 ? FIRST_SLAB_SIZE : SLAB_SIZE));
+            }
+        }
+        byte[] slab = slabs[slabCount - 1];
+        int address = ((slabCount - 1) << OFFSET_BITS) | slabFill;
+        int offset = writeHeader(slab, slabFill, header);
+        System.arraycopy(bytes, 0, slab, offset, bytes.length);
+        slabFill = offset + bytes.length;
+        if (slabFill > SLAB_SIZE - 1) {
+            // The offset of the next line would not fit in an address
+            slabFill = slab.length;
+        }
+        liveBytes += length;
+        return address;
+    }
+
+    /**
+     * Starts a new slab of the given capacity.
+     *
+     * @param capacity The capacity of the slab.
+     * @throws IllegalStateException if the store already has as many slabs as
+     *                               an address can name
+     */
+    private void newSlab(int capacity) throws IllegalStateException {
+        if (slabCount == MAX_SLABS) {
+            throw new IllegalStateException("The store cannot hold more text");
+        }
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, Math.max(4, 2 * slabCount));
+        }
+        slabs[slabCount++] = new byte[capacity];
+        slabFill = 0;
+    }
+
+    /**
+     * Copies the lines in use to fresh slabs, dropping the bytes of the
+     * others. The ids of the lines stay the same.
+     */
+    private void compact() {
+        byte[][] old = slabs;
+        slabs = new byte[0][];
+        slabCount = 0;
+        slabFill = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        for (int id = 0; id < idCount; id++) {
+            if (references[id] > 0) {
+                byte[] slab = old[addresses[id] >>> OFFSET_BITS];
+                int offset = addresses[id] & (SLAB_SIZE - 1);
+                int header = readHeader(slab, offset);
+                int start = offset + headerSize(header);
+                addresses[id] = store(header, Arrays.copyOfRange(slab, start, start + (header >>> 1)));
+            }
+        }
+    }
+
+    /** Tests whether the given distinct line has the given header and bytes. */
+    private boolean matches(int id, int header, byte[] bytes) {
+        byte[] slab = slabs[addresses[id] >>> OFFSET_BITS];
+        int offset = addresses[id] & (SLAB_SIZE - 1);
+        if (readHeader(slab, offset) != header) {
+            return false;
+        }
+        int start = offset + headerSize(header);
+        return Arrays.equals(slab, start, start + bytes.length, bytes, 0, bytes.length);
+    }
+
+    /** Decodes the given distinct line into a String. */
+    private String decode(int id) {
+        byte[] slab = slabs[addresses[id] >>> OFFSET_BITS];
+        int offset = addresses[id] & (SLAB_SIZE - 1);
+        int header = readHeader(slab, offset);
+        return new String(slab, offset + headerSize(header), header >>> 1,
+                (header & 1) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /** Adds the given id to the hash table at the first empty slot for its hash. */
+    private void insert(int id, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+    }
+
+    /**
+     * Removes the given id from the hash table, moving back the ids after it
+     * that could no longer be found past the emptied slot.
+     */
+    private void delete(int id, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != id + 1) {
+            slot = (slot + 1) & mask;
+        }
+        int empty = slot;
+        for (slot = (slot + 1) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int home = hashOf(table[slot] - 1) & mask;
+            // Move the id back unless its home lies cyclically in (empty, slot]
+            if (((slot - home) & mask) >= ((slot - empty) & mask)) {
+                table[empty] = table[slot];
+                empty = slot;
+            }
+        }
+        table[empty] = 0;
+    }
+
+    /** Rebuilds the hash table with the given number of slots. */
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int id = 0; id < idCount; id++) {
+            if (references[id] > 0) {
+                insert(id, hashOf(id));
+            }
+        }
+    }
+
+    /** Returns the hash of the given distinct line. */
+    private int hashOf(int id) {
+        byte[] slab = slabs[addresses[id] >>> OFFSET_BITS];
+        int offset = addresses[id] & (SLAB_SIZE - 1);
+        int header = readHeader(slab, offset);
+        int start = offset + headerSize(header);
+        return hash(header, slab, start, start + (header >>> 1));
+    }
+
+    /** Returns the hash of a line, spread so that its low bits can index the table. */
+    private static int hash(int header, byte[] bytes, int from, int to) {
+        int hash = header;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /** Tests whether every character of the line fits in Latin-1. */
+    private static boolean isLatin1(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the number of bytes of a header, seven bits of it per byte. */
+    private static int headerSize(int header) {
+        int size = 1;
+        while ((header >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    /** Writes a header at the given offset and returns the offset after it. */
+    private static int writeHeader(byte[] slab, int offset, int header) {
+        while ((header & ~0x7F) != 0) {
+            slab[offset++] = (byte) ((header & 0x7F) | 0x80);
+            header >>>= 7;
+        }
+        slab[offset++] = (byte) header;
+        return offset;
+    }
+
+    /** Reads the header at the given offset. */
+    private static int readHeader(byte[] slab, int offset) {
+        int header = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = slab[offset++];
+            header |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return header;
+    }
+}
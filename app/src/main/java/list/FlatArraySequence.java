@@ -0,0 +1,202 @@
+package list;
+
+/**
+ * Realization of a sequence that stores its elements directly in an
+ * ArrayBackedList, without wrapping each of them in a node as ArraySequence
+ * does. A sequence of n elements is thus a single array of n references,
+ * and replacing an element allocates nothing.
+ *
+ * Positions are only created when asked for, and hold the index of their
+ * element; they stay valid while elements are replaced and become invalid as
+ * soon as an element is inserted or removed anywhere in the sequence. Use an
+ * ArraySequence where positions have to survive insertions and removals.
+ *
+ * @param <E> It can store any data type
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see IndexOutOfBoundsException
+ * @see ArraySequence
+ */
+public class FlatArraySequence<E> extends AbstractIndexedSequence<E> {
+
+    /** List storing the elements themselves. */
+    private final ArrayBackedList<E> items;
+
+    /** Creates an empty sequence with default initial capacity. */
+    public FlatArraySequence() {
+        this(ArrayBackedList.INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty sequence with room for the given number of elements.
+     *
+     * @param capacity The number of elements the sequence holds without growing.
+     */
+    public FlatArraySequence(int capacity) {
+        this(capacity, GrowthPolicy.DOUBLING);
+    }
+
+    /**
+     * Creates an empty sequence with room for the given number of elements,
+     * whose array grows and shrinks according to the given policy.
+     *
+     * @param capacity The number of elements the sequence holds without growing.
+     * @param policy   The growth policy of the array.
+     */
+    public FlatArraySequence(int capacity, GrowthPolicy policy) {
+        items = new ArrayBackedList<>(capacity, policy);
+    }
+
+    /**
+     * Returns the number of elements in the sequence.
+     *
+     * @return number of elements in the sequence
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Tests whether the sequence is empty.
+     *
+     * @return true if the sequence is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Returns (but does not remove) the element at the given index.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E get(int index) throws IndexOutOfBoundsException {
+        return items.get(index);
+    }
+
+    /**
+     * Replaces the element at the given index, and returns the element
+     * previously stored. Positions stay valid.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E set(int index, E element) throws IndexOutOfBoundsException {
+        return items.set(index, element);
+    }
+
+    /**
+     * Inserts the given element at the given index, shifting all subsequent
+     * elements one position further.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element The new element to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, E element) throws IndexOutOfBoundsException {
+        items.add(index, element);
+        structureChanged();
+    }
+
+    /**
+     * Inserts all given elements, in order, starting at the given index,
+     * shifting the subsequent elements only once.
+     *
+     * @param index    The index at which the first new element should be stored.
+     * @param elements The new elements to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void addAll(int index, E[] elements) throws IndexOutOfBoundsException {
+        items.addAll(index, elements);
+        structureChanged();
+    }
+
+    /**
+     * Removes and returns the element at the given index, shifting all
+     * subsequent elements one position closer to the front.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E remove(int index) throws IndexOutOfBoundsException {
+        E removed = items.remove(index);
+        structureChanged();
+        return removed;
+    }
+
+    /**
+     * Removes the elements with index in [fromIndex, toIndex), shifting the
+     * subsequent elements only once.
+     *
+     * @param fromIndex The index of the first element to remove.
+     * @param toIndex   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        items.removeRange(fromIndex, toIndex);
+        structureChanged();
+    }
+
+    /**
+     * Replaces the elements with index in [fromIndex, toIndex) by the given
+     * elements, shifting the subsequent elements at most once.
+     *
+     * @param fromIndex The index of the first element to replace.
+     * @param toIndex   The index after the last element to replace.
+     * @param elements  The new elements to be stored.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void replaceRange(int fromIndex, int toIndex, E[] elements) throws IndexOutOfBoundsException {
+        items.replaceRange(fromIndex, toIndex, elements);
+        if (elements.length != toIndex - fromIndex) {
+            structureChanged();
+        }
+    }
+
+    /**
+     * Makes the sequence report element moves and reallocations to the given
+     * metrics.
+     *
+     * @param metrics The receiver of the events, or ListMetrics.NONE.
+     */
+    public void setMetrics(ListMetrics metrics) {
+        items.setMetrics(metrics);
+    }
+
+    /**
+     * Makes the array grow and shrink according to the given policy from now on.
+     *
+     * @param policy The growth policy.
+     */
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        items.setGrowthPolicy(policy);
+    }
+
+    /**
+     * Grows the array, if needed, so that it holds at least the given number
+     * of elements.
+     *
+     * @param capacity The number of elements the sequence should hold without
+     *                 growing.
+     */
+    public void ensureCapacity(int capacity) {
+        items.ensureCapacity(capacity);
+    }
+
+    /** Shrinks the array to the number of elements in the sequence. */
+    public void trimToSize() {
+        items.trimToSize();
+    }
+}
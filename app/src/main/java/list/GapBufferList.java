@@ -0,0 +1,238 @@
+package list;
+
+import java.util.Arrays;
+
+/**
+ * Realization of a list by means of a gap buffer. The free capacity of the
+ * backing array is kept as a single contiguous gap that follows the most
+ * recent edit, so a run of insertions or removals around the same index only
+ * moves the elements between the old and the new edit location instead of
+ * every trailing element of the list.
+ *
+ * @param <E> It can store any data type
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see IndexOutOfBoundsException
+ * @see List
+ */
+public class GapBufferList<E> implements List<E> {
+
+    /** Default array capacity. */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /** Array storing the elements of the list around the gap. */
+    private E[] elements;
+
+    /** First index of the gap in the backing array. */
+    private int gapStart;
+
+    /** First index after the gap in the backing array. */
+    private int gapEnd;
+
+    /** Receiver of the element moves and reallocations. */
+    private ListMetrics metrics = ListMetrics.NONE;
+
+    /** Creates a gap buffer list with default initial capacity. */
+    public GapBufferList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Creates a gap buffer list with given initial capacity. */
+    @SuppressWarnings("unchecked") // safe cast
+    public GapBufferList(int capacity) {
+        elements = (E[]) new Object[Math.max(capacity, 1)];
+        gapStart = 0;
+        gapEnd = elements.length;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return elements.length - gapLength();
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        return elements[physicalIndex(index)];
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E set(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        int slot = physicalIndex(index);
+        E previously = elements[slot];
+        elements[slot] = element;
+
+        return previously;
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list. The gap
+     * is first moved to the index, so only the elements between the previous
+     * edit and this one are moved.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size() + 1);
+
+        makeRoom(1);
+        moveGap(index);
+        elements[gapStart++] = element;
+    }
+
+    /**
+     * Inserts all given elements, in order, starting at the specified index.
+     * They are copied into the gap in one go.
+     *
+     * @param index    The index at which the first new element should be stored.
+     * @param elements The new elements to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void addAll(int index, E[] elements) throws IndexOutOfBoundsException {
+        checkIndex(index, size() + 1);
+        makeRoom(elements.length);
+        moveGap(index);
+        System.arraycopy(elements, 0, this.elements, gapStart, elements.length);
+        gapStart += elements.length;
+    }
+
+    /**
+     * Removes and returns the element at the given index. The gap is first
+     * moved to the index and then simply widened over the removed element.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        moveGap(index);
+
+        E previously = elements[gapEnd];
+        elements[gapEnd++] = null; // help garbage collection
+        return previously;
+    }
+
+    /**
+     * Removes the elements with index in [fromIndex, toIndex) by moving the
+     * gap to fromIndex and widening it over the removed elements.
+     *
+     * @param fromIndex The index of the first element to remove.
+     * @param toIndex   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Illegal range: [" + fromIndex + ", " + toIndex + ")");
+        }
+        moveGap(fromIndex);
+        Arrays.fill(elements, gapEnd, gapEnd + (toIndex - fromIndex), null); // help garbage collection
+        gapEnd += toIndex - fromIndex;
+    }
+
+    /**
+     * Makes the list report element moves and reallocations to the given metrics.
+     *
+     * @param metrics The receiver of the events, or ListMetrics.NONE.
+     */
+    public void setMetrics(ListMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Resizes internal array to have given capacity >= size, keeping the gap in place. */
+    @SuppressWarnings("unchecked") // safe cast
+    protected void expand(int capacity) {
+        E[] temp = (E[]) new Object[capacity]; // safe cast
+        int tail = elements.length - gapEnd;
+        System.arraycopy(elements, 0, temp, 0, gapStart);
+        System.arraycopy(elements, gapEnd, temp, capacity - tail, tail);
+        gapEnd = capacity - tail;
+        metrics.capacityChanged(elements.length, capacity, gapStart + tail);
+        elements = temp; // start using the new array
+    }
+
+    /** Grows the internal array, at most once, so that count more elements fit. */
+    private void makeRoom(int count) {
+        // Double capacity if out of room
+        if (gapLength() < count) {
+            expand(Math.max(2 * elements.length, size() + count));
+        }
+    }
+
+    /** Returns the number of free slots in the gap. */
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    /** Maps a list index to its slot in the backing array. */
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    /**
+     * Moves the gap so that it starts at the given list index.
+     *
+     * @param index The list index the gap should start at.
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(elements, index, elements, gapEnd - count, count);
+            Arrays.fill(elements, index, index + Math.min(count, gapLength()), null);
+            gapStart -= count;
+            gapEnd -= count;
+            metrics.elementsMoved(count);
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(elements, gapEnd, elements, gapStart, count);
+            Arrays.fill(elements, Math.max(gapEnd, gapStart + count), gapEnd + count, null);
+            gapStart += count;
+            gapEnd += count;
+            metrics.elementsMoved(count);
+        }
+    }
+}
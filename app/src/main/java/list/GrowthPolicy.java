@@ -0,0 +1,108 @@
+package list;
+
+/**
+ * Policy deciding how the array backing a list is resized. A list asks the
+ * policy for a new capacity whenever its elements no longer fit, and after
+ * every removal whether the array should shrink.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see ArrayBackedList
+ */
+public interface GrowthPolicy {
+
+    /** Largest array the virtual machine reliably allocates. */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** Doubles the capacity and never shrinks, as ArrayBackedList always did. */
+    GrowthPolicy DOUBLING = (capacity, required) -> grown(2L * capacity, required);
+
+    /** Grows the capacity by half and never shrinks, trading copies for memory. */
+    GrowthPolicy ONE_AND_A_HALF = (capacity, required) -> grown(capacity + (capacity >> 1), required);
+
+    /**
+     * Returns the capacity of an array that has to hold the required number
+     * of elements.
+     *
+     * @param capacity The current capacity.
+     * @param required The number of elements that have to fit, greater than
+     *                 capacity.
+     * @return the new capacity, at least required.
+     * @throws OutOfMemoryError if required is greater than MAX_CAPACITY.
+     */
+    int grow(int capacity, int required) throws OutOfMemoryError;
+
+    /**
+     * Returns the capacity the array should shrink to once it holds the given
+     * number of elements. The default never shrinks.
+     *
+     * @param capacity The current capacity.
+     * @param size     The number of elements held.
+     * @return the new capacity, at least size, or capacity to keep the array.
+     */
+    default int shrink(int capacity, int size) {
+        return capacity;
+    }
+
+    /**
+     * Returns a policy growing the capacity by a fixed number of elements.
+     * Every growth copies the whole array, so filling it takes quadratic time;
+     * it suits lists whose final size is roughly known.
+     *
+     * @param increment The number of elements added to the capacity.
+     * @return the policy.
+     * @throws IllegalArgumentException if the increment is not positive.
+     */
+    static GrowthPolicy fixedIncrement(int increment) throws IllegalArgumentException {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Illegal increment: " + increment);
+        }
+        return (capacity, required) -> grown((long) capacity + increment, required);
+    }
+
+    /**
+     * Returns a policy that grows like this one and halves the capacity once
+     * no more than a quarter of it is used, as many times as needed, never
+     * below the given minimum.
+     * Since the halved array is still half empty, it takes as many insertions
+     * as there are elements before it grows again, so alternating insertions
+     * and removals around the threshold do not resize the array every time.
+     *
+     * @param minimum The capacity the array never shrinks below.
+     * @return the policy.
+     */
+    default GrowthPolicy shrinkingAtQuarter(int minimum) {
+        GrowthPolicy growth = this;
+        return new GrowthPolicy() {
+            public int grow(int capacity, int required) {
+                return growth.grow(capacity, required);
+            }
+
+            public int shrink(int capacity, int size) {
+                // Halve as often as a bulk removal requires, but reallocate only once
+                while (capacity > minimum && size <= capacity / 4) {
+                    capacity = Math.max(capacity / 2, minimum);
+                }
+                return capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the proposed capacity, raised to the required one if smaller and
+     * capped at MAX_CAPACITY.
+     *
+     * @param proposed The capacity proposed by a policy, possibly beyond the
+     *                 range of an int.
+     * @param required The number of elements that have to fit.
+     * @return the new capacity.
+     * @throws OutOfMemoryError if required is greater than MAX_CAPACITY.
+     */
+    static int grown(long proposed, int required) throws OutOfMemoryError {
+        if (required < 0 || required > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array size too large: " + Integer.toUnsignedString(required));
+        }
+        return (int) Math.min(Math.max(proposed, required), MAX_CAPACITY);
+    }
+}
@@ -0,0 +1,108 @@
+package list;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of decoded lines, keyed by their line number in the file
+ * they were decoded from. Once the cache is full, the least recently read
+ * line is evicted to make room.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class LineCache {
+
+    /** The cached lines, in order from least to most recently read. */
+    private final LinkedHashMap<Integer, String> lines;
+
+    /** The largest number of lines kept. */
+    private final int capacity;
+
+    /** Number of lookups that found their line in the cache. */
+    private long hits;
+
+    /** Number of lookups that had to decode their line. */
+    private long misses;
+
+    /**
+     * Creates an empty cache holding at most the given number of lines.
+     *
+     * @param capacity The largest number of lines kept.
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public LineCache(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The cache must hold at least one line.");
+        }
+        this.capacity = capacity;
+        this.lines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > LineCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached line, counting the lookup as a hit or a miss.
+     *
+     * @param line The line number in the file.
+     * @return The decoded line, or null if it is not cached.
+     */
+    public String get(int line) {
+        String text = lines.get(line);
+        if (text == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return text;
+    }
+
+    /**
+     * Caches a decoded line, evicting the least recently read one if full.
+     *
+     * @param line The line number in the file.
+     * @param text The decoded line.
+     */
+    public void put(int line, String text) {
+        lines.put(line, text);
+    }
+
+    /**
+     * Returns the number of lines currently cached.
+     *
+     * @return number of cached lines
+     */
+    public int size() {
+        return lines.size();
+    }
+
+    /**
+     * Returns the largest number of lines kept.
+     *
+     * @return the capacity of the cache
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found their line in the cache.
+     *
+     * @return number of cache hits
+     */
+    public long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to decode their line.
+     *
+     * @return number of cache misses
+     */
+    public long missCount() {
+        return misses;
+    }
+}
@@ -1,5 +1,7 @@
 package list;
 
+import java.util.Collection;
+
 /**
  * A simplified version of the java.util.List interface.
  *
@@ -67,4 +69,96 @@ public interface List<E> {
    *                                   than size()-1.
    */
   E remove(int index) throws IndexOutOfBoundsException;
-}
\ No newline at end of file
+
+  /**
+   * Inserts all given elements, in order, starting at the specified index of
+   * the list, shifting all subsequent elements further to make room.
+   *
+   * @param index    The index at which the first new element should be stored.
+   * @param elements The new elements to be stored.
+   * @throws IndexOutOfBoundsException If the index is negative or greater
+   *                                   than size().
+   */
+  default void addAll(int index, E[] elements) throws IndexOutOfBoundsException {
+    if (index < 0 || index > size()) {
+      throw new IndexOutOfBoundsException("Illegal index: " + index);
+    }
+    for (E element : elements) {
+      add(index++, element);
+    }
+  }
+
+  /**
+   * Inserts all elements of the given collection, in iteration order, starting
+   * at the specified index of the list.
+   *
+   * @param index    The index at which the first new element should be stored.
+   * @param elements The new elements to be stored.
+   * @throws IndexOutOfBoundsException If the index is negative or greater
+   *                                   than size().
+   */
+  @SuppressWarnings("unchecked") // the array only ever holds elements of type E
+  default void addAll(int index, Collection<? extends E> elements) throws IndexOutOfBoundsException {
+    addAll(index, (E[]) elements.toArray());
+  }
+
+  /**
+   * Removes the elements with index in [fromIndex, toIndex), shifting all
+   * subsequent elements closer to the front.
+   *
+   * @param fromIndex The index of the first element to remove.
+   * @param toIndex   The index after the last element to remove.
+   * @throws IndexOutOfBoundsException If fromIndex is negative, toIndex is
+   *                                   greater than size() or fromIndex is
+   *                                   greater than toIndex.
+   */
+  default void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Illegal range: [" + fromIndex + ", " + toIndex + ")");
+    }
+    for (int i = fromIndex; i < toIndex; i++) {
+      remove(fromIndex);
+    }
+  }
+
+  /**
+   * Replaces the elements with index in [fromIndex, toIndex) by the given
+   * elements, which may be more or fewer than the ones replaced.
+   *
+   * @param fromIndex The index of the first element to replace.
+   * @param toIndex   The index after the last element to replace.
+   * @param elements  The new elements to be stored.
+   * @throws IndexOutOfBoundsException If fromIndex is negative, toIndex is
+   *                                   greater than size() or fromIndex is
+   *                                   greater than toIndex.
+   */
+  default void replaceRange(int fromIndex, int toIndex, E[] elements) throws IndexOutOfBoundsException {
+    removeRange(fromIndex, toIndex);
+    addAll(fromIndex, elements);
+  }
+
+  /**
+   * Prepares the list to hold at least the given number of elements without
+   * growing. Lists that do not preallocate ignore the call.
+   *
+   * @param capacity The number of elements the list should hold.
+   */
+  default void ensureCapacity(int capacity) {
+  }
+
+  /**
+   * Releases the room the list reserved beyond its elements. Lists that do
+   * not preallocate ignore the call.
+   */
+  default void trimToSize() {
+  }
+
+  /**
+   * Makes the list report its low level events to the given metrics. Lists
+   * without such events ignore the call.
+   *
+   * @param metrics The receiver of the events, or ListMetrics.NONE.
+   */
+  default void setMetrics(ListMetrics metrics) {
+  }
+}
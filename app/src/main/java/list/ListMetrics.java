@@ -0,0 +1,45 @@
+package list;
+
+/**
+ * Receiver of the low level events of a list: elements moved to open or close
+ * a gap, reallocations of the backing array and renumbering of positions.
+ * Every method does nothing by default, and lists start out reporting to
+ * NONE, whose calls the JIT compiler inlines away, so a list without metrics
+ * pays nothing for them.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see List#setMetrics(ListMetrics)
+ */
+public interface ListMetrics {
+
+    /** Metrics that ignore every event. */
+    ListMetrics NONE = new ListMetrics() { };
+
+    /**
+     * Called after elements were moved within the backing array.
+     *
+     * @param count The number of elements moved.
+     */
+    default void elementsMoved(int count) {
+    }
+
+    /**
+     * Called after the backing array was replaced by one of another capacity.
+     *
+     * @param oldCapacity The capacity before the change.
+     * @param newCapacity The capacity after the change.
+     * @param copied      The number of elements copied to the new array.
+     */
+    default void capacityChanged(int oldCapacity, int newCapacity, int copied) {
+    }
+
+    /**
+     * Called after the stored indices of positions were brought up to date.
+     *
+     * @param count The number of positions renumbered.
+     */
+    default void positionsRenumbered(int count) {
+    }
+}
@@ -0,0 +1,426 @@
+package list;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A list of the lines of a UTF-8 text file that is memory mapped rather than
+ * read. Opening the file only records where every line starts; the bytes of a
+ * line stay in the mapping until the line is first asked for, so loading a
+ * large file costs one long per line instead of one String per line.
+ *
+ * Lines are separated by '\n', and a '\r' right before it is dropped. Lines
+ * that are inserted or replaced are kept as Strings, every other line is a
+ * reference to its bytes in the file. Lines read from the file are either kept
+ * once decoded, or only held in a LineCache of bounded size.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see IndexOutOfBoundsException
+ * @see List
+ */
+public class MappedLineStore implements List<String> {
+
+    /** The largest number of bytes mapped by a single buffer. */
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    /** Default array capacity. */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /** The mapped file, split into buffers of SEGMENT_SIZE bytes. */
+    private final ByteBuffer[] segments;
+
+    /** The byte offset at which every line of the file starts, followed by the file length. */
+    private final long[] lineStarts;
+
+    /**
+     * One entry per line of the list. An entry n >= 0 refers to line n of the
+     * file, an entry -1-s refers to the String kept in slot s of strings.
+     */
+    private long[] entries;
+
+    /** Number of lines stored in the list. */
+    private int size;
+
+    /** The Strings of the lines that were decoded, inserted or replaced. */
+    private String[] strings;
+
+    /** Slots of strings that are free to reuse. */
+    private int[] freeSlots;
+
+    /** Number of used entries in freeSlots. */
+    private int freeCount;
+
+    /** Number of slots of strings that have been handed out. */
+    private int usedSlots;
+
+    /** Number of lines that still refer to their bytes in the mapping. */
+    private int undecoded;
+
+    /** The decoded lines of the file, or null if decoded lines are kept for good. */
+    private final LineCache cache;
+
+    /** Scratch space for copying the bytes of a line out of the mapping. */
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Creates the list of lines of the given mapped content.
+     *
+     * @param segments       The content, split into buffers of SEGMENT_SIZE bytes.
+     * @param length         The total number of bytes.
+     * @param decodeLazily   Whether lines stay undecoded until they are first read.
+     * @param cache          The cache for decoded lines, or null to keep them.
+     */
+    private MappedLineStore(ByteBuffer[] segments, long length, boolean decodeLazily, LineCache cache) {
+        this.segments = segments;
+        this.cache = cache;
+        this.lineStarts = scanLines(segments, length);
+
+        size = lineStarts.length - 1;
+        entries = new long[Math.max(size, INITIAL_CAPACITY)];
+        strings = new String[decodeLazily ? INITIAL_CAPACITY : Math.max(size, INITIAL_CAPACITY)];
+        freeSlots = new int[INITIAL_CAPACITY];
+        for (int i = 0; i < size; i++) {
+            entries[i] = decodeLazily ? i : store(decode(i));
+        }
+        undecoded = decodeLazily ? size : 0;
+    }
+
+    /**
+     * Maps the given file and creates the list of its lines.
+     *
+     * @param source       The path of the file to map.
+     * @param decodeLazily Whether lines stay undecoded until they are first read.
+     * @return The lines of the file.
+     * @throws IOException If the file could not be mapped.
+     */
+    public static MappedLineStore map(Path source, boolean decodeLazily) throws IOException {
+        return map(source, decodeLazily, null);
+    }
+
+    /**
+     * Maps the given file and creates the list of its lines. Lines are decoded
+     * when they are read, and only the most recently read ones are kept.
+     *
+     * @param source    The path of the file to map.
+     * @param cacheSize The largest number of decoded lines kept.
+     * @return The lines of the file.
+     * @throws IOException If the file could not be mapped.
+     * @throws IllegalArgumentException if the cache size is not positive
+     */
+    public static MappedLineStore map(Path source, int cacheSize) throws IOException {
+        return map(source, true, new LineCache(cacheSize));
+    }
+
+    /**
+     * Maps the given file and creates the list of its lines.
+     *
+     * @param source       The path of the file to map.
+     * @param decodeLazily Whether lines stay undecoded until they are first read.
+     * @param cache        The cache for decoded lines, or null to keep them.
+     * @return The lines of the file.
+     * @throws IOException If the file could not be mapped.
+     */
+    private static MappedLineStore map(Path source, boolean decodeLazily, LineCache cache) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = channel.size();
+            ByteBuffer[] segments = new ByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long offset = (long) i * SEGMENT_SIZE;
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(SEGMENT_SIZE, length - offset));
+                segments[i] = segment;
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedLineStore(segments, length, decodeLazily, cache);
+        }
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the line at index i, decoding it from the
+     * mapping the first time it is read.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        long entry = entries[index];
+        if (entry < 0) {
+            return strings[slotOf(entry)];
+        }
+        if (cache == null) {
+            String line = decode((int) entry);
+            entries[index] = store(line);
+            undecoded--;
+            return line;
+        }
+        String line = cache.get((int) entry);
+        if (line == null) {
+            line = decode((int) entry);
+            cache.put((int) entry, line);
+        }
+        return line;
+    }
+
+    /**
+     * Replaces the line at the specified index, and returns the line
+     * previously stored.
+     *
+     * @param index   The index of the line to replace.
+     * @param element The new line to be stored.
+     * @return the previously stored line
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        String previously = get(index);
+        if (entries[index] >= 0) {
+            entries[index] = store(element);
+            undecoded--;
+        } else {
+            strings[slotOf(entries[index])] = element;
+        }
+        return previously;
+    }
+
+    /**
+     * Inserts the given line at the specified index of the list, shifting
+     * all subsequent lines in the list one position further to make room.
+     *
+     * @param index   The index at which the new line should be stored.
+     * @param element the new line to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        addAll(index, new String[]{element});
+    }
+
+    /**
+     * Inserts all given lines, in order, starting at the specified index.
+     *
+     * @param index    The index at which the first new line should be stored.
+     * @param elements The new lines to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void addAll(int index, String[] elements) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        if (size + elements.length > entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(2 * entries.length, size + elements.length));
+        }
+        System.arraycopy(entries, index, entries, index + elements.length, size - index);
+        for (int i = 0; i < elements.length; i++) {
+            entries[index + i] = store(elements[i]);
+        }
+        size += elements.length;
+    }
+
+    /**
+     * Removes and returns the line at the given index, shifting all
+     * subsequent lines in the list one position closer to the front.
+     *
+     * @param index The index of the line to be removed.
+     * @return The line that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        String previously = get(index);
+        removeRange(index, index + 1);
+        return previously;
+    }
+
+    /**
+     * Removes the lines with index in [fromIndex, toIndex).
+     *
+     * @param fromIndex The index of the first line to remove.
+     * @param toIndex   The index after the last line to remove.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Illegal range: [" + fromIndex + ", " + toIndex + ")");
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            release(entries[i]);
+        }
+        System.arraycopy(entries, toIndex, entries, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    /**
+     * Returns the number of lines of the file that have not been decoded yet.
+     *
+     * @return number of lines still referring to their bytes in the mapping
+     */
+    public int undecodedCount() {
+        return undecoded;
+    }
+
+    /**
+     * Returns the cache of decoded lines, whose counters tell how often a read
+     * line had to be decoded.
+     *
+     * @return the cache, or null if decoded lines are kept for good
+     */
+    public LineCache cache() {
+        return cache;
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /**
+     * Decodes the given line of the file.
+     *
+     * @param line The line number in the file.
+     * @return The text of the line.
+     */
+    private String decode(int line) {
+        long start = lineStarts[line];
+        int length = (int) (lineStarts[line + 1] - start);
+
+        // Drop the line break, and a carriage return right before it
+        if (length > 0 && byteAt(start + length - 1) == '\n') {
+            length--;
+        }
+        if (length > 0 && byteAt(start + length - 1) == '\r') {
+            length--;
+        }
+
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, 2 * scratch.length)];
+        }
+        int copied = 0;
+        while (copied < length) {
+            long offset = start + copied;
+            ByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)];
+            int position = (int) (offset % SEGMENT_SIZE);
+            int count = Math.min(length - copied, segment.limit() - position);
+            segment.get(position, scratch, copied, count);
+            copied += count;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the byte at the given file offset.
+     *
+     * @param offset The offset in the file.
+     * @return The byte stored there.
+     */
+    private byte byteAt(long offset) {
+        return segments[(int) (offset / SEGMENT_SIZE)].get((int) (offset % SEGMENT_SIZE));
+    }
+
+    /**
+     * Keeps the given line in a free slot of strings.
+     *
+     * @param line The line to keep.
+     * @return The entry referring to the slot.
+     */
+    private long store(String line) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (usedSlots == strings.length) {
+                strings = Arrays.copyOf(strings, 2 * strings.length);
+            }
+            slot = usedSlots++;
+        }
+        strings[slot] = line;
+        return -1L - slot;
+    }
+
+    /**
+     * Gives the slot of a removed entry back, if it had one.
+     *
+     * @param entry The entry of the removed line.
+     */
+    private void release(long entry) {
+        if (entry >= 0) {
+            undecoded--;
+        } else {
+            int slot = slotOf(entry);
+            strings[slot] = null; // help garbage collection
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, 2 * freeSlots.length);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    /**
+     * Returns the slot of strings an entry refers to.
+     *
+     * @param entry An entry referring to a String.
+     * @return The slot holding the String.
+     */
+    private static int slotOf(long entry) {
+        return (int) (-1L - entry);
+    }
+
+    /**
+     * Finds the start of every line in the mapped content.
+     *
+     * @param segments The content, split into buffers of SEGMENT_SIZE bytes.
+     * @param length   The total number of bytes.
+     * @return The start offset of every line, followed by the length.
+     */
+    private static long[] scanLines(ByteBuffer[] segments, long length) {
+        long[] starts = new long[INITIAL_CAPACITY];
+        int count = 0;
+        if (length > 0) {
+            starts[count++] = 0;
+        }
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            long base = (long) s * SEGMENT_SIZE;
+            for (int i = 0; i < segment.limit(); i++) {
+                if (segment.get(i) == '\n' && base + i + 1 < length) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, 2 * starts.length);
+                    }
+                    starts[count++] = base + i + 1;
+                }
+            }
+        }
+        starts = Arrays.copyOf(starts, count + 1);
+        starts[count] = length;
+        return starts;
+    }
+}
@@ -0,0 +1,532 @@
+package list;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A list of lines whose text lives outside the Java heap, in direct
+ * ByteBuffers. On the heap there is only one long per line, the address of
+ * its bytes, in a single primitive array that the garbage collector never has
+ * to scan, so a document of several gigabytes can be edited with a small heap
+ * and without the pauses of collecting millions of Strings.
+ *
+ * Every line is stored as a four byte header, holding its length and whether
+ * it is Latin-1 or UTF-8, followed by its bytes. Lines are appended to chunks
+ * of up to CHUNK_SIZE bytes; a replaced or removed line leaves its bytes
+ * behind, and they are reclaimed by copying the live lines to fresh chunks
+ * once they take more room than the live ones.
+ *
+ * Reading a line does not change the store, so several threads may read it
+ * at once as long as none writes it; a write may free the chunks a reader is
+ * decoding from. The memory of the chunks is released when the store is
+ * closed, after which the store can no longer be used. A line cannot be
+ * longer than CHUNK_SIZE bytes, and the store does not hold null.
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see IndexOutOfBoundsException
+ * @see IllegalStateException
+ * @see List
+ */
+public class OffHeapLineStore implements List<String>, AutoCloseable {
+
+    /** Number of bits of an address holding the offset within a chunk. */
+    private static final int CHUNK_BITS = 26;
+
+    /** Largest number of bytes of a chunk, and so of a line. */
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /** Capacity of the first chunk, which grows up to CHUNK_SIZE. */
+    private static final int FIRST_CHUNK_SIZE = 1 << 16;
+
+    /** Number of bytes of the header of a line. */
+    private static final int HEADER_SIZE = Integer.BYTES;
+
+    /** Default capacity of the array of lines. */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /** Frees the memory of a direct buffer at once, or null if the JVM does not allow it. */
+    private static final Method INVOKE_CLEANER;
+
+    /** The instance of sun.misc.Unsafe INVOKE_CLEANER is called on. */
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            java.lang.reflect.Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The chunks are then freed when the garbage collector finds them unreachable
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    /** Chunks holding the header and bytes of every line. */
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+
+    /** Number of chunks in use; bytes are only appended to the last one. */
+    private int chunkCount;
+
+    /** Number of bytes in use in the last chunk. */
+    private int chunkFill;
+
+    /** Address of every line, made of its chunk and its offset in the chunk. */
+    private long[] addresses;
+
+    /** Number of lines stored in the list. */
+    private int size;
+
+    /** Number of bytes in the chunks taken by the lines of the list. */
+    private long liveBytes;
+
+    /** Number of bytes in the chunks taken by lines replaced or removed. */
+    private long garbageBytes;
+
+    /** Scratch space for copying the bytes of a line between chunks, only used by the writes. */
+    private byte[] scratch = new byte[256];
+
+    /** Whether the memory of the store was released. */
+    private boolean closed;
+
+    /** Creates an empty store with default initial capacity. */
+    public OffHeapLineStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of lines.
+     *
+     * @param capacity The number of lines the store holds without growing.
+     */
+    public OffHeapLineStore(int capacity) {
+        addresses = new long[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Reads the lines of a UTF-8 text file into a new store, copying their
+     * bytes straight off the heap without creating a String per line. Lines
+     * are separated by '\n', and a '\r' right before it is dropped.
+     *
+     * @param source The path of the file to read.
+     * @return The lines of the file.
+     * @throws IOException If the file could not be read.
+     */
+    public static OffHeapLineStore read(Path source) throws IOException {
+        OffHeapLineStore store = new OffHeapLineStore();
+        try (InputStream in = Files.newInputStream(source)) {
+            byte[] buffer = new byte[1 << 16];
+            byte[] line = new byte[256];
+            int length = 0;
+            boolean ascii = true;
+            boolean pending = false;
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        int end = (length > 0 && line[length - 1] == '\r') ? length - 1 : length;
+                        store.append(line, end, ascii);
+                        length = 0;
+                        ascii = true;
+                        pending = false;
+                        continue;
+                    }
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, GrowthPolicy.DOUBLING.grow(length, length + 1));
+                    }
+                    line[length++] = b;
+                    ascii &= b >= 0;
+                    pending = true;
+                }
+            }
+            if (pending) {
+                store.append(line, length, ascii);
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Returns the number of lines in the list.
+     *
+     * @return number of lines in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the line at the given index.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index, decoded into a new String.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     * @throws IllegalStateException     if the store was closed
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        return decode(addresses[index]);
+    }
+
+    /**
+     * Replaces the line at the given index, and returns the line previously
+     * stored.
+     *
+     * @param index   The index of the line to replace.
+     * @param element The new line to be stored.
+     * @return the previously stored line
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     * @throws IllegalStateException     if the store was closed
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        if (element == null) {
+            throw new NullPointerException("The store does not hold null");
+        }
+        String previous = decode(addresses[index]);
+        long released = HEADER_SIZE + lengthAt(addresses[index]);
+        addresses[index] = store(element);
+        release(released);
+        return previous;
+    }
+
+    /**
+     * Inserts the given line at the given index, shifting all subsequent
+     * lines one position further.
+     *
+     * @param index   The index at which the new line should be stored.
+     * @param element The new line to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     * @throws IllegalStateException     if the store was closed
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        addAll(index, new String[]{element});
+    }
+
+    /**
+     * Inserts all given lines, in order, starting at the given index,
+     * shifting the subsequent lines only once.
+     *
+     * @param index    The index at which the first new line should be stored.
+     * @param elements The new lines to be stored.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     * @throws IllegalStateException     if the store was closed
+     */
+    public void addAll(int index, String[] elements) throws IndexOutOfBoundsException {
+        replaceRange(index, index, elements);
+    }
+
+    /**
+     * Removes and returns the line at the given index, shifting all
+     * subsequent lines one position closer to the front.
+     *
+     * @param index The index of the line to be removed.
+     * @return The line that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     * @throws IllegalStateException     if the store was closed
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        String removed = decode(addresses[index]);
+        replaceRange(index, index + 1, new String[0]);
+        return removed;
+    }
+
+    /**
+     * Removes the lines with index in [fromIndex, toIndex), shifting the
+     * subsequent lines only once.
+     *
+     * @param fromIndex The index of the first line to remove.
+     * @param toIndex   The index after the last line to remove.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     * @throws IllegalStateException     if the store was closed
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        replaceRange(fromIndex, toIndex, new String[0]);
+    }
+
+    /**
+     * Replaces the lines with index in [fromIndex, toIndex) by the given
+     * lines, shifting the subsequent lines at most once.
+     *
+     * @param fromIndex The index of the first line to replace.
+     * @param toIndex   The index after the last line to replace.
+     * @param elements  The new lines to be stored.
+     * @throws IndexOutOfBoundsException if the range is not within [0, size()]
+     * @throws IllegalStateException     if the store was closed
+     */
+    public void replaceRange(int fromIndex, int toIndex, String[] elements) throws IndexOutOfBoundsException {
+        checkOpen();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Illegal range: [" + fromIndex + ", " + toIndex + ")");
+        }
+        for (String element : elements) {
+            if (element == null) {
+                throw new NullPointerException("The store does not hold null");
+            }
+        }
+        long released = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            released += HEADER_SIZE + lengthAt(addresses[i]);
+        }
+        long[] stored = new long[elements.length];
+        for (int i = 0; i < stored.length; i++) {
+            stored[i] = store(elements[i]);
+        }
+        int growth = stored.length - (toIndex - fromIndex);
+        makeRoom(growth);
+        System.arraycopy(addresses, toIndex, addresses, toIndex + growth, size - toIndex);
+        System.arraycopy(stored, 0, addresses, fromIndex, stored.length);
+        size += growth;
+        release(released);
+    }
+
+    /**
+     * Returns the number of bytes of memory outside the heap held by the store.
+     *
+     * @return the capacity of all the chunks
+     */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            bytes += chunks[i].capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Reclaims the bytes of the lines replaced or removed and releases the
+     * room reserved beyond the lines held.
+     *
+     * @throws IllegalStateException if the store was closed
+     */
+    public void trimToSize() {
+        checkOpen();
+        compact();
+        addresses = Arrays.copyOf(addresses, Math.max(size, 1));
+    }
+
+    /**
+     * Prepares the store to hold the given number of lines without growing
+     * its array of addresses.
+     *
+     * @param capacity The number of lines the store should hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > addresses.length) {
+            addresses = Arrays.copyOf(addresses, GrowthPolicy.grown(capacity, capacity));
+        }
+    }
+
+    /**
+     * Tests whether the store was closed.
+     *
+     * @return true if the memory of the store was released, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the memory of the store right away, rather than whenever the
+     * garbage collector finds the store unreachable. The store cannot be used
+     * afterwards; closing it again does nothing.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < chunkCount; i++) {
+            free(chunks[i]);
+        }
+        chunks = new ByteBuffer[0];
+        chunkCount = 0;
+        chunkFill = 0;
+        addresses = new long[1];
+        size = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+    }
+
+    /** Checks whether the given index is in the range [0, n-1] of an open store. */
+    private void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        checkOpen();
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Checks that the store was not closed. */
+    private void checkOpen() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("The store was closed.");
+        }
+    }
+
+    /** Grows the array of addresses, at most once, so that count more lines fit. */
+    private void makeRoom(int count) {
+        if (size + count > addresses.length) {
+            addresses = Arrays.copyOf(addresses, GrowthPolicy.DOUBLING.grow(addresses.length, size + count));
+        }
+    }
+
+    /**
+     * Appends a line read from a file to the end of the list.
+     *
+     * @param bytes  The UTF-8 bytes of the line, from index 0 on.
+     * @param length The number of bytes of the line.
+     * @param ascii  Whether all the bytes are ASCII, so Latin-1 as well.
+     */
+    private void append(byte[] bytes, int length, boolean ascii) {
+        long address = store(bytes, length, !ascii);
+        makeRoom(1);
+        addresses[size++] = address;
+    }
+
+    /** Encodes a line and appends it to the chunks, returning its address. */
+    private long store(String line) {
+        boolean latin1 = true;
+        for (int i = 0; i < line.length() && latin1; i++) {
+            latin1 = line.charAt(i) <= 0xFF;
+        }
+        byte[] bytes = line.getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        return store(bytes, bytes.length, !latin1);
+    }
+
+    /**
+     * Appends the header and bytes of a line to the last chunk, starting a new
+     * chunk if they do not fit.
+     *
+     * @param bytes  The encoded line, from index 0 on.
+     * @param length The number of bytes of the line.
+     * @param utf8   Whether the line is encoded in UTF-8 rather than Latin-1.
+     * @return the address of the line
+     * @throws IllegalArgumentException if the line is longer than a chunk
+     */
+    private long store(byte[] bytes, int length, boolean utf8) throws IllegalArgumentException {
+        int needed = HEADER_SIZE + length;
+        if (needed > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Line too long: " + length + " bytes");
+        }
+        if (chunkCount == 0 || chunkFill + needed > chunks[chunkCount - 1].capacity()) {
+            if (chunkCount > 0 && chunkFill + needed <= CHUNK_SIZE) {
+                // Grow the last chunk rather than starting a new one while it is small
+                int capacity = Math.min(CHUNK_SIZE, Math.max(2 * chunks[chunkCount - 1].capacity(), chunkFill + needed));
+                ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+                grown.put(0, chunks[chunkCount - 1], 0, chunkFill);
+                free(chunks[chunkCount - 1]);
+                chunks[chunkCount - 1] = grown;
+            } else {
+                if (chunkCount == chunks.length) {
+                    chunks = Arrays.copyOf(chunks, Math.max(4, 2 * chunkCount));
+                }
+                chunks[chunkCount++] = ByteBuffer.allocateDirect(chunkCount == 1 ? Math.max(FIRST_CHUNK_SIZE, needed) : CHUNK_SIZE);
+                chunkFill = 0;
+            }
+        }
+        ByteBuffer chunk = chunks[chunkCount - 1];
+        long address = ((long) (chunkCount - 1) << CHUNK_BITS) | chunkFill;
+        chunk.putInt(chunkFill, (length << 1) | (utf8 ? 1 : 0));
+        chunk.put(chunkFill + HEADER_SIZE, bytes, 0, length);
+        chunkFill += needed;
+        liveBytes += needed;
+        return address;
+    }
+
+    /** Returns the number of bytes of the line at the given address. */
+    private int lengthAt(long address) {
+        return chunks[(int) (address >>> CHUNK_BITS)].getInt((int) (address & (CHUNK_SIZE - 1))) >>> 1;
+    }
+
+    /**
+     * Decodes the line at the given address into a String, copying its bytes
+     * into an array of its own so that concurrent reads do not share one.
+     */
+    private String decode(long address) {
+        ByteBuffer chunk = chunks[(int) (address >>> CHUNK_BITS)];
+        int offset = (int) (address & (CHUNK_SIZE - 1));
+        int header = chunk.getInt(offset);
+        byte[] bytes = new byte[header >>> 1];
+        chunk.get(offset + HEADER_SIZE, bytes);
+        return new String(bytes, (header & 1) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Counts the given number of bytes as garbage, and compacts the chunks
+     * once the garbage takes more room than the live lines.
+     */
+    private void release(long bytes) {
+        liveBytes -= bytes;
+        garbageBytes += bytes;
+        if (garbageBytes > liveBytes && garbageBytes >= FIRST_CHUNK_SIZE) {
+            compact();
+        }
+    }
+
+    /** Copies the lines of the list to fresh chunks, in order, and frees the old ones. */
+    private void compact() {
+        ByteBuffer[] old = chunks;
+        int oldCount = chunkCount;
+        chunks = new ByteBuffer[0];
+        chunkCount = 0;
+        chunkFill = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        for (int i = 0; i < size; i++) {
+            ByteBuffer chunk = old[(int) (addresses[i] >>> CHUNK_BITS)];
+            int offset = (int) (addresses[i] & (CHUNK_SIZE - 1));
+            int header = chunk.getInt(offset);
+            int length = header >>> 1;
+            if (length > scratch.length) {
+                scratch = new byte[GrowthPolicy.DOUBLING.grow(scratch.length, length)];
+            }
+            chunk.get(offset + HEADER_SIZE, scratch, 0, length);
+            addresses[i] = store(scratch, length, (header & 1) != 0);
+        }
+        for (int i = 0; i < oldCount; i++) {
+            free(old[i]);
+        }
+    }
+
+    /** Frees the memory of a direct buffer, which must not be used afterwards. */
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // The buffer is then freed when the garbage collector finds it unreachable
+        }
+    }
+}
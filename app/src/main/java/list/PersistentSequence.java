@@ -0,0 +1,422 @@
+package list;
+
+/**
+ * Realization of a sequence by means of a persistent, relaxed B-tree of small
+ * arrays. Leaves hold up to WIDTH elements and branches up to WIDTH children
+ * together with the cumulative sizes of their children, so a child may be
+ * less than full and an index is found by a short search at every level
+ * rather than by radix arithmetic.
+ *
+ * A snapshot shares every node with the sequence it was taken from and costs
+ * O(1): the sequence simply stops owning its nodes, and afterwards copies each
+ * node on the path to an edit the first time that node is changed. Nodes the
+ * sequence created since the snapshot are changed in place, so a sequence
+ * without snapshots is edited in place as well. Snapshots are read-only.
+ *
+ * @param <E> It can store any data type
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ *
+ * @see IndexOutOfBoundsException
+ * @see UnsupportedOperationException
+ */
+public class PersistentSequence<E> extends AbstractIndexedSequence<E> {
+
+    /** Maximum number of elements of a leaf and of children of a branch. */
+    static final int WIDTH = 32;
+
+    /** Number of entries below which a node is merged with a sibling. */
+    private static final int MIN = WIDTH / 4;
+
+    /** Node of the tree; a leaf when it has no sizes. */
+    private static final class Node {
+
+        /** Token of the sequence allowed to change the node in place. */
+        private final Object owner;
+
+        /** Elements of a leaf or children of a branch, with room for one more. */
+        private final Object[] slots;
+
+        /** Cumulative sizes of the children of a branch, or null for a leaf. */
+        private final int[] sizes;
+
+        /** Number of slots in use. */
+        private int count;
+
+        /** Creates a node, copying the given arrays. */
+        Node(Object owner, Object[] slots, int[] sizes, int count) {
+            this.owner = owner;
+            this.slots = new Object[WIDTH + 1];
+            System.arraycopy(slots, 0, this.slots, 0, count);
+            this.sizes = (sizes == null) ? null : new int[WIDTH + 1];
+            if (sizes != null) {
+                System.arraycopy(sizes, 0, this.sizes, 0, count);
+            }
+            this.count = count;
+        }
+
+        /** Tests whether the node is a leaf. */
+        boolean isLeaf() {
+            return sizes == null;
+        }
+
+        /** Returns the number of elements below the node. */
+        int size() {
+            return isLeaf() ? count : (count == 0 ? 0 : sizes[count - 1]);
+        }
+
+        /** Returns the child at the given slot of a branch. */
+        Node child(int slot) {
+            return (Node) slots[slot];
+        }
+
+        /** Returns the number of elements before the child at the given slot. */
+        int offset(int slot) {
+            return (slot == 0) ? 0 : sizes[slot - 1];
+        }
+
+        /** Returns the slot of the child holding the element at the given index. */
+        int childFor(int index) {
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (sizes[middle] > index) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        /** Recomputes the cumulative sizes of a branch. */
+        void resize() {
+            int total = 0;
+            for (int slot = 0; slot < count; slot++) {
+                total += child(slot).size();
+                sizes[slot] = total;
+            }
+        }
+
+        /** Inserts a value at the given slot. */
+        void insertSlot(int slot, Object value) {
+            System.arraycopy(slots, slot, slots, slot + 1, count - slot);
+            slots[slot] = value;
+            count++;
+        }
+
+        /** Removes the value at the given slot and returns it. */
+        Object removeSlot(int slot) {
+            Object value = slots[slot];
+            System.arraycopy(slots, slot + 1, slots, slot, count - slot - 1);
+            slots[--count] = null;
+            return value;
+        }
+    }
+
+    /** Root of the tree. */
+    private Node root;
+
+    /** Number of elements. */
+    private int size;
+
+    /** Token marking the nodes this sequence may change in place, or null if it is read-only. */
+    private Object edit;
+
+    /** Creates an empty sequence. */
+    public PersistentSequence() {
+        edit = new Object();
+        root = new Node(edit, new Object[0], null, 0);
+    }
+
+    /** Creates a read-only sequence sharing the given tree. */
+    private PersistentSequence(Node root, int size) {
+        this.root = root;
+        this.size = size;
+        this.edit = null;
+    }
+
+    /**
+     * Returns a read-only copy of the sequence as it is now, in constant time.
+     * The copy shares all its nodes with this sequence, which copies a node
+     * before it next changes it.
+     *
+     * @return the frozen copy of the sequence
+     */
+    public PersistentSequence<E> snapshot() {
+        if (isReadOnly()) {
+            return this;
+        }
+        edit = new Object(); // every existing node is now shared
+        return new PersistentSequence<>(root, size);
+    }
+
+    /**
+     * Tests whether the sequence is a snapshot, which cannot be changed.
+     *
+     * @return true if the sequence is read-only, false otherwise
+     */
+    public boolean isReadOnly() {
+        return edit == null;
+    }
+
+    /**
+     * Returns the number of elements in the sequence.
+     *
+     * @return number of elements in the sequence
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the sequence is empty.
+     *
+     * @return true if the sequence is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        Node node = root;
+        while (!node.isLeaf()) {
+            int slot = node.childFor(index);
+            index -= node.offset(slot);
+            node = node.child(slot);
+        }
+        return (E) node.slots[index];
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException     if the index is negative or
+     *                                       greater than size()-1
+     * @throws UnsupportedOperationException if the sequence is a snapshot
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public E set(int index, E element) throws IndexOutOfBoundsException {
+        checkWritable();
+        checkIndex(index, size);
+        root = editable(root);
+        Node node = root;
+        while (!node.isLeaf()) {
+            int slot = node.childFor(index);
+            index -= node.offset(slot);
+            node.slots[slot] = editable(node.child(slot));
+            node = node.child(slot);
+        }
+        E previously = (E) node.slots[index];
+        node.slots[index] = element;
+        return previously;
+    }
+
+    /**
+     * Inserts the given element at the specified index of the sequence.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException     if the index is negative or
+     *                                       greater than size()
+     * @throws UnsupportedOperationException if the sequence is a snapshot
+     */
+    public void add(int index, E element) throws IndexOutOfBoundsException {
+        checkWritable();
+        checkIndex(index, size + 1);
+        root = insert(root, index, element);
+        if (root.count > WIDTH) {
+            // Grow the tree by one level
+            Node grown = new Node(edit, new Object[]{root}, new int[]{root.size()}, 1);
+            split(grown, 0);
+            root = grown;
+        }
+        size++;
+        structureChanged();
+    }
+
+    /**
+     * Inserts all given elements, in order, starting at the specified index.
+     * Into an empty sequence the tree is built directly, level by level.
+     *
+     * @param index    The index at which the first new element should be stored.
+     * @param elements The new elements to be stored.
+     * @throws IndexOutOfBoundsException     if the index is negative or
+     *                                       greater than size()
+     * @throws UnsupportedOperationException if the sequence is a snapshot
+     */
+    public void addAll(int index, E[] elements) throws IndexOutOfBoundsException {
+        checkWritable();
+        checkIndex(index, size + 1);
+        if (size > 0) {
+            for (int i = 0; i < elements.length; i++) {
+                add(index + i, elements[i]);
+            }
+            return;
+        }
+        if (elements.length > 0) {
+            root = build(elements);
+            size = elements.length;
+            structureChanged();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the given index.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException     if the index is negative or
+     *                                       greater than size()-1
+     * @throws UnsupportedOperationException if the sequence is a snapshot
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public E remove(int index) throws IndexOutOfBoundsException {
+        checkWritable();
+        checkIndex(index, size);
+        Object[] removed = new Object[1];
+        root = delete(root, index, removed);
+        while (!root.isLeaf() && root.count == 1) {
+            root = root.child(0); // shrink the tree by one level
+        }
+        size--;
+        structureChanged();
+        return (E) removed[0];
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Checks that the sequence is not a snapshot. */
+    private void checkWritable() throws UnsupportedOperationException {
+        if (isReadOnly()) {
+            throw new UnsupportedOperationException("A snapshot cannot be changed");
+        }
+    }
+
+    /** Returns the node itself if this sequence owns it, and otherwise an owned copy. */
+    private Node editable(Node node) {
+        return (node.owner == edit) ? node : new Node(edit, node.slots, node.sizes, node.count);
+    }
+
+    /** Inserts an element below the given node, which may be left with one entry too many. */
+    private Node insert(Node node, int index, E element) {
+        node = editable(node);
+        if (node.isLeaf()) {
+            node.insertSlot(index, element);
+            return node;
+        }
+        int slot = (index == node.size()) ? node.count - 1 : node.childFor(index);
+        Node child = insert(node.child(slot), index - node.offset(slot), element);
+        node.slots[slot] = child;
+        if (child.count > WIDTH) {
+            split(node, slot);
+        }
+        node.resize();
+        return node;
+    }
+
+    /** Splits the overfull child at the given slot of a branch into two halves. */
+    private void split(Node parent, int slot) {
+        Node child = parent.child(slot);
+        int half = child.count / 2;
+        parent.slots[slot] = filled(child.slots, 0, half, child.isLeaf());
+        parent.insertSlot(slot + 1, filled(child.slots, half, child.count, child.isLeaf()));
+        parent.resize();
+    }
+
+    /** Removes an element below the given node, merging children that become too small. */
+    private Node delete(Node node, int index, Object[] removed) {
+        node = editable(node);
+        if (node.isLeaf()) {
+            removed[0] = node.removeSlot(index);
+            return node;
+        }
+        int slot = node.childFor(index);
+        Node child = delete(node.child(slot), index - node.offset(slot), removed);
+        node.slots[slot] = child;
+        if (child.count < MIN && node.count > 1) {
+            merge(node, (slot > 0) ? slot - 1 : slot);
+        }
+        node.resize();
+        return node;
+    }
+
+    /**
+     * Merges the children at the given slot and the next one of a branch, or
+     * spreads their entries evenly over both if they do not fit in one node.
+     */
+    private void merge(Node parent, int slot) {
+        Node left = parent.child(slot);
+        Node right = parent.child(slot + 1);
+        int total = left.count + right.count;
+        Object[] entries = new Object[total];
+        System.arraycopy(left.slots, 0, entries, 0, left.count);
+        System.arraycopy(right.slots, 0, entries, left.count, right.count);
+
+        if (total <= WIDTH) {
+            parent.slots[slot] = filled(entries, 0, total, left.isLeaf());
+            parent.removeSlot(slot + 1);
+        } else {
+            int half = total / 2;
+            parent.slots[slot] = filled(entries, 0, half, left.isLeaf());
+            parent.slots[slot + 1] = filled(entries, half, total, left.isLeaf());
+        }
+        parent.resize();
+    }
+
+    /** Creates an owned node holding the given range of entries. */
+    private Node filled(Object[] entries, int from, int to, boolean leaf) {
+        int count = to - from;
+        Node node = new Node(edit, copyOfRange(entries, from, to), leaf ? null : new int[count], count);
+        if (!leaf) {
+            node.resize();
+        }
+        return node;
+    }
+
+    /** Builds a tree of full nodes holding the given elements. */
+    private Node build(E[] elements) {
+        Node[] level = new Node[(elements.length + WIDTH - 1) / WIDTH];
+        for (int i = 0; i < level.length; i++) {
+            int from = i * WIDTH;
+            level[i] = filled(elements, from, Math.min(from + WIDTH, elements.length), true);
+        }
+        while (level.length > 1) {
+            Node[] parents = new Node[(level.length + WIDTH - 1) / WIDTH];
+            for (int i = 0; i < parents.length; i++) {
+                int from = i * WIDTH;
+                parents[i] = filled(level, from, Math.min(from + WIDTH, level.length), false);
+            }
+            level = parents;
+        }
+        return level[0];
+    }
+
+    /** Copies a range of an array into a new array. */
+    private static Object[] copyOfRange(Object[] array, int from, int to) {
+        Object[] copy = new Object[to - from];
+        System.arraycopy(array, from, copy, 0, to - from);
+        return copy;
+    }
+}
@@ -1,6 +1,9 @@
 import list.ArraySequence;
+import list.Position;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ArraySequenceTest {
@@ -113,4 +116,59 @@ class ArraySequenceTest {
         as.addLast('Z');
         assertEquals(as.toString(), "{(0,X),(1,Y),(2,Z)}");
     }
+
+    @Test
+    void positionsFollowShifts() {
+        ArraySequence<Character> as = getCollection();
+        Position<Character> b = as.atIndex(1);
+
+        as.addFirst('X');
+        as.addBefore(b, 'Y');
+        as.addAfter(b, 'Z');
+        assertEquals("{(0,X),(1,A),(2,Y),(3,B),(4,Z),(5,C)}", as.toString());
+        assertEquals(3, as.indexOf(b));
+
+        as.set(b, '!');
+        assertEquals('!', as.get(3));
+
+        as.remove(b);
+        assertEquals(-1, as.indexOf(b));
+        assertEquals("{(0,X),(1,A),(2,Y),(3,Z),(4,C)}", as.toString());
+    }
+
+    @Test
+    void traversal() {
+        ArraySequence<Integer> as = new ArraySequence<>();
+        int size = 1_000_000;
+        for (int i = 0; i < size; i++) {
+            as.addLast(i);
+        }
+
+        // A quadratic indexOf would take hours here, a constant-time one a few milliseconds.
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            int visited = 0;
+            for (Position<Integer> p = as.first(); p != null; p = as.after(p)) {
+                assertEquals(visited++, as.indexOf(p));
+            }
+            assertEquals(size, visited);
+        });
+    }
+
+    @Test
+    void bulkOperations() {
+        ArraySequence<Character> as = getCollection();
+        Position<Character> c = as.last();
+
+        as.addAll(1, new Character[]{'X', 'Y'});
+        assertEquals("{(0,A),(1,X),(2,Y),(3,B),(4,C)}", as.toString());
+
+        as.replaceRange(2, 4, new Character[]{'!'});
+        assertEquals("{(0,A),(1,X),(2,!),(3,C)}", as.toString());
+        assertEquals(3, as.indexOf(c));
+
+        as.removeRange(0, 2);
+        assertEquals("{(0,!),(1,C)}", as.toString());
+        assertEquals(1, as.indexOf(c));
+        assertThrows(IndexOutOfBoundsException.class, () -> as.removeRange(1, 3));
+    }
 }
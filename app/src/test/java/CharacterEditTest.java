@@ -0,0 +1,254 @@
+import list.FlatArraySequence;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test editing the lines of a MyTextEditor character by character, and the class LineBuffer
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class CharacterEditTest {
+
+    /**
+     * A store that counts how many times a line is replaced in it
+     */
+    private static class CountingStore extends FlatArraySequence<String> {
+        int sets;
+
+        @Override
+        public String set(int index, String element) {
+            sets++;
+            return super.set(index, element);
+        }
+    }
+
+    @Test
+    void lineBufferMatchesAStringBuilder() {
+        Random random = new Random(22);
+        LineBuffer buffer = new LineBuffer();
+        buffer.load("start");
+        StringBuilder expected = new StringBuilder("start");
+        for (int step = 0; step < 20_000; step++) {
+            if (expected.length() == 0 || random.nextBoolean()) {
+                int column = random.nextInt(expected.length() + 1);
+                String text = "x".repeat(random.nextInt(40)) + step;
+                buffer.insert(column, text);
+                expected.insert(column, text);
+            } else {
+                int column = random.nextInt(expected.length());
+                int count = random.nextInt(Math.min(30, expected.length() - column) + 1);
+                buffer.delete(column, count);
+                expected.delete(column, column + count);
+            }
+            assertEquals(expected.length(), buffer.length());
+            if (step % 1000 == 0) {
+                assertEquals(expected.toString(), buffer.toString());
+                int column = random.nextInt(expected.length() + 1);
+                if (column < expected.length()) {
+                    assertEquals(expected.charAt(column), buffer.charAt(column));
+                }
+            }
+        }
+        assertEquals(expected.toString(), buffer.toString());
+        buffer.load("");
+        assertEquals("", buffer.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.insert(1, "a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.delete(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.charAt(0));
+    }
+
+    @Test
+    void editsWithinTheLineAtTheCursor() {
+        MyTextEditor editor = new MyTextEditor(new String[]{"hello world", "second"});
+        assertEquals(0, editor.cursorColumnNum());
+        editor.insertAt(5, ",");
+        assertEquals(6, editor.cursorColumnNum());
+        editor.insertAt(editor.cursorColumnNum(), " dear");
+        editor.deleteRange(0, 1);
+        editor.insertAt(0, "H");
+        assertEquals(1, editor.cursorColumnNum());
+        assertEquals("Hello, dear world", editor.getAtCursor());
+        assertEquals("Hello, dear world\nsecond", editor.toString());
+
+        editor.moveCursorToColumn(17);
+        editor.cursorDown();
+        // The column is kept when the cursor changes line, but never beyond the end of the line
+        assertEquals(6, editor.cursorColumnNum());
+        editor.insertAt(editor.cursorColumnNum(), "!");
+        assertEquals("second!", editor.getLine(1));
+        assertEquals("Hello, dear world", editor.getLine(0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.moveCursorToColumn(8));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.insertAt(9, "x"));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.deleteRange(5, 3));
+        assertThrows(IllegalArgumentException.class, () -> editor.insertAt(0, "two\nlines"));
+        assertThrows(IndexOutOfBoundsException.class, () -> new MyTextEditor().insertAt(0, "x"));
+        assertEquals("Hello, dear world\nsecond!", editor.toString());
+    }
+
+    @Test
+    void keystrokesDoNotReplaceTheLineUntilAnotherEdit() {
+        CountingStore store = new CountingStore();
+        store.addLast("x".repeat(4096));
+        MyTextEditor editor = new MyTextEditor(store);
+        for (int i = 0; i < 1000; i++) {
+            editor.insertAt(2048 + i, "a");
+        }
+        editor.deleteRange(0, 10);
+        assertEquals(0, store.sets);
+        // Reading the line takes it from the buffer, without writing it back
+        assertEquals(4096 + 1000 - 10, editor.getAtCursor().length());
+        assertEquals(4096 + 1000 - 10, editor.length());
+        assertEquals(4096 + 1000 - 10, editor.toString().length());
+        assertTrue(editor.isModified());
+        assertEquals(0, store.sets);
+        editor.insertAfterCursor("next");
+        assertEquals(1, store.sets);
+        assertEquals(4096 + 1000 - 10, editor.getLine(0).length());
+    }
+
+    @Test
+    void readsNeverWriteTheLineBack() throws Exception {
+        CountingStore store = new CountingStore();
+        store.addLast("one");
+        store.addLast("two");
+        store.addLast("three");
+        MyTextEditor editor = new MyTextEditor(store);
+        editor.enableUndo(1 << 20);
+        editor.replaceAtCursor("uno");
+        assertTrue(editor.undo());
+        assertTrue(editor.canRedo());
+        store.sets = 0;
+
+        editor.moveCursorToLine(1);
+        editor.insertAt(3, "-two");
+        assertEquals("one\ntwo-two\nthree", editor.toString());
+        assertEquals("two-two", editor.getLine(1));
+        StringBuilder written = new StringBuilder();
+        editor.writeTo(written);
+        assertEquals(editor.toString(), written.toString());
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        assertEquals(17, editor.writeTo(java.nio.channels.Channels.newChannel(bytes)));
+        assertEquals(editor.toString(), bytes.toString(java.nio.charset.StandardCharsets.UTF_8));
+        assertEquals(17, editor.length());
+        assertEquals(12, editor.offsetOf(2));
+        assertEquals(1, editor.lineAt(4));
+        assertEquals(1, editor.lineAt(11));
+        assertEquals(2, editor.lineAt(12));
+        assertEquals(2, editor.lineAt(17));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.lineAt(18));
+        assertTrue(editor.isModified());
+        assertTrue(editor.canUndo());
+        // The keystrokes are a new change, after which the undone one cannot be redone
+        assertFalse(editor.canRedo());
+        assertEquals(0, store.sets);
+
+        // Undo writes the line back, then reverts it
+        assertTrue(editor.undo());
+        assertEquals(2, store.sets);
+        assertEquals("one\ntwo\nthree", editor.toString());
+        assertEquals(13, editor.length());
+        assertEquals(8, editor.offsetOf(2));
+    }
+
+    @Test
+    void closingKeepsTheLastKeystrokes() {
+        CountingStore store = new CountingStore();
+        store.addLast("hello");
+        MyTextEditor editor = new MyTextEditor(store);
+        editor.insertAt(5, " world");
+        editor.close();
+        assertEquals(1, store.sets);
+        assertEquals("hello world", editor.toString());
+    }
+
+    @Test
+    void observersSeeTheEditsOfALineAsOneChange() {
+        MyTextEditor editor = new MyTextEditor(new String[]{"alpha", "beta", "gamma"});
+        editor.enableUndo(1 << 20);
+        SearchIndex search = editor.enableSearch();
+        assertEquals(16, editor.length());
+        assertEquals(6, editor.offsetOf(1));
+
+        editor.moveCursorToLine(1);
+        editor.insertAt(4, "-delta");
+        editor.deleteRange(0, 5);
+        assertEquals(16 + 6 - 5, editor.length());
+        assertEquals(12, editor.offsetOf(2));
+        assertTrue(editor.isModified());
+        // The index sees the line once it is written back, which findNext does first
+        assertEquals(-1, search.findNext("delta", 0));
+        editor.moveCursorToLine(0);
+        assertTrue(editor.findNext("delta"));
+        assertEquals(1, search.findNext("delta", 0));
+
+        editor.moveCursorToLine(2);
+        editor.insertAt(0, ">");
+        editor.moveCursorToLine(0);
+        editor.insertAt(5, "!");
+        assertEquals("alpha!\ndelta\n>gamma", editor.toString());
+
+        assertTrue(editor.undo());
+        assertEquals("alpha\ndelta\n>gamma", editor.toString());
+        assertTrue(editor.undo());
+        assertEquals("alpha\ndelta\ngamma", editor.toString());
+        assertTrue(editor.undo());
+        assertEquals("alpha\nbeta\ngamma", editor.toString());
+        assertFalse(editor.canUndo());
+        assertTrue(editor.redo());
+        assertEquals("alpha\ndelta\ngamma", editor.toString());
+    }
+
+    @Test
+    void lineEditsMixWithLineOperations() {
+        Random random = new Random(2022);
+        ArrayList<StringBuilder> expected = new ArrayList<>();
+        expected.add(new StringBuilder("first"));
+        MyTextEditor editor = new MyTextEditor(new String[]{"first"});
+        for (int step = 0; step < 20_000; step++) {
+            int line = editor.cursorLineNum();
+            StringBuilder text = expected.get(line);
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                int column = random.nextInt(text.length() + 1);
+                editor.insertAt(column, "c" + step % 10);
+                text.insert(column, "c" + step % 10);
+            } else if (operation < 7 && text.length() > 0) {
+                int column = random.nextInt(text.length());
+                int count = random.nextInt(text.length() - column + 1);
+                editor.deleteRange(column, count);
+                text.delete(column, column + count);
+            } else if (operation < 8) {
+                editor.insertAfterCursor("line " + step);
+                expected.add(line + 1, new StringBuilder("line " + step));
+            } else if (operation < 9 && expected.size() > 1) {
+                editor.removeAtCursor();
+                expected.remove(line);
+            } else {
+                editor.moveCursorToLine(random.nextInt(expected.size()));
+            }
+        }
+        StringBuilder all = new StringBuilder();
+        for (int index = 0; index < expected.size(); index++) {
+            all.append(index == 0 ? "" : "\n").append(expected.get(index));
+        }
+        assertEquals(all.toString(), editor.toString());
+        assertEquals(all.length(), editor.length());
+    }
+
+    @Test
+    void concurrentEditsWriteTheLineBack() {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        editor.edit(e -> {
+            e.insertAfterCursor("");
+            e.insertAt(0, "typed");
+        });
+        assertEquals("typed", editor.getAtCursor());
+        assertEquals("typed", editor.snapshot()[0]);
+    }
+}
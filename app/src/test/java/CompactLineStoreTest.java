@@ -0,0 +1,152 @@
+import list.CompactLineStore;
+import list.FlatArraySequence;
+import list.Position;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the class CompactLineStore and its footprint next to a FlatArraySequence of Strings
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class CompactLineStoreTest {
+
+    private static final String[] VOCABULARY = {
+            "", "{", "}", "    }", "        return null;", "h\u00e9llo w\u00f6rld", "\u65e5\u672c\u8a9e\u306e\u30c6\u30ad\u30b9\u30c8", "emoji \ud83d\ude00 line",
+            "2026-10-18 12:00:00 INFO  [main] Service - request handled"
+    };
+
+    private static void assertContents(java.util.List<String> expected, CompactLineStore store) {
+        assertEquals(expected.size(), store.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), store.get(i), "line " + i);
+        }
+    }
+
+    @Test
+    void storesAndDeduplicates() {
+        CompactLineStore store = new CompactLineStore(new String[]{"a", "", "a", "\u00fc", "", "a", "\u5b57"});
+        assertEquals(7, store.size());
+        assertEquals(4, store.distinctCount());
+        assertEquals("{(0,a),(1,),(2,a),(3,\u00fc),(4,),(5,a),(6,\u5b57)}", store.toString());
+        // One header byte each, one byte per Latin-1 character and three for the UTF-8 one
+        assertEquals(4 + 1 + 1 + 3, store.textBytes());
+
+        assertEquals("a", store.set(0, "b"));
+        assertEquals(5, store.distinctCount());
+        store.removeRange(1, 3);
+        assertEquals("{(0,b),(1,\u00fc),(2,),(3,a),(4,\u5b57)}", store.toString());
+        assertEquals(5, store.distinctCount());
+        store.remove(3);
+        assertEquals(4, store.distinctCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(4));
+        assertThrows(NullPointerException.class, () -> store.add(0, null));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void positionsSurviveReplacementsOnly() {
+        CompactLineStore store = new CompactLineStore(new String[]{"a", "b", "c"});
+        Position<String> b = store.atIndex(1);
+        store.set(b, "x");
+        assertEquals("x", b.getElement());
+        store.addLast("d");
+        assertEquals(-1, store.indexOf(b));
+    }
+
+    @Test
+    void matchesAListUnderRandomEdits() {
+        Random random = new Random(19);
+        ArrayList<String> expected = new ArrayList<>();
+        CompactLineStore store = new CompactLineStore();
+        for (int step = 0; step < 50_000; step++) {
+            String line = random.nextInt(4) == 0
+                    ? "unique " + random.nextInt(1_000_000)
+                    : VOCABULARY[random.nextInt(VOCABULARY.length)];
+            int operation = random.nextInt(10);
+            if (expected.isEmpty() || operation < 4) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, line);
+                store.add(index, line);
+            } else if (operation < 6) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, line), store.set(index, line));
+            } else if (operation < 9) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), store.remove(index));
+            } else {
+                int from = random.nextInt(expected.size());
+                int to = Math.min(expected.size(), from + random.nextInt(20));
+                String[] replacement = new String[random.nextInt(5)];
+                for (int i = 0; i < replacement.length; i++) {
+                    replacement[i] = VOCABULARY[random.nextInt(VOCABULARY.length)];
+                }
+                expected.subList(from, to).clear();
+                expected.addAll(from, java.util.List.of(replacement));
+                store.replaceRange(from, to, replacement);
+            }
+        }
+        assertContents(expected, store);
+        assertEquals(new java.util.HashSet<>(expected).size(), store.distinctCount());
+        store.trimToSize();
+        assertContents(expected, store);
+    }
+
+    @Test
+    void reclaimsRemovedText() {
+        CompactLineStore store = new CompactLineStore();
+        for (int i = 0; i < 100_000; i++) {
+            store.addLast("line number " + i);
+        }
+        long full = store.textBytes();
+        store.removeRange(10, store.size());
+        assertTrue(store.textBytes() < full / 1000);
+        assertEquals(10, store.distinctCount());
+        store.trimToSize();
+        assertTrue(GraphLayout.parseInstance(store).totalSize() < 4096);
+        assertEquals("line number 9", store.get(9));
+    }
+
+    @Test
+    void holdsLinesLargerThanASlab() {
+        String large = "x".repeat(3 << 20) + "\u00e9";
+        CompactLineStore store = new CompactLineStore(new String[]{"before", large, "after"});
+        store.addLast("later");
+        assertEquals(large, store.get(1));
+        assertEquals("after", store.get(2));
+        assertEquals("later", store.get(3));
+        store.remove(1);
+        store.trimToSize();
+        assertEquals("{(0,before),(1,after),(2,later)}", store.toString());
+    }
+
+    /**
+     * A file of source code, where most lines are blank, braces or other short repeated lines, read
+     * into one String per line takes several times the heap of the same lines in the store.
+     */
+    @Test
+    void footprintOfRepetitiveText() {
+        Random random = new Random(3);
+        int count = 200_000;
+        FlatArraySequence<String> strings = new FlatArraySequence<>(count);
+        CompactLineStore store = new CompactLineStore(count);
+        for (int i = 0; i < count; i++) {
+            String line = random.nextInt(4) == 0
+                    ? "    int value" + i + " = compute(" + random.nextInt(100) + ");"
+                    : VOCABULARY[random.nextInt(5)];
+            // Every line read from a file is a String of its own
+            strings.addLast(new String(line.toCharArray()));
+            store.addLast(line);
+        }
+        store.trimToSize();
+        long stringBytes = GraphLayout.parseInstance(strings).totalSize();
+        long storeBytes = GraphLayout.parseInstance(store).totalSize();
+        assertTrue(stringBytes >= 3 * storeBytes, stringBytes + " bytes as Strings and " + storeBytes + " in the store");
+    }
+}
@@ -0,0 +1,181 @@
+import list.FlatArraySequence;
+import list.MappedLineStore;
+import list.OffHeapLineStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test sharing a ConcurrentTextEditor between threads
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class ConcurrentTextEditorTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 16;
+    private static final int WRITES = 5_000;
+
+    @Test
+    void behavesLikeMyTextEditor() {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        assertTrue(editor.isEmpty());
+        editor.insertAfterCursor("a");
+        editor.insertAfterCursor("b");
+        editor.cursorUp();
+        editor.replaceAtCursor("c");
+        assertEquals("c\nb", editor.toString());
+        assertEquals("b", editor.getLine(1));
+        assertArrayEquals(new String[]{"c", "b"}, editor.snapshot());
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.getLine(2));
+        assertThrows(IndexOutOfBoundsException.class, editor::cursorUp);
+    }
+
+    @Test
+    void storesThatChangeWhenReadAreRefused(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("document.txt"), "a\nb\n");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentTextEditor(MappedLineStore.map(file, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentTextEditor(MappedLineStore.map(file, true)));
+        try (OffHeapLineStore store = new OffHeapLineStore()) {
+            assertThrows(IllegalArgumentException.class, () -> new ConcurrentTextEditor(store));
+        }
+    }
+
+    /**
+     * A read that a write interferes with is thrown away, so it must not leave anything behind in
+     * the editor, such as a count of characters made while the lines were changing
+     */
+    @Test
+    void aReadRacingAWriteLeavesNothingBehind() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        FlatArraySequence<String> store = new FlatArraySequence<>() {
+            @Override
+            public String get(int index) {
+                if (index == 1 && Thread.currentThread().getName().equals("reader") && reading.getCount() > 0) {
+                    // The reader stops half way through the lines until the writer changed one it read
+                    reading.countDown();
+                    try {
+                        written.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.get(index);
+            }
+        };
+        store.addLast("a");
+        store.addLast("b");
+        ConcurrentTextEditor editor = new ConcurrentTextEditor(store);
+        Thread reader = new Thread(() -> assertEquals("aaaa\nb", editor.toString()), "reader");
+        reader.start();
+        assertTrue(reading.await(10, TimeUnit.SECONDS));
+        editor.replaceAtCursor("aaaa");
+        written.countDown();
+        reader.join(10_000);
+
+        assertEquals("aaaa\nb", editor.toString());
+        editor.edit(e -> assertEquals(6, e.length()));
+    }
+
+    /**
+     * The writers keep the document a run of consecutive numbers, appending the next number at
+     * the end or removing the first one. Every read has to see such a run, and a reader has to
+     * see both ends of the run only ever move forward.
+     */
+    @Test
+    void readsAreLinearizable() throws Exception {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        editor.insertAfterCursor("0");
+        AtomicInteger appended = new AtomicInteger();
+        AtomicInteger removed = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(WRITERS + READERS);
+        ArrayList<Future<?>> results = new ArrayList<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int seed = writer;
+            results.add(threads.submit(() -> {
+                start.await();
+                for (int i = 0; i < WRITES; i++) {
+                    if ((i + seed) % 3 != 0) {
+                        editor.edit(e -> {
+                            e.moveCursorToLine(e.size() - 1);
+                            e.insertAfterCursor(String.valueOf(Integer.parseInt(e.getAtCursor()) + 1));
+                        });
+                        appended.incrementAndGet();
+                    } else {
+                        editor.edit(e -> {
+                            if (e.size() > 1) {
+                                e.moveCursorToLine(0);
+                                e.removeAtCursor();
+                                removed.incrementAndGet();
+                            }
+                        });
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int reader = 0; reader < READERS; reader++) {
+            int kind = reader % 3;
+            results.add(threads.submit(() -> {
+                start.await();
+                int first = 0;
+                int last = 0;
+                do {
+                    String[] lines = switch (kind) {
+                        case 0 -> editor.toString().split("\n");
+                        case 1 -> editor.snapshot();
+                        default -> new String[]{editor.getLine(0)};
+                    };
+                    int runFirst = Integer.parseInt(lines[0]);
+                    for (int i = 1; i < lines.length; i++) {
+                        assertEquals(runFirst + i, Integer.parseInt(lines[i]), "The run is broken");
+                    }
+                    int runLast = runFirst + lines.length - 1;
+                    assertTrue(runFirst >= first, "The first line went back from " + first + " to " + runFirst);
+                    assertTrue(kind == 2 || runLast >= last, "The last line went back from " + last + " to " + runLast);
+                    first = runFirst;
+                    last = (kind == 2) ? last : runLast;
+                    assertTrue(editor.size() >= 1);
+                } while (writing.get());
+                return null;
+            }));
+        }
+
+        start.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            for (int i = 0; i < WRITERS; i++) {
+                results.get(i).get();
+            }
+            writing.set(false);
+            for (Future<?> result : results) {
+                result.get();
+            }
+        });
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        String[] lines = editor.snapshot();
+        assertEquals(appended.get() - removed.get() + 1, lines.length);
+        assertEquals(String.valueOf(appended.get()), lines[lines.length - 1]);
+        assertEquals(String.valueOf(removed.get()), lines[0]);
+    }
+}
@@ -0,0 +1,229 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the change listeners of a MyTextEditor, the class DocumentChange and the class ChangeDispatcher
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class DocumentListenerTest {
+
+    /**
+     * A listener that keeps every call it receives
+     */
+    private static class Recorder implements DocumentListener {
+        final ArrayList<DocumentChange[]> calls = new ArrayList<>();
+
+        @Override
+        public synchronized void documentChanged(DocumentChange[] changes) {
+            calls.add(changes);
+        }
+
+        synchronized String last() {
+            return java.util.Arrays.toString(calls.get(calls.size() - 1));
+        }
+    }
+
+    /**
+     * A model of the document made only of line lengths, kept up to date from the changes alone
+     */
+    private static void apply(ArrayList<Integer> lengths, DocumentChange[] changes) {
+        for (DocumentChange change : changes) {
+            long removed = 0;
+            for (int i = 0; i < change.oldLineCount(); i++) {
+                removed += lengths.remove(change.line());
+            }
+            assertEquals(change.oldLength(), removed, change.toString());
+            for (int i = 0; i < change.newLineCount(); i++) {
+                lengths.add(change.line() + i, -1);
+            }
+        }
+    }
+
+    @Test
+    void describesEveryKindOfChange() {
+        MyTextEditor editor = new MyTextEditor(new String[]{"one", "two", "three"});
+        Recorder recorder = new Recorder();
+        editor.addChangeListener(recorder);
+
+        editor.insertAfterCursor("inserted");
+        assertEquals("[INSERT [1, 1) -> 1 lines, 0 -> 8 characters]", recorder.last());
+        editor.replaceAtCursor("x");
+        assertEquals("[REPLACE [1, 2) -> 1 lines, 8 -> 1 characters]", recorder.last());
+        editor.removeLines(2, 4);
+        assertEquals("[REMOVE [2, 4) -> 0 lines, 8 -> 0 characters]", recorder.last());
+        editor.insertAt(1, "yz");
+        assertEquals("[REPLACE [1, 2) -> 1 lines, 1 -> 3 characters]", recorder.last());
+        assertEquals(DocumentChange.Kind.REPLACE, recorder.calls.get(3)[0].kind());
+
+        // Reading the edited line does not report it again
+        assertEquals("xyz", editor.getAtCursor());
+        assertEquals(4, recorder.calls.size());
+
+        editor.removeChangeListener(recorder);
+        editor.removeAtCursor();
+        assertEquals(4, recorder.calls.size());
+    }
+
+    @Test
+    void coalescesTheChangesOfABatch() {
+        MyTextEditor editor = new MyTextEditor(new String[]{"a", "b"});
+        Recorder recorder = new Recorder();
+        editor.addChangeListener(recorder);
+        editor.coalesceChanges(() -> {
+            for (int i = 0; i < 100; i++) {
+                editor.insertAt(editor.cursorColumnNum(), "k");
+            }
+            editor.deleteRange(0, 1);
+            editor.insertAfterCursor("c");
+            editor.insertAfterCursor("d");
+            editor.moveCursorToLine(3);
+            editor.removeAtCursor();
+            editor.removeAtCursor();
+        });
+        assertEquals(1, recorder.calls.size());
+        assertEquals("[REPLACE [0, 1) -> 3 lines, 1 -> 102 characters, REMOVE [2, 4) -> 0 lines, 2 -> 0 characters]",
+                recorder.last());
+
+        editor.replaceAll(Pattern.compile("k"), "j");
+        assertEquals(2, recorder.calls.size());
+        assertEquals("[REPLACE [0, 1) -> 1 lines, 100 -> 100 characters]", recorder.last());
+    }
+
+    @Test
+    void changesMergeOnlyWhenTheyAreAdjacent() {
+        DocumentChange typed = new DocumentChange(4, 1, 1, 10, 11);
+        assertEquals("REPLACE [4, 5) -> 1 lines, 10 -> 12 characters",
+                typed.followedBy(new DocumentChange(4, 1, 1, 11, 12)).toString());
+        assertNull(typed.followedBy(new DocumentChange(5, 1, 1, 11, 12)));
+        assertEquals("REPLACE [4, 5) -> 2 lines, 10 -> 14 characters",
+                typed.followedBy(new DocumentChange(5, 0, 1, 0, 3)).toString());
+
+        DocumentChange removed = new DocumentChange(4, 1, 0, 2, 0);
+        assertEquals("REMOVE [3, 5) -> 0 lines, 5 -> 0 characters",
+                removed.followedBy(new DocumentChange(3, 1, 0, 3, 0)).toString());
+        assertEquals("REMOVE [4, 6) -> 0 lines, 5 -> 0 characters",
+                removed.followedBy(new DocumentChange(4, 1, 0, 3, 0)).toString());
+        assertNull(removed.followedBy(new DocumentChange(2, 1, 0, 3, 0)));
+        assertEquals("REPLACE [4, 5) -> 1 lines, 2 -> 7 characters",
+                removed.followedBy(new DocumentChange(4, 0, 1, 0, 7)).toString());
+    }
+
+    @Test
+    void theChangesDescribeTheDocument() {
+        Random random = new Random(24);
+        MyTextEditor editor = new MyTextEditor(new String[]{"first"});
+        editor.enableUndo(1 << 20);
+        ArrayList<Integer> lengths = new ArrayList<>();
+        lengths.add(5);
+        editor.addChangeListener(changes -> apply(lengths, changes));
+        for (int step = 0; step < 10_000; step++) {
+            int operation = random.nextInt(8);
+            if (operation == 0) {
+                editor.insertAfterCursor("line " + step);
+            } else if (operation == 1 && editor.size() > 1) {
+                editor.removeAtCursor();
+            } else if (operation == 2) {
+                editor.insertAt(0, "typed");
+            } else if (operation == 3) {
+                editor.undo();
+            } else if (operation == 4) {
+                editor.moveCursorToLine(random.nextInt(editor.size()));
+            } else if (operation == 5) {
+                editor.insertLinesAfterCursor(new String[]{"x", "yy"});
+            } else if (operation == 6) {
+                editor.beginBatch().replace(0, "batch " + step).insert(editor.size(), "end").commit();
+            } else {
+                editor.replaceAtCursor("r");
+            }
+            // Inserted lines are only known by their count until the lengths are read back here
+            assertEquals(editor.size(), lengths.size());
+            for (int i = 0; i < lengths.size(); i++) {
+                lengths.set(i, editor.getLine(i).length());
+            }
+        }
+    }
+
+    @Test
+    void aSlowListenerGetsBurstsInOneCall() throws Exception {
+        MyTextEditor editor = new MyTextEditor(new String[]{""});
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrent = new AtomicInteger();
+        Recorder recorder = new Recorder() {
+            @Override
+            public void documentChanged(DocumentChange[] changes) {
+                assertEquals(1, concurrent.incrementAndGet());
+                super.documentChanged(changes);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                concurrent.decrementAndGet();
+            }
+        };
+        try {
+            editor.addChangeListener(recorder, executor);
+            editor.insertAt(0, "a");
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // The editing thread does not wait while the listener runs
+            for (int i = 0; i < 1000; i++) {
+                editor.insertAt(editor.cursorColumnNum(), "b");
+            }
+            editor.insertAfterCursor("second");
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(2, recorder.calls.size());
+            assertEquals("[REPLACE [0, 1) -> 2 lines, 1 -> 1007 characters]",
+                    recorder.last());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentEditsAreOneNotification() {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        Recorder recorder = new Recorder();
+        editor.edit(e -> e.addChangeListener(recorder));
+        editor.edit(e -> {
+            e.insertAfterCursor("a");
+            e.insertAfterCursor("b");
+            e.insertAt(0, "c");
+        });
+        assertEquals(1, recorder.calls.size());
+        assertEquals("[INSERT [0, 0) -> 2 lines, 0 -> 2 characters, REPLACE [1, 2) -> 1 lines, 1 -> 2 characters]",
+                recorder.last());
+    }
+
+    @Test
+    void listenersCanReadAConcurrentEditorBack() {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        ArrayList<String> seen = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            editor.edit(e -> {
+                e.addChangeListener(changes -> seen.add(editor.size() + " " + editor.toString()));
+                e.insertAfterCursor("x");
+            });
+            editor.insertAfterCursor("y");
+            editor.edit(e -> e.insertAt(0, "z"));
+        });
+        assertEquals(java.util.List.of("1 x", "2 x\ny", "2 x\nzy"), seen);
+    }
+}
@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * This class is used to test saving a MyTextEditor through the class DocumentSaver
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class DocumentSaverTest {
+
+    @TempDir
+    Path directory;
+
+    private MyTextEditor loadFinal() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(EditorUtilities.readResourceFile("final.txt"));
+        return editor;
+    }
+
+    private Object fileKey(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+    }
+
+    @Test
+    void fullSave() throws IOException {
+        MyTextEditor editor = loadFinal();
+        Path file = directory.resolve("final.txt");
+
+        assertTrue(editor.isModified());
+        editor.save(file);
+        assertFalse(editor.isModified());
+        assertEquals(editor.toString(), Files.readString(file));
+        assertEquals(1, Files.list(directory).count(), "No temporary file should be left behind.");
+    }
+
+    @Test
+    void patchInPlace() throws IOException {
+        MyTextEditor editor = loadFinal();
+        Path file = directory.resolve("final.txt");
+        editor.save(file);
+        Object key = fileKey(file);
+
+        editor.moveCursorToLine(2);
+        editor.replaceAtCursor(editor.getAtCursor().toUpperCase());
+        assertTrue(editor.isModified());
+        editor.saveIncremental(file);
+
+        assertEquals(editor.toString(), Files.readString(file));
+        assertEquals(key, fileKey(file), "Same-length replacements should be written into the file itself.");
+    }
+
+    @Test
+    void rewriteFromFirstChange() throws IOException {
+        MyTextEditor editor = loadFinal();
+        Path file = directory.resolve("final.txt");
+        editor.save(file);
+
+        editor.moveCursorToLine(5);
+        editor.insertAfterCursor("A new line in the middle");
+        editor.moveCursorToLine(editor.size() - 1);
+        editor.removeAtCursor();
+        editor.saveIncremental(file);
+        assertEquals(editor.toString(), Files.readString(file));
+
+        editor.moveCursorToLine(editor.size() - 1);
+        editor.insertAfterCursor("The new last line");
+        editor.saveIncremental(file);
+        assertEquals(editor.toString(), Files.readString(file));
+        assertFalse(editor.isModified());
+    }
+
+    @Test
+    void changedOnDisk() throws IOException {
+        MyTextEditor editor = loadFinal();
+        Path file = directory.resolve("final.txt");
+        editor.save(file);
+        Files.writeString(file, "Someone else wrote this file");
+
+        editor.moveCursorToLine(0);
+        editor.replaceAtCursor("Narnia");
+        editor.saveIncremental(file);
+        assertEquals(editor.toString(), Files.readString(file));
+    }
+
+    @Test
+    void changedOnDiskWithTheSameSize() throws IOException {
+        MyTextEditor editor = loadFinal();
+        Path file = directory.resolve("final.txt");
+        editor.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == 'e') {
+                bytes[i] = 'x';
+            }
+        }
+        FileTime saved = Files.getLastModifiedTime(file);
+        Files.write(file, bytes);
+        // As if the other write came later, on file systems whose clock is too coarse to tell
+        Files.setLastModifiedTime(file, FileTime.fromMillis(saved.toMillis() + 5000));
+
+        editor.moveCursorToLine(0);
+        String line = editor.getAtCursor();
+        editor.replaceAtCursor(line.substring(1) + line.charAt(0));
+        editor.saveIncremental(file);
+        assertEquals(editor.toString(), Files.readString(file));
+    }
+
+    @Test
+    void savesKeepThePermissionsOfTheFile() throws IOException {
+        assumeTrue(Files.getFileAttributeView(directory, PosixFileAttributeView.class) != null);
+        MyTextEditor editor = loadFinal();
+        Path file = directory.resolve("final.txt");
+        Files.writeString(file, "older version");
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+
+        editor.save(file);
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-rw-r--"));
+        editor.moveCursorToLine(3);
+        editor.insertAfterCursor("inserted");
+        editor.saveIncremental(file);
+        assertEquals("rw-rw-r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        assertEquals(editor.toString(), Files.readString(file));
+    }
+}
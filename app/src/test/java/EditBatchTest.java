@@ -0,0 +1,176 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test applying queued edits to a MyTextEditor through the class EditBatch
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditBatchTest {
+
+    private MyTextEditor editor(String... lines) {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(lines);
+        return editor;
+    }
+
+    @Test
+    void editsUseTheLineNumbersBeforeTheBatch() {
+        MyTextEditor editor = editor("a", "b", "c", "d");
+        editor.beginBatch()
+                .remove(0)
+                .replace(2, "C")
+                .insert(2, "x", "y")
+                .insert(4, "end")
+                .replace(1, "B")
+                .commit();
+        assertEquals("B\nx\ny\nC\nd\nend", editor.toString());
+    }
+
+    @Test
+    void removalWinsAndLastReplacementIsKept() {
+        MyTextEditor editor = editor("a", "b", "c");
+        editor.beginBatch()
+                .replace(0, "first")
+                .replace(0, "second")
+                .replace(1, "gone")
+                .remove(1, 3)
+                .commit();
+        assertEquals("second", editor.toString());
+    }
+
+    @Test
+    void cursorFollowsItsLine() {
+        MyTextEditor editor = editor("a", "b", "c", "d");
+        editor.moveCursorToLine(2);
+        editor.beginBatch().insert(0, "x", "y").remove(1).commit();
+        assertEquals(3, editor.cursorLineNum());
+        assertEquals("c", editor.getAtCursor());
+
+        editor.beginBatch().remove(3).commit();
+        assertEquals("d", editor.getAtCursor());
+    }
+
+    @Test
+    void outOfRangeEditChangesNothing() {
+        MyTextEditor editor = editor("a", "b");
+        EditBatch batch = editor.beginBatch().replace(0, "changed").remove(2);
+
+        assertThrows(IndexOutOfBoundsException.class, batch::commit);
+        assertEquals("a\nb", editor.toString());
+        assertEquals(2, batch.size());
+
+        batch.rollback();
+        batch.commit();
+        assertEquals("a\nb", editor.toString());
+    }
+
+    @Test
+    void batchIsUndoneAsOneChange() {
+        MyTextEditor editor = editor("a", "b", "c");
+        editor.enableUndo(Long.MAX_VALUE);
+        editor.beginBatch().remove(0).replace(2, "z").insert(1, "q").commit();
+        assertEquals("q\nb\nz", editor.toString());
+
+        assertTrue(editor.undo());
+        assertEquals("a\nb\nc", editor.toString());
+        assertFalse(editor.canUndo());
+        assertTrue(editor.redo());
+        assertEquals("q\nb\nz", editor.toString());
+    }
+
+    @Test
+    void onlyTheRunsOfEditedLinesAreReported() {
+        MyTextEditor editor = editor("l0", "l1", "l2", "l3", "l4", "l5", "l6", "l7", "l8", "l9");
+        editor.enableUndo(Long.MAX_VALUE);
+        ArrayList<String> reported = new ArrayList<>();
+        editor.addChangeListener(changes -> reported.add(Arrays.toString(changes)));
+        editor.beginBatch().replace(1, "a").replace(2, "b").insert(5, "new").remove(8).commit();
+        assertEquals("l0\na\nb\nl3\nl4\nnew\nl5\nl6\nl7\nl9", editor.toString());
+        // From the last run to the first, so that each is numbered as the document was before the batch
+        assertEquals(java.util.List.of("[REMOVE [8, 9) -> 0 lines, 2 -> 0 characters, "
+                + "INSERT [5, 5) -> 1 lines, 0 -> 3 characters, "
+                + "REPLACE [1, 3) -> 2 lines, 4 -> 2 characters]"), reported);
+
+        assertTrue(editor.undo());
+        assertEquals("l0\nl1\nl2\nl3\nl4\nl5\nl6\nl7\nl8\nl9", editor.toString());
+        assertEquals(1, editor.cursorLineNum());
+        assertFalse(editor.canUndo());
+        assertTrue(editor.redo());
+        assertEquals("l0\na\nb\nl3\nl4\nnew\nl5\nl6\nl7\nl9", editor.toString());
+    }
+
+    @Test
+    void randomBatchesMatchEditsAppliedOneByOne() {
+        Random random = new Random(10);
+        for (int round = 0; round < 200; round++) {
+            ArrayList<String> model = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                model.add("l" + i);
+            }
+            MyTextEditor editor = editor(model.toArray(new String[0]));
+            EditBatch batch = editor.beginBatch();
+
+            // The model applies the edits from the last line to the first, so that earlier lines keep their numbers
+            String[] replaced = new String[model.size()];
+            boolean[] removed = new boolean[model.size()];
+            ArrayList<ArrayList<String>> inserted = new ArrayList<>();
+            for (int i = 0; i <= model.size(); i++) {
+                inserted.add(new ArrayList<>());
+            }
+            for (int i = 0; i < 20; i++) {
+                int kind = random.nextInt(3);
+                if (kind == 0) {
+                    int line = random.nextInt(model.size() + 1);
+                    batch.insert(line, "i" + i);
+                    inserted.get(line).add("i" + i);
+                } else if (kind == 1) {
+                    int line = random.nextInt(model.size());
+                    batch.replace(line, "r" + i);
+                    replaced[line] = "r" + i;
+                } else {
+                    int line = random.nextInt(model.size());
+                    batch.remove(line);
+                    removed[line] = true;
+                }
+            }
+            for (int line = model.size(); line >= 0; line--) {
+                if (line < model.size()) {
+                    if (removed[line]) {
+                        model.remove(line);
+                    } else if (replaced[line] != null) {
+                        model.set(line, replaced[line]);
+                    }
+                }
+                model.addAll(line, inserted.get(line));
+            }
+            batch.commit();
+            assertEquals(String.join("\n", model), editor.toString());
+        }
+    }
+
+    @Test
+    void largeBatchIsAppliedInOnePass() {
+        String[] lines = new String[1_000_000];
+        Arrays.setAll(lines, i -> "line " + i);
+        MyTextEditor editor = editor(lines);
+
+        EditBatch batch = editor.beginBatch();
+        for (int line = 0; line < lines.length; line += 50) {
+            batch.insert(line, "inserted").replace(line + 1, "replaced").remove(line + 2);
+        }
+        assertTimeoutPreemptively(Duration.ofSeconds(10), batch::commit);
+        assertEquals(1_000_000, editor.size());
+        assertEquals("inserted", editor.getLine(50));
+        assertEquals("line 50", editor.getLine(51));
+        assertEquals("replaced", editor.getLine(52));
+        assertEquals("line 53", editor.getLine(53));
+    }
+}
@@ -0,0 +1,257 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the class EditJournal, which lets a MyTextEditor be recovered after a crash
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Copies the files of the journal as a crash would leave them, while the editor keeps them open
+     */
+    private Path crash(String name) throws IOException {
+        Path copy = directory.resolve(name);
+        Files.createDirectories(copy);
+        for (String file : new String[]{EditJournal.CHECKPOINT, EditJournal.JOURNAL}) {
+            Path source = directory.resolve("journal").resolve(file);
+            if (Files.exists(source)) {
+                Files.copy(source, copy.resolve(file));
+            }
+        }
+        return copy;
+    }
+
+    private static void randomEdit(MyTextEditor editor, Random random, int step) {
+        int operation = random.nextInt(9);
+        if (editor.isEmpty() || operation < 3) {
+            editor.insertAfterCursor("line " + step + " caf\u00e9");
+        } else if (operation == 3 && editor.cursorLineNum() > 0) {
+            editor.insertBeforeCursor("before " + step);
+        } else if (operation == 4) {
+            editor.replaceAtCursor("replaced " + step);
+        } else if (operation == 5 && editor.size() > 1) {
+            editor.removeAtCursor();
+        } else if (operation == 6) {
+            editor.insertAt(0, "typed");
+        } else if (operation == 7) {
+            editor.insertLinesAfterCursor(new String[]{"a" + step, "", "b"});
+        } else {
+            editor.moveCursorToLine(random.nextInt(editor.size()));
+        }
+    }
+
+    @Test
+    void recoversEveryChangeThatWasSynced() throws IOException {
+        MyTextEditor editor = new MyTextEditor(new String[]{"first", "second"});
+        EditJournal journal = editor.enableJournal(directory.resolve("journal"));
+        Random random = new Random(25);
+        for (int step = 0; step < 2_000; step++) {
+            randomEdit(editor, random, step);
+        }
+        // The keystrokes made to a line are journaled once it is written back
+        editor.freezeLine();
+        journal.sync();
+
+        MyTextEditor recovered = MyTextEditor.recover(crash("crashed"));
+        try (recovered) {
+            assertEquals(editor.toString(), recovered.toString());
+            assertEquals(editor.cursorLineNum(), recovered.cursorLineNum());
+            assertTrue(recovered.size() > 2);
+        }
+        editor.close();
+    }
+
+    @Test
+    void recoveryKeepsJournaling() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        MyTextEditor editor = new MyTextEditor();
+        editor.enableJournal(journalDirectory, 0, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+        editor.insertAfterCursor("one");
+        editor.insertAfterCursor("two");
+        editor.close();
+
+        MyTextEditor recovered = MyTextEditor.recover(journalDirectory, 0, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+        assertEquals("one\ntwo", recovered.toString());
+        assertEquals(1, recovered.cursorLineNum());
+        recovered.insertAfterCursor("three");
+        recovered.moveCursorToLine(0);
+        recovered.removeAtCursor();
+        // Forced after every change, so nothing has to be synced before the crash
+        MyTextEditor again = MyTextEditor.recover(crash("crashed"));
+        assertEquals("two\nthree", again.toString());
+        again.close();
+        recovered.close();
+    }
+
+    @Test
+    void aTornRecordIsDropped() throws IOException {
+        MyTextEditor editor = new MyTextEditor(new String[]{"kept"});
+        editor.enableJournal(directory.resolve("journal"), 0, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+        editor.insertAfterCursor("also kept");
+        editor.insertAfterCursor("torn away by the crash");
+        editor.close();
+
+        Path crashed = crash("crashed");
+        Path journal = crashed.resolve(EditJournal.JOURNAL);
+        long length = Files.size(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(length - 3);
+        }
+        MyTextEditor recovered = MyTextEditor.recover(crashed, 0, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+        assertEquals("kept\nalso kept", recovered.toString());
+        // The torn record was cut off, so the next ones are read back
+        recovered.insertAfterCursor("after recovery");
+        recovered.close();
+        try (MyTextEditor reopened = MyTextEditor.recover(crashed)) {
+            assertEquals("kept\nalso kept\nafter recovery", reopened.toString());
+        }
+
+        Path damaged = crash("damaged");
+        byte[] bytes = Files.readAllBytes(damaged.resolve(EditJournal.JOURNAL));
+        bytes[bytes.length - 6] ^= 1;
+        Files.write(damaged.resolve(EditJournal.JOURNAL), bytes);
+        try (MyTextEditor reopened = MyTextEditor.recover(damaged)) {
+            assertEquals("kept\nalso kept", reopened.toString());
+        }
+    }
+
+    @Test
+    void checkpointsBoundTheJournal() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        MyTextEditor editor = new MyTextEditor();
+        EditJournal journal = editor.enableJournal(journalDirectory, EditJournal.DEFAULT_SYNC_INTERVAL_MILLIS, 4096);
+        Random random = new Random(2025);
+        for (int step = 0; step < 5_000; step++) {
+            randomEdit(editor, random, step);
+            if (journal.journalBytes() >= 4096) {
+                // The checkpoint is written in the background and then cuts the journal back
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (journal.journalBytes() >= 4096) {
+                    assertTrue(System.nanoTime() < deadline, "No checkpoint was taken");
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        editor.freezeLine();
+        journal.sync();
+        MyTextEditor recovered = MyTextEditor.recover(crash("crashed"));
+        assertEquals(editor.toString(), recovered.toString());
+        recovered.close();
+        editor.close();
+    }
+
+    @Test
+    void editsGoOnWhileACheckpointIsWritten() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        MyTextEditor editor = new MyTextEditor();
+        EditJournal journal = editor.enableJournal(journalDirectory, 0, 1024);
+        Random random = new Random(7);
+        for (int step = 0; step < 3_000; step++) {
+            randomEdit(editor, random, step);
+        }
+        editor.freezeLine();
+        // Every change is forced, so whatever checkpoint is running the files describe the document
+        try (MyTextEditor recovered = MyTextEditor.recover(crash("crashed"))) {
+            assertEquals(editor.toString(), recovered.toString());
+        }
+        journal.close();
+        try (MyTextEditor recovered = MyTextEditor.recover(journalDirectory)) {
+            assertEquals(editor.toString(), recovered.toString());
+            assertTrue(Files.size(journalDirectory.resolve(EditJournal.JOURNAL)) < 3_000 * 8);
+        }
+    }
+
+    @Test
+    void aCrashBeforeTheJournalStartsOverLosesNothing() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        MyTextEditor editor = new MyTextEditor(new String[]{"a"});
+        EditJournal journal = editor.enableJournal(journalDirectory, 0, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+        editor.insertAfterCursor("b");
+        Path old = crash("old");
+        journal.checkpoint();
+        editor.insertAfterCursor("c");
+        editor.close();
+
+        // The new checkpoint is in place but the journal it follows still is the old one, to
+        // which "c" would have been appended before the journal was started over
+        Path crashed = crash("crashed");
+        Files.copy(old.resolve(EditJournal.JOURNAL), crashed.resolve(EditJournal.JOURNAL), StandardCopyOption.REPLACE_EXISTING);
+        byte[] records = Files.readAllBytes(journalDirectory.resolve(EditJournal.JOURNAL));
+        try (FileChannel channel = FileChannel.open(crashed.resolve(EditJournal.JOURNAL), StandardOpenOption.APPEND)) {
+            // The records of the new journal come after its header
+            channel.write(ByteBuffer.wrap(records, 16, records.length - 16));
+        }
+        try (MyTextEditor recovered = MyTextEditor.recover(crashed, 0, EditJournal.DEFAULT_CHECKPOINT_BYTES)) {
+            assertEquals("a\nb\nc", recovered.toString());
+            recovered.insertAfterCursor("d");
+        }
+        try (MyTextEditor recovered = MyTextEditor.recover(crashed)) {
+            assertEquals("a\nb\nc\nd", recovered.toString());
+        }
+    }
+
+    @Test
+    void aFailedCheckpointStopsTheJournalWithoutStoppingTheEditor() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        MyTextEditor editor = new MyTextEditor();
+        EditJournal journal = editor.enableJournal(journalDirectory, 0, 512);
+        SearchIndex search = editor.enableSearch();
+        try (var files = Files.list(journalDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(journalDirectory);
+        for (int step = 0; step < 200; step++) {
+            editor.insertAfterCursor("line " + step);
+        }
+        // The observers after the journal saw every change
+        assertArrayEquals(new int[]{199}, search.findAll("line 199"));
+        assertThrows(IOException.class, journal::close);
+        assertThrows(IOException.class, journal::sync);
+    }
+
+    @Test
+    void aJournalOlderThanTheCheckpointIsIgnored() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        MyTextEditor editor = new MyTextEditor(new String[]{"a"});
+        EditJournal journal = editor.enableJournal(journalDirectory, 0, EditJournal.DEFAULT_CHECKPOINT_BYTES);
+        editor.insertAfterCursor("b");
+        Path stale = crash("stale");
+        journal.checkpoint();
+        editor.insertAfterCursor("c");
+        editor.close();
+
+        // As if the crash came right after the checkpoint was written, before the journal was replaced
+        Files.copy(stale.resolve(EditJournal.JOURNAL), journalDirectory.resolve(EditJournal.JOURNAL),
+                StandardCopyOption.REPLACE_EXISTING);
+        try (MyTextEditor recovered = MyTextEditor.recover(journalDirectory)) {
+            assertEquals("a\nb", recovered.toString());
+        }
+    }
+
+    @Test
+    void aMissingCheckpointIsAnError() {
+        assertThrows(IOException.class, () -> MyTextEditor.recover(directory.resolve("nothing")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyTextEditor().enableJournal(directory.resolve("bad"), -1, 10));
+    }
+}
@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test streaming the text of a MyTextEditor through writeTo, and its cached length
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditorExportTest {
+
+    /**
+     * Checks that every way of exporting the text gives the same text, of the cached length
+     */
+    private static void assertExports(MyTextEditor editor) throws IOException {
+        String text = editor.toString();
+        assertEquals(text.length(), editor.length());
+
+        StringWriter writer = new StringWriter();
+        editor.writeTo(writer);
+        assertEquals(text, writer.toString());
+
+        StringBuilder builder = new StringBuilder();
+        editor.writeTo(builder);
+        assertEquals(text, builder.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long written = editor.writeTo(Channels.newChannel(bytes));
+        assertEquals(text, bytes.toString(StandardCharsets.UTF_8));
+        assertEquals(bytes.size(), written);
+    }
+
+    @Test
+    void emptyDocument() throws IOException {
+        MyTextEditor editor = new MyTextEditor();
+        assertEquals(0, editor.length());
+        assertExports(editor);
+    }
+
+    @Test
+    void lengthFollowsEveryKindOfEdit() throws IOException {
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.readResourceFile("final.txt"));
+        editor.enableUndo(1 << 20);
+        assertExports(editor);
+
+        Random random = new Random(21);
+        for (int step = 0; step < 2000; step++) {
+            switch (random.nextInt(8)) {
+                case 0 -> editor.insertAfterCursor("caf\u00e9 " + step);
+                case 1 -> editor.replaceAtCursor("x".repeat(random.nextInt(10)));
+                case 2 -> {
+                    if (editor.size() > 1) {
+                        editor.removeAtCursor();
+                    }
+                }
+                case 3 -> editor.insertLinesAfterCursor(new String[]{"", "two", "lines"});
+                case 4 -> {
+                    int from = random.nextInt(editor.size());
+                    editor.removeLines(from, Math.min(editor.size() - 1, from + random.nextInt(3)));
+                }
+                case 5 -> editor.undo();
+                case 6 -> {
+                    EditBatch batch = editor.beginBatch();
+                    batch.replace(0, "batched " + step);
+                    batch.insert(editor.size(), "appended");
+                    batch.commit();
+                }
+                default -> editor.moveCursorToLine(random.nextInt(editor.size()));
+            }
+            if (step % 100 == 0) {
+                assertExports(editor);
+            }
+        }
+        editor.replaceAll(Pattern.compile("a"), "\u00e4\u00e4");
+        assertExports(editor);
+    }
+
+    @Test
+    void lengthOfAMappedDocument() throws IOException {
+        Path file = Files.createTempFile("export", ".txt");
+        try {
+            Files.writeString(file, "one\r\ntwo\n\nfour\u2026");
+            MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(file, true));
+            assertEquals("one\ntwo\n\nfour\u2026", editor.toString());
+            assertExports(editor);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import list.GapBufferList;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the metrics of a MyTextEditor through the classes EditorStatistics and LatencyHistogram
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class EditorStatisticsTest {
+
+    @Test
+    void countsOperationsAndMoves() {
+        MyTextEditor editor = new MyTextEditor();
+        EditorStatistics statistics = new EditorStatistics();
+        editor.setMetrics(statistics);
+
+        editor.insertAfterCursor("a");
+        for (int i = 0; i < 99; i++) {
+            editor.insertAfterCursor("line " + i);
+        }
+        editor.moveCursorToLine(0);
+        editor.replaceAtCursor("b");
+        editor.removeAtCursor();
+        editor.removeLines(0, 10);
+
+        assertEquals(100, statistics.operationCount("INSERT_AFTER"));
+        assertEquals(1, statistics.operationCount("REPLACE"));
+        assertEquals(1, statistics.operationCount("REMOVE"));
+        assertEquals(1, statistics.operationCount("REMOVE_LINES"));
+        assertEquals(0, statistics.operationCount("SAVE"));
+        // Removing the first line moves the 99 after it, and the range the 89 after it
+        assertTrue(statistics.getElementsMoved() >= 99 + 89);
+        // 100 lines outgrow the initial 16 slots three times
+        assertTrue(statistics.getCapacityChanges() >= 3);
+        assertTrue(statistics.getElementsCopiedOnResize() >= 16 + 32 + 64);
+        assertEquals(4 * (statistics.getElementsMoved() + statistics.getElementsCopiedOnResize()),
+                statistics.getBytesCopied());
+        assertTrue(statistics.latencyPercentile("INSERT_AFTER", 99) >= statistics.latencyPercentile("INSERT_AFTER", 50));
+
+        statistics.reset();
+        assertEquals(0, statistics.operationCount("INSERT_AFTER"));
+        assertEquals(0, statistics.getElementsMoved());
+    }
+
+    @Test
+    void gapBufferMovesOnlyTheGap() {
+        MyTextEditor editor = new MyTextEditor(new GapBufferList<>());
+        EditorStatistics statistics = new EditorStatistics();
+        editor.setMetrics(statistics);
+        editor.insertAfterCursor("first");
+        for (int i = 0; i < 1000; i++) {
+            editor.insertAfterCursor("line " + i);
+        }
+        // Typing at the cursor keeps the gap there, so nothing but reallocations copy lines
+        assertEquals(0, statistics.getElementsMoved());
+        editor.moveCursorToLine(0);
+        editor.insertAfterCursor("second");
+        assertEquals(1000, statistics.getElementsMoved());
+    }
+
+    @Test
+    void metricsCanBeRemoved() {
+        MyTextEditor editor = new MyTextEditor();
+        EditorStatistics statistics = new EditorStatistics();
+        editor.setMetrics(statistics);
+        editor.insertAfterCursor("a");
+        editor.setMetrics(EditorMetrics.NONE);
+        editor.insertAfterCursor("b");
+        assertEquals(1, statistics.operationCount("INSERT_AFTER"));
+        assertEquals("a\nb", editor.toString());
+    }
+
+    @Test
+    void exposedThroughJmx() throws Exception {
+        MyTextEditor editor = new MyTextEditor();
+        EditorStatistics statistics = new EditorStatistics();
+        editor.setMetrics(statistics);
+        ObjectName name = statistics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            editor.insertAfterCursor("a");
+            editor.insertAfterCursor("b");
+            assertEquals(statistics.getElementsMoved(), server.getAttribute(name, "ElementsMoved"));
+            String[] summary = (String[]) server.getAttribute(name, "OperationSummary");
+            assertEquals(EditorMetrics.Operation.values().length, summary.length);
+            assertTrue(summary[0].startsWith("INSERT_AFTER count=2"), summary[0]);
+            assertEquals(2L, server.invoke(name, "operationCount",
+                    new Object[]{"INSERT_AFTER"}, new String[]{String.class.getName()}));
+            // Registering again under the same name replaces the statistics
+            assertEquals(name, new EditorStatistics().register("test"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void histogramBucketsBoundTheirValues() {
+        Random random = new Random(16);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBound(bucket), "value " + value);
+            // Buckets are at most an eighth of their values wide
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBound(bucket - 1), "value " + value);
+            assertTrue(LatencyHistogram.upperBound(bucket) - value <= Math.max(0, value / 8), "value " + value);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(500_500.0, histogram.mean(), 1e-9);
+        long median = histogram.percentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8, "median " + median);
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 9 / 8, "p99 " + p99);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+    }
+}
@@ -1,3 +1,5 @@
+import list.ArraySequence;
+import list.GapBufferList;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +60,67 @@ public class EditorTest {
             """, editor);
     }
 
+    /**
+     * Run the same edits with the lines kept in a gap buffer instead of the default FlatArraySequence.
+     */
+    @Test
+    void testGapBufferEditor() {
+
+        SimpleTextEditor editor = new MyTextEditor(new GapBufferList<>());
+
+        applyInitialState(editor);
+        assertEquals(getText("initial.txt"), editor.toString());
+
+        applyMiddleState(editor);
+        assertEquals(getText("middle.txt"), editor.toString());
+
+        applyFinalState(editor);
+        assertEquals(getText("final.txt"), editor.toString());
+    }
+
+    /**
+     * Run the same edits with the lines kept in an ArraySequence, which wraps every line in a node.
+     */
+    @Test
+    void testArraySequenceEditor() {
+
+        SimpleTextEditor editor = new MyTextEditor(new ArraySequence<>());
+
+        applyInitialState(editor);
+        assertEquals(getText("initial.txt"), editor.toString());
+
+        applyMiddleState(editor);
+        assertEquals(getText("middle.txt"), editor.toString());
+
+        applyFinalState(editor);
+        assertEquals(getText("final.txt"), editor.toString());
+    }
+
+    /**
+     * Insert and remove blocks of lines in one call each.
+     */
+    @Test
+    void bulkEdits() {
+
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(EditorUtilities.readResourceFile("final.txt"));
+        assertEquals(getText("final.txt"), editor.toString());
+        assertEquals(editor.size() - 1, editor.cursorLineNum());
+
+        editor.moveCursorToLine(5);
+        editor.removeLines(2, 4);
+        assertEquals(3, editor.cursorLineNum());
+
+        editor.removeLines(2, editor.size());
+        assertEquals(2, editor.size());
+        assertEquals(1, editor.cursorLineNum());
+
+        editor.moveCursorToLine(0);
+        editor.insertLinesAfterCursor(new String[]{"one", "two"});
+        assertEquals(2, editor.cursorLineNum());
+        assertEquals("one", editor.toString().split("\n")[1]);
+    }
+
     /**
      * Join the array line with newlines to make it look like a file document.
      *
@@ -0,0 +1,118 @@
+import list.ArraySequence;
+import list.FlatArraySequence;
+import list.Position;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the class FlatArraySequence and its footprint next to ArraySequence
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class FlatArraySequenceTest {
+
+    private static final int LINES = 100_000;
+
+    private FlatArraySequence<Character> getCollection() {
+        FlatArraySequence<Character> fs = new FlatArraySequence<>(2);
+        fs.addLast('A');
+        fs.addLast('B');
+        fs.addLast('C');
+        return fs;
+    }
+
+    @Test
+    void indexedOperations() {
+        FlatArraySequence<Character> fs = getCollection();
+        fs.add(1, 'X');
+        assertEquals("{(0,A),(1,X),(2,B),(3,C)}", fs.toString());
+        assertEquals('X', fs.set(1, 'Y'));
+        assertEquals('Y', fs.remove(1));
+        fs.addAll(3, new Character[]{'D', 'E', 'F'});
+        fs.replaceRange(1, 3, new Character[]{'!'});
+        assertEquals("{(0,A),(1,!),(2,D),(3,E),(4,F)}", fs.toString());
+        fs.removeRange(2, 5);
+        assertEquals("{(0,A),(1,!)}", fs.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> fs.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> fs.add(3, 'Z'));
+    }
+
+    @Test
+    void positionsSurviveReplacementsOnly() {
+        FlatArraySequence<Character> fs = getCollection();
+        Position<Character> b = fs.atIndex(1);
+        assertEquals('C', fs.after(b).getElement());
+        assertEquals('A', fs.before(b).getElement());
+
+        fs.set(b, '!');
+        fs.set(0, 'a');
+        assertEquals('!', b.getElement());
+        assertEquals(1, fs.indexOf(b));
+
+        fs.addFirst('X');
+        assertEquals(-1, fs.indexOf(b));
+        assertThrows(IllegalStateException.class, b::getElement);
+        assertThrows(IllegalArgumentException.class, () -> fs.remove(b));
+        assertEquals(-1, fs.indexOf(new ArraySequence<Character>().addFirst('!')));
+    }
+
+    @Test
+    void trimsAndPresizes() {
+        FlatArraySequence<Integer> fs = new FlatArraySequence<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            fs.add(i, i);
+        }
+        long presized = GraphLayout.parseInstance(fs).totalSize();
+        fs.removeRange(10, LINES);
+        fs.trimToSize();
+        assertTrue(GraphLayout.parseInstance(fs).totalSize() < presized / 100);
+        assertEquals(9, fs.get(9));
+    }
+
+    /**
+     * The nodes of an ArraySequence cost one object and 24 bytes or more per element, which a
+     * FlatArraySequence does without. Every slot holds the same line so that only the structure
+     * of the sequences is measured.
+     */
+    @Test
+    void footprintWithoutNodes() {
+        String line = "the same line";
+        ArraySequence<String> nodes = new ArraySequence<>(LINES);
+        FlatArraySequence<String> flat = new FlatArraySequence<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            nodes.addLast(line);
+            flat.addLast(line);
+        }
+        GraphLayout nodeLayout = GraphLayout.parseInstance(nodes);
+        GraphLayout flatLayout = GraphLayout.parseInstance(flat);
+
+        assertTrue(nodeLayout.totalCount() >= LINES);
+        assertTrue(flatLayout.totalCount() < 10, "objects " + flatLayout.totalCount());
+        assertTrue(nodeLayout.totalSize() - flatLayout.totalSize() >= 20L * LINES,
+                nodeLayout.totalSize() + " bytes with nodes and " + flatLayout.totalSize() + " without");
+        assertTrue(flatLayout.totalSize() <= 4L * LINES + 1024, "bytes " + flatLayout.totalSize());
+    }
+
+    @Test
+    void replacingAllocatesNothing() {
+        ArraySequence<String> nodes = new ArraySequence<>();
+        FlatArraySequence<String> flat = new FlatArraySequence<>();
+        for (int i = 0; i < 1000; i++) {
+            nodes.addLast("line");
+            flat.addLast("line");
+        }
+        Position<String> node = nodes.atIndex(500);
+        long flatCount = GraphLayout.parseInstance(flat).totalCount();
+        for (int i = 0; i < 1000; i++) {
+            nodes.set(i, "other");
+            flat.set(i, "other");
+        }
+        // The node is reused rather than replaced, so its position stays valid
+        assertSame(node, nodes.atIndex(500));
+        assertEquals("other", node.getElement());
+        assertEquals(flatCount, GraphLayout.parseInstance(flat).totalCount());
+    }
+}
@@ -0,0 +1,86 @@
+import list.GapBufferList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GapBufferListTest {
+
+    private GapBufferList<Character> getCollection() {
+        GapBufferList<Character> gb = new GapBufferList<>(2);
+
+        gb.add(0, 'A');
+        gb.add(1, 'B');
+        gb.add(2, 'C');
+        return gb;
+    }
+
+    private String contents(GapBufferList<Character> gb) {
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < gb.size(); i++) {
+            str.append(gb.get(i));
+        }
+        return str.toString();
+    }
+
+    @Test
+    void empty() {
+        GapBufferList<Character> gb = new GapBufferList<>();
+        assertTrue(gb.isEmpty(), "Initial collection state should be empty.");
+    }
+
+    @Test
+    void addElements() {
+        GapBufferList<Character> gb = getCollection();
+
+        assertEquals("ABC", contents(gb));
+        assertEquals(3, gb.size());
+    }
+
+    @Test
+    void addAroundGap() {
+        GapBufferList<Character> gb = getCollection();
+        gb.add(0, 'X');
+        gb.add(4, 'Z');
+        gb.add(2, 'Y');
+
+        assertEquals("XAYBCZ", contents(gb));
+    }
+
+    @Test
+    void set() {
+        GapBufferList<Character> gb = getCollection();
+        gb.add(1, 'D');
+
+        assertEquals('C', gb.set(3, '!'));
+        assertEquals("ADB!", contents(gb));
+    }
+
+    @Test
+    void remove() {
+        GapBufferList<Character> gb = getCollection();
+        gb.add(3, 'D');
+
+        assertEquals('A', gb.remove(0));
+        assertEquals('D', gb.remove(2));
+        assertEquals("BC", contents(gb));
+    }
+
+    @Test
+    void removalAll() {
+        GapBufferList<Character> gb = getCollection();
+        int size = gb.size();
+        for (int i = 0; i < size; i++) {
+            gb.remove(size - i - 1);
+        }
+        assertTrue(gb.isEmpty(), "Collection should be empty after removing everything.");
+    }
+
+    @Test
+    void outOfRange() {
+        GapBufferList<Character> gb = getCollection();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> gb.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> gb.add(4, 'E'));
+        assertThrows(IndexOutOfBoundsException.class, () -> gb.remove(-1));
+    }
+}
@@ -0,0 +1,123 @@
+import list.ArrayBackedList;
+import list.GrowthPolicy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test how an ArrayBackedList grows and shrinks through the interface GrowthPolicy
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class GrowthPolicyTest {
+
+    private static ArrayBackedList<Integer> filled(GrowthPolicy policy, int count) {
+        ArrayBackedList<Integer> list = new ArrayBackedList<>(ArrayBackedList.INITIAL_CAPACITY, policy);
+        for (int i = 0; i < count; i++) {
+            list.add(i, i);
+        }
+        return list;
+    }
+
+    @Test
+    void policiesGrowAsNamed() {
+        assertEquals(32, GrowthPolicy.DOUBLING.grow(16, 17));
+        assertEquals(24, GrowthPolicy.ONE_AND_A_HALF.grow(16, 17));
+        assertEquals(26, GrowthPolicy.fixedIncrement(10).grow(16, 17));
+        // A bulk insertion larger than the growth gets exactly the room it needs
+        assertEquals(100, GrowthPolicy.DOUBLING.grow(16, 100));
+        assertEquals(GrowthPolicy.MAX_CAPACITY, GrowthPolicy.DOUBLING.grow(1 << 30, (1 << 30) + 1));
+        assertThrows(OutOfMemoryError.class, () -> GrowthPolicy.DOUBLING.grow(GrowthPolicy.MAX_CAPACITY, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixedIncrement(0));
+
+        assertEquals(64, filled(GrowthPolicy.DOUBLING, 33).capacity());
+        assertEquals(36, filled(GrowthPolicy.ONE_AND_A_HALF, 33).capacity());
+        assertEquals(36, filled(GrowthPolicy.fixedIncrement(10), 33).capacity());
+    }
+
+    @Test
+    void doublingNeverShrinks() {
+        ArrayBackedList<Integer> list = filled(GrowthPolicy.DOUBLING, 1000);
+        list.removeRange(0, 999);
+        assertEquals(1024, list.capacity());
+        list.trimToSize();
+        assertEquals(1, list.capacity());
+        assertEquals(999, list.get(0));
+    }
+
+    @Test
+    void shrinksAtAQuarterWithHysteresis() {
+        GrowthPolicy policy = GrowthPolicy.DOUBLING.shrinkingAtQuarter(ArrayBackedList.INITIAL_CAPACITY);
+        ArrayBackedList<Integer> list = filled(policy, 1024);
+        assertEquals(1024, list.capacity());
+        list.removeRange(0, 767);
+        assertEquals(1024, list.capacity());
+        list.remove(0);
+        // 256 elements left out of 1024
+        assertEquals(512, list.capacity());
+        // Going back and forth around the threshold does not resize again
+        for (int i = 0; i < 100; i++) {
+            list.add(0, -1);
+            list.remove(0);
+        }
+        assertEquals(512, list.capacity());
+        list.removeRange(0, list.size());
+        assertEquals(ArrayBackedList.INITIAL_CAPACITY, list.capacity());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void shrinkingKeepsTheElements() {
+        ArrayBackedList<Integer> list = filled(GrowthPolicy.ONE_AND_A_HALF.shrinkingAtQuarter(4), 10_000);
+        for (int i = 0; i < 9_990; i++) {
+            list.remove(list.size() / 2);
+        }
+        assertEquals(10, list.size());
+        assertTrue(list.capacity() <= 40);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, list.get(i));
+            assertEquals(9_995 + i, list.get(5 + i));
+        }
+    }
+
+    @Test
+    void ensureCapacityPreallocates() {
+        ArrayBackedList<Integer> list = new ArrayBackedList<>();
+        list.ensureCapacity(10_000);
+        assertEquals(10_000, list.capacity());
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i, i);
+        }
+        assertEquals(10_000, list.capacity());
+        list.ensureCapacity(5);
+        assertEquals(10_000, list.capacity());
+    }
+
+    @Test
+    void editorPresizesAndTrims() {
+        String[] lines = new String[1000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "line " + i;
+        }
+        MyTextEditor editor = new MyTextEditor(lines);
+        assertEquals(1000, editor.size());
+        assertEquals(0, editor.cursorLineNum());
+        assertEquals("line 0", editor.getAtCursor());
+
+        EditorStatistics statistics = new EditorStatistics();
+        MyTextEditor presized = new MyTextEditor(lines.length);
+        presized.setMetrics(statistics);
+        for (String line : lines) {
+            presized.insertAfterCursor(line);
+        }
+        assertEquals(0, statistics.getCapacityChanges());
+        assertEquals(editor.toString(), presized.toString());
+
+        presized.removeLines(0, 990);
+        presized.trimToSize();
+        assertEquals(1, statistics.getCapacityChanges());
+        assertEquals(10, presized.size());
+        assertTrue(new MyTextEditor(new String[0]).isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test mapping offsets to lines in a MyTextEditor through the class LineOffsetIndex
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class LineOffsetIndexTest {
+
+    /**
+     * Checks every offset and every line against the text of the editor
+     */
+    private static void assertConsistent(MyTextEditor editor) {
+        String text = editor.toString();
+        assertEquals(text.length(), editor.length());
+        int line = 0;
+        int start = 0;
+        for (int offset = 0; offset <= text.length(); offset++) {
+            if (offset == start) {
+                assertEquals(offset, editor.offsetOf(line));
+            }
+            assertEquals(line, editor.lineAt(offset), "offset " + offset);
+            if (offset < text.length() && text.charAt(offset) == '\n') {
+                line++;
+                start = offset + 1;
+            }
+        }
+        assertEquals(text.length(), editor.offsetOf(editor.size()));
+    }
+
+    @Test
+    void offsetsAndLines() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(new String[]{"ab", "", "cde"});
+        assertEquals(7, editor.length());
+        assertEquals(0, editor.offsetOf(0));
+        assertEquals(3, editor.offsetOf(1));
+        assertEquals(4, editor.offsetOf(2));
+        assertEquals(0, editor.lineAt(2), "The line break belongs to its line");
+        assertEquals(1, editor.lineAt(3));
+        assertEquals(2, editor.lineAt(7), "The end of the text belongs to the last line");
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.lineAt(8));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.offsetOf(4));
+
+        LineOffsetIndex index = new LineOffsetIndex(new String[]{"ab", "cd"});
+        assertEquals(1, index.columnAt(4));
+    }
+
+    @Test
+    void emptyDocument() {
+        MyTextEditor editor = new MyTextEditor();
+        assertEquals(0, editor.length());
+        assertEquals(0, editor.offsetOf(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.lineAt(0));
+    }
+
+    @Test
+    void followsRandomEdits() {
+        Random random = new Random(15);
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAfterCursor("first");
+        assertConsistent(editor);
+
+        for (int i = 0; i < 3_000; i++) {
+            String line = "x".repeat(random.nextInt(12));
+            editor.moveCursorToLine(random.nextInt(editor.size()));
+            switch (random.nextInt(5)) {
+                case 0 -> editor.insertAfterCursor(line);
+                case 1 -> editor.replaceAtCursor(line);
+                case 2 -> {
+                    if (editor.size() > 1) {
+                        editor.removeAtCursor();
+                    }
+                }
+                case 3 -> editor.insertLinesAfterCursor(new String[]{line, line + "y"});
+                default -> editor.beginBatch().replace(0, line).insert(editor.size(), line).commit();
+            }
+            if (i % 100 == 0) {
+                assertConsistent(editor);
+            }
+            // Interleave reads with edits, so that both the stale and the fresh tree are used
+            editor.offsetOf(random.nextInt(editor.size() + 1));
+        }
+        assertConsistent(editor);
+    }
+}
@@ -0,0 +1,125 @@
+import list.LineCache;
+import list.MappedLineStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLineStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String content) throws IOException {
+        Path file = directory.resolve("document.txt");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        MappedLineStore store = MappedLineStore.map(write(""), true);
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    void lineEndings() throws IOException {
+        MappedLineStore store = MappedLineStore.map(write("one\r\ntwo\n\nfour"), false);
+
+        assertEquals(4, store.size());
+        assertEquals("one", store.get(0));
+        assertEquals("two", store.get(1));
+        assertEquals("", store.get(2));
+        assertEquals("four", store.get(3));
+    }
+
+    @Test
+    void lazyDecoding() throws IOException {
+        MappedLineStore store = MappedLineStore.map(write("a\nb\nc\nd\n"), true);
+        assertEquals(4, store.size());
+        assertEquals(4, store.undecodedCount());
+
+        assertEquals("b", store.get(1));
+        assertEquals(3, store.undecodedCount());
+
+        store.remove(2);
+        store.add(0, "z");
+        store.set(3, "D");
+        assertEquals(1, store.undecodedCount());
+        assertEquals("z", store.get(0));
+        assertEquals("a", store.get(1));
+        assertEquals("b", store.get(2));
+        assertEquals("D", store.get(3));
+    }
+
+    @Test
+    void boundedCache() throws IOException {
+        MappedLineStore store = MappedLineStore.map(write("a\nb\nc\nd\n"), 2);
+        LineCache cache = store.cache();
+
+        assertEquals("a", store.get(0));
+        assertEquals("b", store.get(1));
+        assertEquals("a", store.get(0));
+        assertEquals("c", store.get(2));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(3, cache.missCount());
+
+        // b was the least recently read line, so it was evicted
+        assertEquals("b", store.get(1));
+        assertEquals(4, cache.missCount());
+        assertEquals(4, store.undecodedCount());
+
+        store.set(1, "B");
+        store.add(0, "z");
+        assertEquals(3, store.undecodedCount());
+        assertEquals("z", store.get(0));
+        assertEquals("B", store.get(2));
+        assertEquals("d", store.get(4));
+        assertThrows(IllegalArgumentException.class, () -> MappedLineStore.map(directory.resolve("document.txt"), 0));
+    }
+
+    @Test
+    void unicode() throws IOException {
+        MappedLineStore store = MappedLineStore.map(write("Narnia\u2026\ncaf\u00e9"), true);
+        assertEquals("Narnia\u2026", store.get(0));
+        assertEquals("caf\u00e9", store.get(1));
+    }
+
+    @Test
+    void editorOnMappedFile() throws IOException {
+        Path file = write(String.join("\n", EditorUtilities.readResourceFile("final.txt")));
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(file, true));
+
+        assertEquals(0, editor.cursorLineNum());
+        assertEquals(String.join("\n", EditorUtilities.readResourceFile("final.txt")), editor.toString());
+    }
+
+    @Test
+    void anEditorDecodesNoLineUntilItIsRead() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        Path file = write(content.toString());
+        MappedLineStore lazy = MappedLineStore.map(file, true);
+        MyTextEditor editor = new MyTextEditor(lazy);
+        MappedLineStore cached = MappedLineStore.map(file, 100);
+        new MyTextEditor(cached);
+        assertEquals(1000, lazy.undecodedCount());
+        assertEquals(0, cached.cache().missCount());
+
+        editor.insertAfterCursor("x");
+        assertEquals(1000, lazy.undecodedCount());
+        // The characters are counted the first time they are asked for, and then kept up to date
+        assertEquals(content.length() - 1 + 2, editor.length());
+        assertEquals(0, lazy.undecodedCount());
+        editor.removeAtCursor();
+        assertEquals(content.length() - 1, editor.length());
+        assertEquals(content.length() - 1, editor.toString().length());
+    }
+}
@@ -0,0 +1,157 @@
+import list.OffHeapLineStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the class OffHeapLineStore, on its own and as the store of a MyTextEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class OffHeapLineStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static final String[] VOCABULARY = {
+            "", "}", "plain ascii", "caf\u00e9 cr\u00e8me", "\u6f22\u5b57", "emoji \ud83d\ude00"
+    };
+
+    private static void assertContents(java.util.List<String> expected, OffHeapLineStore store) {
+        assertEquals(expected.size(), store.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), store.get(i), "line " + i);
+        }
+    }
+
+    @Test
+    void matchesAListUnderRandomEdits() {
+        Random random = new Random(20);
+        ArrayList<String> expected = new ArrayList<>();
+        try (OffHeapLineStore store = new OffHeapLineStore()) {
+            for (int step = 0; step < 50_000; step++) {
+                String line = VOCABULARY[random.nextInt(VOCABULARY.length)] + random.nextInt(1000);
+                int operation = random.nextInt(10);
+                if (expected.isEmpty() || operation < 4) {
+                    int index = random.nextInt(expected.size() + 1);
+                    expected.add(index, line);
+                    store.add(index, line);
+                } else if (operation < 7) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.set(index, line), store.set(index, line));
+                } else if (operation < 9) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), store.remove(index));
+                } else {
+                    int from = random.nextInt(expected.size());
+                    int to = Math.min(expected.size(), from + random.nextInt(20));
+                    expected.subList(from, to).clear();
+                    store.removeRange(from, to);
+                }
+            }
+            assertContents(expected, store);
+            store.trimToSize();
+            assertContents(expected, store);
+        }
+    }
+
+    @Test
+    void reclaimsRemovedText() {
+        try (OffHeapLineStore store = new OffHeapLineStore()) {
+            for (int i = 0; i < 200_000; i++) {
+                store.add(store.size(), "line number " + i);
+            }
+            long full = store.offHeapBytes();
+            assertTrue(full >= 200_000 * 15);
+            store.removeRange(10, store.size());
+            store.trimToSize();
+            assertTrue(store.offHeapBytes() < full / 100);
+            assertEquals("line number 9", store.get(9));
+        }
+    }
+
+    @Test
+    void closeReleasesTheStore() {
+        OffHeapLineStore store = new OffHeapLineStore();
+        store.add(0, "a");
+        store.close();
+        assertTrue(store.isClosed());
+        assertEquals(0, store.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> store.get(0));
+        assertThrows(IllegalStateException.class, () -> store.add(0, "b"));
+        store.close();
+    }
+
+    @Test
+    void readsAFile() throws IOException {
+        Path file = directory.resolve("document.txt");
+        Files.write(file, ("first\r\n\ncaf\u00e9\n\u6f22\u5b57\nlast").getBytes(StandardCharsets.UTF_8));
+        try (OffHeapLineStore store = OffHeapLineStore.read(file)) {
+            assertContents(java.util.List.of("first", "", "caf\u00e9", "\u6f22\u5b57", "last"), store);
+        }
+
+        Files.write(file, "only\n".getBytes(StandardCharsets.UTF_8));
+        try (OffHeapLineStore store = OffHeapLineStore.read(file)) {
+            assertContents(java.util.List.of("only"), store);
+        }
+    }
+
+    @Test
+    void editsADocumentOffTheHeap() throws IOException {
+        Path file = directory.resolve("final.txt");
+        Files.writeString(file, String.join("\n", EditorUtilities.readResourceFile("final.txt")));
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.readDocumentOffHeap(file));
+        try (editor) {
+            assertEquals(String.join("\n", EditorUtilities.readResourceFile("final.txt")), editor.toString());
+            editor.moveCursorToLine(1);
+            editor.replaceAtCursor("replaced");
+            editor.insertAfterCursor("inserted");
+            editor.removeAtCursor();
+            assertEquals("replaced", editor.getLine(1));
+            Path saved = directory.resolve("saved.txt");
+            editor.save(saved);
+            assertEquals(editor.toString(), Files.readString(saved));
+        }
+        assertThrows(IllegalStateException.class, editor::getAtCursor);
+    }
+
+    @Test
+    void threadsReadTheStoreAtOnce() throws Exception {
+        String[] lines = new String[2_000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = VOCABULARY[i % VOCABULARY.length] + " " + "x".repeat(i % 300) + i;
+        }
+        try (OffHeapLineStore store = new OffHeapLineStore()) {
+            store.addAll(0, lines);
+            java.util.concurrent.ExecutorService threads = java.util.concurrent.Executors.newFixedThreadPool(8);
+            try {
+                ArrayList<java.util.concurrent.Future<Integer>> results = new ArrayList<>();
+                for (int thread = 0; thread < 8; thread++) {
+                    results.add(threads.submit(() -> {
+                        int wrong = 0;
+                        for (int round = 0; round < 50; round++) {
+                            for (int i = 0; i < lines.length; i++) {
+                                wrong += lines[i].equals(store.get(i)) ? 0 : 1;
+                            }
+                        }
+                        return wrong;
+                    }));
+                }
+                for (java.util.concurrent.Future<Integer> result : results) {
+                    assertEquals(0, result.get());
+                }
+            } finally {
+                threads.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import list.PersistentSequence;
+import list.Position;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the class PersistentSequence and the snapshots of MyTextEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class PersistentSequenceTest {
+
+    private static void assertContents(java.util.List<Integer> expected, PersistentSequence<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    void randomEditsKeepSnapshotsFrozen() {
+        Random random = new Random(14);
+        PersistentSequence<Integer> sequence = new PersistentSequence<>();
+        ArrayList<Integer> model = new ArrayList<>();
+        ArrayList<PersistentSequence<Integer>> snapshots = new ArrayList<>();
+        ArrayList<ArrayList<Integer>> frozen = new ArrayList<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            int operation = model.isEmpty() ? 0 : random.nextInt(10);
+            if (operation < 5) {
+                int index = random.nextInt(model.size() + 1);
+                sequence.add(index, i);
+                model.add(index, i);
+            } else if (operation < 8) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.remove(index), sequence.remove(index));
+            } else {
+                int index = random.nextInt(model.size());
+                assertEquals(model.set(index, -i), sequence.set(index, -i));
+            }
+            if (i % 2_500 == 0) {
+                snapshots.add(sequence.snapshot());
+                frozen.add(new ArrayList<>(model));
+            }
+        }
+        assertContents(model, sequence);
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertContents(frozen.get(i), snapshots.get(i));
+        }
+    }
+
+    @Test
+    void bulkLoadAndRemoveEverything() {
+        Integer[] elements = new Integer[100_000];
+        ArrayList<Integer> model = new ArrayList<>();
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = i;
+            model.add(i);
+        }
+        PersistentSequence<Integer> sequence = new PersistentSequence<>();
+        sequence.addAll(0, elements);
+        assertContents(model, sequence);
+
+        PersistentSequence<Integer> snapshot = sequence.snapshot();
+        Random random = new Random(1);
+        while (!model.isEmpty()) {
+            int index = random.nextInt(model.size());
+            assertEquals(model.remove(index), sequence.remove(index));
+        }
+        assertTrue(sequence.isEmpty());
+        assertEquals(100_000, snapshot.size());
+        assertEquals(99_999, snapshot.get(99_999));
+    }
+
+    @Test
+    void snapshotsAreReadOnly() {
+        PersistentSequence<Integer> sequence = new PersistentSequence<>();
+        sequence.addLast(1);
+        PersistentSequence<Integer> snapshot = sequence.snapshot();
+        assertTrue(snapshot.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+        assertFalse(sequence.isReadOnly());
+    }
+
+    @Test
+    void positions() {
+        PersistentSequence<String> sequence = new PersistentSequence<>();
+        Position<String> b = sequence.addLast("b");
+        Position<String> a = sequence.addFirst("a");
+        Position<String> c = sequence.addAfter(sequence.atIndex(1), "c");
+        assertEquals("{(0,a),(1,b),(2,c)}", sequence.toString());
+        assertEquals(-1, sequence.indexOf(b), "Insertions invalidate earlier positions");
+        assertThrows(IllegalStateException.class, a::getElement);
+
+        assertEquals("c", c.getElement());
+        assertEquals("b", sequence.before(c).getElement());
+        assertNull(sequence.after(c));
+        sequence.set(c, "d");
+        assertEquals(2, sequence.indexOf(c), "Replacing keeps positions valid");
+        assertEquals("d", sequence.remove(c));
+        assertThrows(IllegalArgumentException.class, () -> sequence.after(c));
+    }
+
+    @Test
+    void editorSnapshotIsConstantTime() {
+        String[] lines = new String[1_000_000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "line " + i;
+        }
+        MyTextEditor editor = new MyTextEditor(new PersistentSequence<>());
+        editor.insertLinesAfterCursor(lines);
+        String original = editor.toString();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 10_000; i++) {
+                PersistentSequence<String> snapshot = editor.snapshot();
+                editor.moveCursorToLine(i * 97);
+                editor.replaceAtCursor("edited " + i);
+                assertEquals(lines.length, snapshot.size());
+            }
+        });
+        PersistentSequence<String> first = new MyTextEditor(new PersistentSequence<>()).snapshot();
+        assertTrue(first.isEmpty());
+
+        editor.moveCursorToLine(0);
+        PersistentSequence<String> before = editor.snapshot();
+        editor.removeAtCursor();
+        assertEquals("edited 0", before.get(0));
+        assertEquals("line 1", editor.getLine(0));
+        assertNotEquals(original, editor.toString());
+    }
+
+    @Test
+    void editorWithPersistentLines() {
+        MyTextEditor editor = new MyTextEditor(new PersistentSequence<>());
+        editor.insertLinesAfterCursor(new String[]{"a", "b", "c"});
+        PersistentSequence<String> snapshot = editor.snapshot();
+        editor.beginBatch().remove(0).insert(3, "d").commit();
+        assertEquals("b\nc\nd", editor.toString());
+        assertEquals(3, snapshot.size());
+        assertEquals("a", snapshot.get(0));
+
+        MyTextEditor copied = new MyTextEditor();
+        copied.insertLinesAfterCursor(new String[]{"x", "y"});
+        PersistentSequence<String> copy = copied.snapshot();
+        copied.replaceAtCursor("z");
+        assertEquals("y", copy.get(1));
+    }
+}
@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the implementation of the class PieceTableEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class PieceTableEditorTest {
+
+    @Test
+    void emptyEditor() {
+        SimpleTextEditor editor = new PieceTableEditor();
+
+        assertTrue(editor.isEmpty());
+        assertEquals(0, editor.size());
+        assertEquals("", editor.toString());
+    }
+
+    @Test
+    void loadText() {
+        PieceTableEditor editor = new PieceTableEditor("first\nsecond\n\nfourth");
+
+        assertEquals(4, editor.size());
+        assertEquals(0, editor.cursorLineNum());
+        assertEquals("second", editor.get(1));
+        assertEquals("", editor.get(2));
+        assertEquals("fourth", editor.get(3));
+        assertEquals("first\nsecond\n\nfourth", editor.toString());
+    }
+
+    @Test
+    void editLoadedText() {
+        PieceTableEditor editor = new PieceTableEditor("one\ntwo\nthree\n");
+
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("TWO");
+        editor.insertAfterCursor("two and a half");
+        editor.insertBeforeCursor("one and a half");
+        assertEquals("one and a half", editor.getAtCursor());
+        assertEquals(2, editor.cursorLineNum());
+
+        editor.moveCursorToLine(4);
+        editor.removeAtCursor();
+        assertEquals(3, editor.cursorLineNum());
+        assertEquals("one\nTWO\none and a half\ntwo and a half", editor.toString());
+    }
+
+    @Test
+    void removeEverything() {
+        PieceTableEditor editor = new PieceTableEditor("a\nb");
+        editor.removeAtCursor();
+        editor.removeAtCursor();
+
+        assertTrue(editor.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, editor::getAtCursor);
+    }
+
+    @Test
+    void openFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("document.txt");
+        Files.writeString(file, String.join("\n", EditorUtilities.readResourceFile("final.txt")));
+
+        PieceTableEditor editor = PieceTableEditor.open(file);
+        assertEquals(String.join("\n", EditorUtilities.readResourceFile("final.txt")), editor.toString());
+    }
+
+    @Test
+    void matchesMyTextEditor() {
+        SimpleTextEditor pieces = new PieceTableEditor();
+        SimpleTextEditor lines = new MyTextEditor();
+
+        for (SimpleTextEditor editor : new SimpleTextEditor[]{pieces, lines}) {
+            for (String line : EditorUtilities.readResourceFile("initial.txt")) {
+                editor.insertAfterCursor(line);
+            }
+            editor.moveCursorToLine(0);
+            editor.replaceAtCursor("Narnia... where the woods are thick and cool, where Talking Beasts are called to");
+            editor.moveCursorToLine(3);
+            editor.replaceAtCursor("where evil men turn into donkeys, where boys and girls go into battle.");
+            editor.insertAfterCursor("");
+            editor.moveCursorToLine(7);
+            editor.removeAtCursor();
+        }
+
+        assertEquals(lines.size(), pieces.size());
+        assertEquals(lines.cursorLineNum(), pieces.cursorLineNum());
+        assertEquals(lines.toString(), pieces.toString());
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test replacing every match of a regular expression in a MyTextEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class ReplaceAllTest {
+
+    private MyTextEditor editor(int size) {
+        String[] lines = new String[size];
+        for (int i = 0; i < size; i++) {
+            lines[i] = (i % 3 == 0) ? "foo " + i + " foo" : "bar " + i;
+        }
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(lines);
+        return editor;
+    }
+
+    @Test
+    void replacesEveryMatchAndReportsChangedLines() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(new String[]{"a cat", "a dog", "cat and cat", "category"});
+        editor.moveCursorToLine(1);
+
+        int[] changed = editor.replaceAll(Pattern.compile("\\bcat\\b"), "lion");
+        assertArrayEquals(new int[]{0, 2}, changed);
+        assertEquals("a lion\na dog\nlion and lion\ncategory", editor.toString());
+        assertEquals(1, editor.cursorLineNum());
+    }
+
+    @Test
+    void groupsCanBeReferenced() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(new String[]{"key=value", "x=y"});
+        editor.replaceAll(Pattern.compile("(\\w+)=(\\w+)"), "$2=$1");
+        assertEquals("value=key\ny=x", editor.toString());
+    }
+
+    @Test
+    void resultDoesNotDependOnParallelism() {
+        Pattern pattern = Pattern.compile("foo (\\d+)");
+        MyTextEditor sequential = editor(100_000);
+        int[] expected = sequential.replaceAll(pattern, "baz $1", 1);
+
+        for (int parallelism : new int[]{2, 4, 16}) {
+            MyTextEditor parallel = editor(100_000);
+            assertArrayEquals(expected, parallel.replaceAll(pattern, "baz $1", parallelism));
+            assertEquals(sequential.toString(), parallel.toString());
+        }
+        assertEquals(33_334, expected.length);
+        assertEquals("baz 3 foo", sequential.getLine(3));
+    }
+
+    @Test
+    void replaceAllIsUndoneAsOneChange() {
+        MyTextEditor editor = editor(10_000);
+        String original = editor.toString();
+        editor.enableUndo(Long.MAX_VALUE);
+
+        editor.replaceAll(Pattern.compile("foo"), "qux");
+        assertNotEquals(original, editor.toString());
+        assertTrue(editor.undo());
+        assertEquals(original, editor.toString());
+        assertFalse(editor.canUndo());
+    }
+
+    @Test
+    void noMatchChangesNothing() {
+        MyTextEditor editor = editor(1_000);
+        editor.enableUndo(Long.MAX_VALUE);
+        assertArrayEquals(new int[]{}, editor.replaceAll(Pattern.compile("missing"), "x"));
+        assertFalse(editor.canUndo());
+    }
+}
@@ -0,0 +1,169 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test searching a MyTextEditor through the class SearchIndex
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class SearchIndexTest {
+
+    private static int[] scan(MyTextEditor editor, Pattern regex) {
+        ArrayList<Integer> found = new ArrayList<>();
+        for (int index = 0; index < editor.size(); index++) {
+            if (regex.matcher(editor.getLine(index)).find()) {
+                found.add(index);
+            }
+        }
+        return found.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void findAllAndFindNext() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(new String[]{"the cat sat", "on the mat", "a dog", "the catalogue"});
+        SearchIndex index = editor.enableSearch();
+
+        assertArrayEquals(new int[]{0, 3}, index.findAll("cat"));
+        assertArrayEquals(new int[]{0, 1, 3}, index.findAll("the"));
+        assertArrayEquals(new int[]{}, index.findAll("bird"));
+        assertArrayEquals(new int[]{2, 3}, index.findAll("g"));
+        assertEquals(3, index.findNext("cat", 1));
+        assertEquals(-1, index.findNext("cat", 4));
+
+        editor.moveCursorToLine(0);
+        assertTrue(editor.findNext("at"));
+        assertEquals(1, editor.cursorLineNum());
+        assertFalse(editor.findNext("dog sat"));
+        assertEquals(1, editor.cursorLineNum());
+    }
+
+    @Test
+    void indexFollowsEdits() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(new String[]{"alpha", "beta", "gamma"});
+        SearchIndex index = editor.enableSearch();
+
+        editor.moveCursorToLine(1);
+        editor.insertBeforeCursor("new alpha");
+        editor.moveCursorToLine(2);
+        editor.replaceAtCursor("delta");
+        assertArrayEquals(new int[]{0, 1}, index.findAll("alpha"));
+        assertArrayEquals(new int[]{}, index.findAll("beta"));
+        assertArrayEquals(new int[]{2}, index.findAll("delta"));
+
+        editor.moveCursorToLine(0);
+        editor.removeAtCursor();
+        assertArrayEquals(new int[]{0}, index.findAll("alpha"));
+        assertArrayEquals(new int[]{1}, index.findAll("delta"));
+    }
+
+    @Test
+    void requiredLiteral() {
+        assertEquals("hello", SearchIndex.requiredLiteral(Pattern.compile("hello\\s+world?")));
+        assertEquals(" world", SearchIndex.requiredLiteral(Pattern.compile("hi (there)? world")));
+        assertEquals("a.b", SearchIndex.requiredLiteral(Pattern.compile("a\\.b")));
+        assertEquals("abc", SearchIndex.requiredLiteral(Pattern.compile("x{2,3}abc")));
+        assertEquals("", SearchIndex.requiredLiteral(Pattern.compile("cat|dog")));
+        assertEquals("", SearchIndex.requiredLiteral(Pattern.compile("(?i)cat")));
+        assertEquals("", SearchIndex.requiredLiteral(Pattern.compile("cat", Pattern.CASE_INSENSITIVE)));
+        assertEquals("a+b", SearchIndex.requiredLiteral(Pattern.compile("a+b", Pattern.LITERAL)));
+        assertEquals("", SearchIndex.requiredLiteral(Pattern.compile("Cat", Pattern.LITERAL | Pattern.CASE_INSENSITIVE)));
+        assertEquals("xyz", SearchIndex.requiredLiteral(Pattern.compile("(a[)]bcd)?xyz")));
+        assertEquals("cd", SearchIndex.requiredLiteral(Pattern.compile("a[]|(]cd")));
+        assertEquals("yz", SearchIndex.requiredLiteral(Pattern.compile("[^]a[b]]x?yz")));
+
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(new String[]{"a cat", "xyz", "a)cd", "Bcd"});
+        SearchIndex index = editor.enableSearch();
+        assertArrayEquals(new int[]{0}, index.findAll(Pattern.compile("Cat", Pattern.LITERAL | Pattern.CASE_INSENSITIVE)));
+        assertArrayEquals(new int[]{1}, index.findAll(Pattern.compile("(a[)]bcd)?xyz")));
+        assertArrayEquals(new int[]{2, 3}, index.findAll(Pattern.compile("[)B]cd")));
+    }
+
+    @Test
+    void requiredLiteralSkipsWholeEscapes() {
+        String[] escapes = {"\\x41", "\\x{41}", "\\0101", "\\u0041", "\\cA", "\\p{Lu}", "\\pL",
+                "\\N{LATIN CAPITAL LETTER A}", "\\QA\\E", "[\\x5d\\QA]\\E]"};
+        String[] lines = {"Abcd", "bcd", "x]bcd", "\u0001bcd"};
+        SearchIndex index = new SearchIndex(lines);
+        for (String escape : escapes) {
+            Pattern pattern = Pattern.compile(escape + "bcd");
+            assertEquals("bcd", SearchIndex.requiredLiteral(pattern), escape);
+            int[] expected = IntStream.range(0, lines.length).filter(i -> pattern.matcher(lines[i]).find()).toArray();
+            assertTrue(expected.length > 0, escape);
+            assertArrayEquals(expected, index.findAll(pattern), escape);
+        }
+        assertEquals("xyz", SearchIndex.requiredLiteral(Pattern.compile("(?<name>a)\\k<name>xyz")));
+        assertEquals("bc", SearchIndex.requiredLiteral(Pattern.compile("(a)\\12bc")));
+        assertArrayEquals(new int[]{0}, new SearchIndex(new String[]{"aa2bc"}).findAll(Pattern.compile("(a)\\12bc")));
+    }
+
+    @Test
+    void randomEditsMatchAFullScan() {
+        Random random = new Random(11);
+        String[] words = {"apple", "banana", "cherry", "date", "elder", "fig", "grape"};
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAfterCursor("start");
+        SearchIndex index = editor.enableSearch();
+        Pattern[] patterns = {
+                Pattern.compile("an+a"), Pattern.compile("apple.*fig"), Pattern.compile("ch?erry"),
+                Pattern.compile("^date"), Pattern.compile("grape|elder"), Pattern.compile("e")
+        };
+
+        for (int i = 0; i < 20_000; i++) {
+            String line = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            editor.moveCursorToLine(random.nextInt(editor.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> editor.insertAfterCursor(line);
+                case 1 -> editor.replaceAtCursor(line);
+                case 2 -> {
+                    if (editor.size() > 1) {
+                        editor.removeAtCursor();
+                    }
+                }
+                default -> editor.beginBatch().insert(0, line, line).replace(editor.size() - 1, line).commit();
+            }
+            if (i % 1000 == 0) {
+                for (Pattern pattern : patterns) {
+                    assertArrayEquals(scan(editor, pattern), index.findAll(pattern), pattern.pattern());
+                }
+                for (String word : words) {
+                    assertArrayEquals(scan(editor, Pattern.compile(Pattern.quote(word))), index.findAll(word), word);
+                }
+            }
+        }
+    }
+
+    @Test
+    void searchOnlyChecksTheLinesWithEveryTrigram() {
+        int size = 100_000;
+        String[] lines = new String[size];
+        for (int i = 0; i < size; i++) {
+            lines[i] = "line number " + i + " of the generated document";
+        }
+        lines[size - 10] = "the needle is here";
+        lines[size / 2] = "a needless line";
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(lines);
+        SearchIndex index = editor.enableSearch();
+
+        assertArrayEquals(new int[]{size / 2, size - 10}, index.findAll("needle"));
+        // Only the two lines with every trigram of the text are read, not the whole document
+        assertEquals(2, index.linesVerified());
+        assertArrayEquals(new int[]{size - 10}, index.findAll(Pattern.compile("need+le i")));
+        assertEquals(4, index.linesVerified());
+        assertEquals(-1, index.findNext("haystack", 0));
+        assertEquals(4, index.linesVerified());
+        // Too short to have a trigram, so every line is read
+        index.findAll("ne");
+        assertEquals(4 + size, index.linesVerified());
+    }
+}
@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test undoing and redoing the changes made to a MyTextEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class UndoHistoryTest {
+
+    private MyTextEditor editor(String... lines) {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertLinesAfterCursor(lines);
+        editor.enableUndo(Long.MAX_VALUE);
+        return editor;
+    }
+
+    @Test
+    void undoRedoEveryKindOfChange() {
+        MyTextEditor editor = editor("a", "b", "c");
+        String original = editor.toString();
+
+        editor.moveCursorToLine(1);
+        editor.insertAfterCursor("x");
+        editor.moveCursorToLine(0);
+        editor.removeAtCursor();
+        editor.removeLines(0, 2);
+        String edited = editor.toString();
+
+        while (editor.undo()) { }
+        assertEquals(original, editor.toString());
+        assertFalse(editor.canUndo());
+        assertTrue(editor.canRedo());
+
+        while (editor.redo()) { }
+        assertEquals(edited, editor.toString());
+        assertFalse(editor.canRedo());
+    }
+
+    @Test
+    void replacementsOfOneLineAreUndoneTogether() {
+        MyTextEditor editor = editor("a", "b");
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("bx");
+        editor.replaceAtCursor("bxy");
+        editor.replaceAtCursor("bxyz");
+
+        assertTrue(editor.undo());
+        assertEquals("a\nb", editor.toString());
+        assertFalse(editor.canUndo());
+
+        assertTrue(editor.redo());
+        assertEquals("a\nbxyz", editor.toString());
+        assertEquals(1, editor.cursorLineNum());
+    }
+
+    @Test
+    void typingIntoANewLineIsOneChange() {
+        MyTextEditor editor = editor("a");
+        editor.insertAfterCursor("");
+        editor.replaceAtCursor("h");
+        editor.replaceAtCursor("hi");
+
+        assertTrue(editor.undo());
+        assertEquals("a", editor.toString());
+        assertFalse(editor.canUndo());
+    }
+
+    @Test
+    void newChangeClearsRedo() {
+        MyTextEditor editor = editor("a", "b");
+        editor.replaceAtCursor("c");
+        editor.undo();
+        assertTrue(editor.canRedo());
+
+        editor.insertAfterCursor("d");
+        assertFalse(editor.canRedo());
+        assertFalse(editor.redo());
+    }
+
+    @Test
+    void historyIsBoundedByMemory() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAfterCursor("start");
+        editor.enableUndo(4096);
+        for (int i = 0; i < 1000; i++) {
+            editor.insertAfterCursor("line " + i);
+        }
+
+        int undone = 0;
+        while (editor.undo()) {
+            undone++;
+        }
+        assertTrue(undone > 0 && undone < 1000, "Only the most recent changes should be kept, kept " + undone);
+        assertEquals(1000 - undone + 1, editor.size());
+    }
+
+    @Test
+    void randomEditsAreUndoneInOrder() {
+        Random random = new Random(8);
+        MyTextEditor editor = editor("0", "1", "2", "3");
+        ArrayList<String> states = new ArrayList<>();
+        states.add(editor.toString());
+
+        for (int i = 0; i < 500; i++) {
+            if (!editor.isEmpty()) {
+                editor.moveCursorToLine(random.nextInt(editor.size()));
+            }
+            int operation = editor.isEmpty() ? 0 : random.nextInt(5);
+            switch (operation) {
+                case 0 -> editor.insertAfterCursor("i" + i);
+                case 1 -> editor.insertLinesAfterCursor(new String[]{"m" + i, "n" + i});
+                case 2 -> editor.removeAtCursor();
+                case 3 -> editor.removeLines(editor.cursorLineNum(),
+                        Math.min(editor.size(), editor.cursorLineNum() + 3));
+                default -> editor.replaceAtCursor("r" + i);
+            }
+            // Break coalescing so that every state is reachable by undo
+            editor.undo();
+            editor.redo();
+            states.add(editor.toString());
+        }
+
+        for (int i = states.size() - 1; i > 0; i--) {
+            assertEquals(states.get(i), editor.toString());
+            assertTrue(editor.undo());
+        }
+        assertEquals(states.get(0), editor.toString());
+        for (int i = 1; i < states.size(); i++) {
+            assertTrue(editor.redo());
+            assertEquals(states.get(i), editor.toString());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the class Viewport, a window on the lines of a MyTextEditor
+ *
+ * @version 1.0.0, 18th October 2026
+ * @author Shivanshu Dwivedi
+ */
+public class ViewportTest {
+
+    private static MyTextEditor numbered(int count) {
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = "line " + i;
+        }
+        return new MyTextEditor(lines);
+    }
+
+    @Test
+    void showsTheLinesOfTheWindow() throws Exception {
+        MyTextEditor editor = numbered(100);
+        try (Viewport view = editor.view(10, 5)) {
+            assertEquals(10, view.firstLine());
+            assertEquals(5, view.size());
+            assertEquals("line 12", view.line(2));
+            assertThrows(IndexOutOfBoundsException.class, () -> view.line(5));
+            assertEquals(-1, view.cursorRow());
+
+            Viewport.Frame frame = view.nextFrame();
+            assertArrayEquals(new int[]{0, 1, 2, 3, 4}, frame.changedRows());
+            assertTrue(view.nextFrame().isEmpty());
+
+            view.scrollTo(97);
+            assertEquals(3, view.size());
+            StringBuilder text = new StringBuilder();
+            view.writeTo(text);
+            assertEquals("line 97\nline 98\nline 99\n", text.toString());
+
+            view.scrollTo(0);
+            editor.moveCursorToLine(50);
+            view.scrollToCursor();
+            assertEquals(46, view.firstLine());
+            assertEquals(4, view.cursorRow());
+            view.scrollBy(-1000);
+            assertEquals(0, view.firstLine());
+            assertThrows(IndexOutOfBoundsException.class, () -> view.scrollTo(100));
+            assertThrows(IndexOutOfBoundsException.class, () -> editor.view(100, 1));
+            assertThrows(IllegalArgumentException.class, () -> editor.view(0, 0));
+        }
+    }
+
+    @Test
+    void reportsOnlyTheRowsThatChanged() {
+        MyTextEditor editor = numbered(100);
+        Viewport view = editor.view(10, 5);
+        view.nextFrame();
+
+        editor.moveCursorToLine(12);
+        editor.replaceAtCursor("changed");
+        editor.moveCursorToLine(50);
+        editor.replaceAtCursor("far away");
+        assertArrayEquals(new int[]{2}, view.nextFrame().changedRows());
+
+        // Keystrokes are reported once the frame is taken, without reading the line first
+        editor.moveCursorToLine(13);
+        editor.insertAt(0, ">");
+        assertArrayEquals(new int[]{3}, view.nextFrame().changedRows());
+        assertEquals(">line 13", view.line(3));
+
+        // The window stays on the same text when lines are inserted or removed above it
+        editor.moveCursorToLine(2);
+        editor.insertAfterCursor("new");
+        editor.removeLines(0, 2);
+        Viewport.Frame frame = view.nextFrame();
+        assertTrue(frame.isEmpty());
+        assertEquals(9, frame.firstLine());
+        assertEquals("changed", view.line(2));
+
+        // A line inserted in the window moves the rows below it
+        editor.moveCursorToLine(10);
+        editor.insertAfterCursor("inserted");
+        assertArrayEquals(new int[]{2, 3, 4}, view.nextFrame().changedRows());
+        assertEquals("inserted", view.line(2));
+    }
+
+    @Test
+    void scrollingReportsTheRowsThatCameIntoView() {
+        MyTextEditor editor = numbered(100);
+        Viewport view = editor.view(0, 10);
+        view.nextFrame();
+
+        view.scrollBy(3);
+        Viewport.Frame frame = view.nextFrame();
+        assertEquals(3, frame.scrolledBy());
+        assertArrayEquals(new int[]{7, 8, 9}, frame.changedRows());
+
+        // A change made before scrolling moves with its row
+        editor.moveCursorToLine(5);
+        editor.replaceAtCursor("x");
+        view.scrollBy(-2);
+        frame = view.nextFrame();
+        assertEquals(-2, frame.scrolledBy());
+        assertArrayEquals(new int[]{0, 1, 4}, frame.changedRows());
+
+        view.scrollBy(50);
+        assertEquals(10, view.nextFrame().changedRows().length);
+
+        view.resize(12);
+        assertArrayEquals(new int[]{10, 11}, view.nextFrame().changedRows());
+    }
+
+    @Test
+    void followsTheDocumentWhenItShrinks() {
+        MyTextEditor editor = numbered(20);
+        Viewport view = editor.view(15, 4);
+        view.nextFrame();
+        editor.removeLines(10, 20);
+        Viewport.Frame frame = view.nextFrame();
+        assertEquals(9, frame.firstLine());
+        assertEquals(1, view.size());
+        assertEquals("line 9", view.line(0));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, frame.changedRows());
+
+        view.close();
+        editor.insertAfterCursor("after close");
+        assertEquals(9, view.firstLine());
+    }
+
+    /**
+     * Redrawing only the reported rows, moved by the reported scroll, always gives the screen that
+     * drawing every row from scratch would
+     */
+    @Test
+    void redrawingTheChangedRowsKeepsTheScreenUpToDate() {
+        Random random = new Random(23);
+        MyTextEditor editor = numbered(200);
+        editor.enableUndo(1 << 20);
+        Viewport view = editor.view(50, 20);
+        String[] screen = new String[20];
+        for (int step = 0; step < 5_000; step++) {
+            int operation = random.nextInt(9);
+            if (operation == 0) {
+                view.scrollBy(random.nextInt(41) - 20);
+            } else if (operation == 1) {
+                editor.moveCursorToLine(random.nextInt(editor.size()));
+                view.scrollToCursor();
+            } else if (operation == 2) {
+                editor.moveCursorToLine(random.nextInt(editor.size()));
+                editor.insertAfterCursor("inserted " + step);
+            } else if (operation == 3 && editor.size() > 30) {
+                int from = random.nextInt(editor.size());
+                editor.removeLines(from, Math.min(editor.size(), from + random.nextInt(10)));
+            } else if (operation == 4) {
+                editor.moveCursorToLine(random.nextInt(editor.size()));
+                editor.insertAt(0, "k");
+            } else if (operation == 5) {
+                editor.undo();
+            } else if (operation == 6) {
+                editor.moveCursorToLine(random.nextInt(editor.size()));
+                editor.replaceAtCursor("replaced " + step);
+            }
+
+            if (random.nextInt(3) == 0) {
+                Viewport.Frame frame = view.nextFrame();
+                String[] moved = new String[screen.length];
+                for (int row = 0; row < screen.length; row++) {
+                    int from = row + frame.scrolledBy();
+                    moved[row] = from >= 0 && from < screen.length ? screen[from] : null;
+                }
+                for (int row : frame.changedRows()) {
+                    moved[row] = row < view.size() ? view.line(row) : "";
+                }
+                screen = moved;
+                for (int row = 0; row < screen.length; row++) {
+                    String expected = row < view.size() ? editor.getLine(view.firstLine() + row) : "";
+                    assertEquals(expected, screen[row], "step " + step + " row " + row);
+                }
+            }
+        }
+    }
+
+    @Test
+    void closedViewportsAreForgotten() {
+        MyTextEditor editor = numbered(10);
+        ArrayList<Viewport> views = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Viewport view = editor.view(0, 3);
+            view.nextFrame();
+            views.add(view);
+        }
+        views.forEach(Viewport::close);
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("x");
+        for (Viewport view : views) {
+            assertTrue(view.nextFrame().isEmpty());
+        }
+    }
+}